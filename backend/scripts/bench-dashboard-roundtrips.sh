@@ -0,0 +1,112 @@
+#!/usr/bin/env bash
+#
+# Counts the JDBC statements the dashboard flow costs, using the Hibernate
+# statistics exposed through /actuator/metrics.
+#
+# One dashboard load = GET /api/applications, /api/applications/stats and
+# /api/companies (no If-None-Match, so every request reaches the database layer).
+#
+# Compare second-level cache on and off by running the backend twice:
+#
+#   ./mvnw spring-boot:run
+#   ./mvnw spring-boot:run -Dspring-boot.run.arguments="\
+#       --spring.jpa.properties.hibernate.cache.use_second_level_cache=false \
+#       --spring.jpa.properties.hibernate.cache.use_query_cache=false"
+#
+# and running this script against each:
+#
+#   SEED=1 ./scripts/bench-dashboard-roundtrips.sh
+#
+# Requires curl and jq.
+
+set -euo pipefail
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+EMAIL="${EMAIL:-bench@jobtracker.local}"
+PASSWORD="${PASSWORD:-bench-password}"
+ITERATIONS="${ITERATIONS:-50}"
+COMPANIES="${COMPANIES:-20}"
+APPLICATIONS="${APPLICATIONS:-100}"
+SEED="${SEED:-0}"
+
+login() {
+  curl -sf -X POST "$BASE_URL/api/auth/register" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\",\"firstName\":\"Bench\",\"lastName\":\"User\"}" \
+    >/dev/null 2>&1 || true
+  curl -sf -X POST "$BASE_URL/api/auth/login" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" | jq -r .token
+}
+
+TOKEN="$(login)"
+AUTH=(-H "Authorization: Bearer $TOKEN")
+
+get() {
+  curl -sf "${AUTH[@]}" "$BASE_URL$1"
+}
+
+metric() {
+  # metric <name> [tag:value ...]
+  local name="$1"; shift
+  local query=""
+  for tag in "$@"; do query="$query&tag=$tag"; done
+  get "/actuator/metrics/$name?${query#&}" | jq '.measurements[0].value' 2>/dev/null || echo 0
+}
+
+if [[ "$SEED" == "1" ]]; then
+  echo "Seeding $COMPANIES companies and $APPLICATIONS applications for $EMAIL"
+  company_ids=()
+  for i in $(seq 1 "$COMPANIES"); do
+    id=$(curl -sf "${AUTH[@]}" -X POST "$BASE_URL/api/companies" -H 'Content-Type: application/json' \
+      -d "{\"name\":\"Bench Company $i\"}" | jq .id)
+    company_ids+=("$id")
+  done
+  for i in $(seq 1 "$APPLICATIONS"); do
+    company_id="${company_ids[$(( (i - 1) % COMPANIES ))]}"
+    curl -sf "${AUTH[@]}" -X POST "$BASE_URL/api/applications" -H 'Content-Type: application/json' \
+      -d "{\"companyId\":$company_id,\"position\":\"Engineer $i\",\"status\":\"APPLIED\"}" >/dev/null
+  done
+fi
+
+dashboard() {
+  get "/api/applications?page=0&size=21" >/dev/null
+  get "/api/applications/stats" >/dev/null
+  get "/api/companies" >/dev/null
+}
+
+# Warm up once so both runs are compared at steady state
+dashboard
+
+# Statement counts are read closest to the loop so the metric requests
+# themselves (one authenticated user lookup each) barely skew them
+l2_hits_before=$(metric hibernate.second.level.cache.requests result:hit)
+l2_misses_before=$(metric hibernate.second.level.cache.requests result:miss)
+query_hits_before=$(metric hibernate.query.cache.requests result:hit)
+statements_before=$(metric hibernate.statements status:prepared)
+
+start=$(date +%s%N)
+for _ in $(seq 1 "$ITERATIONS"); do
+  dashboard
+done
+elapsed_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+
+statements_after=$(metric hibernate.statements status:prepared)
+l2_hits_after=$(metric hibernate.second.level.cache.requests result:hit)
+l2_misses_after=$(metric hibernate.second.level.cache.requests result:miss)
+query_hits_after=$(metric hibernate.query.cache.requests result:hit)
+
+jq -n \
+  --argjson iterations "$ITERATIONS" \
+  --argjson statements "$(jq -n "$statements_after - $statements_before")" \
+  --argjson l2Hits "$(jq -n "$l2_hits_after - $l2_hits_before")" \
+  --argjson l2Misses "$(jq -n "$l2_misses_after - $l2_misses_before")" \
+  --argjson queryCacheHits "$(jq -n "$query_hits_after - $query_hits_before")" \
+  --argjson elapsedMs "$elapsed_ms" \
+  '{
+     iterations: $iterations,
+     statements: $statements,
+     statementsPerDashboardLoad: ($statements / $iterations),
+     secondLevelCacheHits: $l2Hits,
+     secondLevelCacheMisses: $l2Misses,
+     queryCacheHits: $queryCacheHits,
+     avgDashboardLoadMs: ($elapsedMs / $iterations)
+   }'
@@ -0,0 +1,123 @@
+#!/usr/bin/env bash
+#
+# Compares cold start across the three packagings:
+#
+#   jvm      plain fat jar                            (mvn package)
+#   aot-cds  AOT-processed jar on a CDS archive       (mvn -Paot,cds package)
+#   native   GraalVM native image                     (mvn -Pnative native:compile)
+#
+# For each mode the backend is started RUNS times against the local database,
+# and the script records the time from launch to the first HTTP response and
+# the resident set size after one login and one application list request.
+# The aot-cds archive is written by a training run the first time.
+#
+#   BUILD=1 ./scripts/bench-startup.sh          # build all three first
+#   MODES="jvm aot-cds" RUNS=10 ./scripts/bench-startup.sh
+#
+# Run from backend/. Requires curl and jq; native needs GraalVM for the build.
+
+set -euo pipefail
+
+MVN="${MVN:-mvn}"
+MODES="${MODES:-jvm aot-cds native}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+BUILD="${BUILD:-0}"
+EMAIL="${EMAIL:-bench@jobtracker.local}"
+PASSWORD="${PASSWORD:-bench-password}"
+BASE_URL="http://localhost:$PORT"
+
+CDS_ARCHIVE=target/cds/app.jsa
+
+if [[ "$BUILD" == "1" ]]; then
+  # Separate output locations, so the builds don't overwrite each other
+  "$MVN" -q -B -DskipTests package
+  "$MVN" -q -B -DskipTests -Paot,cds package
+  rm -f "$CDS_ARCHIVE"
+  if [[ " $MODES " == *" native "* ]]; then
+    "$MVN" -q -B -DskipTests -Pnative native:compile
+  fi
+fi
+
+command_for() {
+  case "$1" in
+    jvm)
+      local jar
+      jar="$(ls target/jobtracker-backend-*.jar | grep -v original | head -1)"
+      echo "java -jar $jar"
+      ;;
+    aot-cds)
+      echo "java -XX:SharedArchiveFile=$CDS_ARCHIVE -XX:+AutoCreateSharedArchive -Dspring.aot.enabled=true \
+-jar $(ls target/cds/jobtracker-backend-*.jar | head -1)"
+      ;;
+    native)
+      echo "target/jobtracker-backend"
+      ;;
+  esac
+}
+
+first_response() {
+  # Any status counts: the server is up once it answers at all
+  until [[ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/actuator/health")" != "000" ]]; do
+    if ! kill -0 "$1" 2>/dev/null; then
+      echo "backend exited during startup, see $LOG" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+}
+
+exercise() {
+  curl -sf -X POST "$BASE_URL/api/auth/register" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\",\"firstName\":\"Bench\",\"lastName\":\"User\"}" \
+    >/dev/null 2>&1 || true
+  local token
+  token="$(curl -sf -X POST "$BASE_URL/api/auth/login" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" | jq -r .token)"
+  curl -sf -H "Authorization: Bearer $token" "$BASE_URL/api/applications?page=0&size=21" >/dev/null
+}
+
+stop() {
+  kill -TERM "$1" 2>/dev/null || true
+  wait "$1" 2>/dev/null || true
+}
+
+LOG="$(mktemp)"
+trap 'rm -f "$LOG"' EXIT
+
+results='[]'
+for mode in $MODES; do
+  cmd="$(command_for "$mode")"
+
+  if [[ "$mode" == "aot-cds" && ! -f "$CDS_ARCHIVE" ]]; then
+    echo "Training run for $CDS_ARCHIVE" >&2
+    SERVER_PORT="$PORT" $cmd >"$LOG" 2>&1 &
+    pid=$!
+    first_response "$pid"
+    exercise
+    stop "$pid"
+  fi
+
+  for run in $(seq 1 "$RUNS"); do
+    start=$(date +%s%N)
+    SERVER_PORT="$PORT" $cmd >"$LOG" 2>&1 &
+    pid=$!
+    first_response "$pid"
+    first_response_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+    exercise
+    rss_kb=$(awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status")
+    stop "$pid"
+
+    echo "$mode run $run: ${first_response_ms}ms, $(( rss_kb / 1024 ))MB RSS" >&2
+    results=$(jq -c --arg mode "$mode" --argjson ms "$first_response_ms" --argjson rss "$rss_kb" \
+      '. + [{mode: $mode, firstResponseMs: $ms, rssKb: $rss}]' <<<"$results")
+  done
+done
+
+jq 'group_by(.mode) | map({
+      mode: .[0].mode,
+      runs: length,
+      avgFirstResponseMs: (map(.firstResponseMs) | add / length | floor),
+      minFirstResponseMs: (map(.firstResponseMs) | min),
+      avgRssMb: (map(.rssKb) | add / length / 1024 | floor)
+    })' <<<"$results"
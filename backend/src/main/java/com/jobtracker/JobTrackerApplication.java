@@ -1,9 +1,12 @@
 package com.jobtracker;
 
+import com.jobtracker.config.JobTrackerRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(JobTrackerRuntimeHints.class)
 public class JobTrackerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,83 @@
+package com.jobtracker.config;
+
+import com.jobtracker.service.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read replica routing, active only when {@code app.datasource.replica.url} is set.
+ * Without it the application keeps Spring Boot's single auto-configured pool.
+ * Not available together with sharding.
+ *
+ * The primary pool is still configured through {@code spring.datasource.*};
+ * the replica reuses its credentials unless overridden. Locally the replica can
+ * be a second Postgres instance or the same URL as the primary, which exercises
+ * the routing without real replication lag.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+@ConditionalOnExpression("!${app.sharding.enabled:false}")
+public class ReadReplicaConfig {
+
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replica.max-lag-ms:2000}")
+    private long maxLagMs;
+
+    @Value("${app.datasource.replica.lag-check-ms:1000}")
+    private long lagCheckMs;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(replicaUrl);
+        dataSource.setUsername(replicaUsername);
+        dataSource.setPassword(replicaPassword);
+        dataSource.setMaximumPoolSize(replicaPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                        HikariDataSource replicaDataSource,
+                                                        ReadYourWritesTracker readYourWrites) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, readYourWrites,
+                maxLagMs, lagCheckMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
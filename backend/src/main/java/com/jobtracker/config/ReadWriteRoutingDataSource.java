@@ -0,0 +1,111 @@
+package com.jobtracker.config;
+
+import com.jobtracker.service.ReadYourWritesTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ *
+ * A read still goes to the primary when the current user wrote within the
+ * read-your-writes window, or when the last lag probe found the replica too far
+ * behind (or unreachable). Must sit behind a {@code LazyConnectionDataSourceProxy}
+ * so the connection is fetched after the transaction's read-only flag is set.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    enum Route { PRIMARY, REPLICA }
+
+    // Zero when the standby has replayed everything it received, even if the primary is idle
+    private static final String LAG_QUERY =
+            "SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END, 0)";
+
+    private final DataSource replica;
+    private final ReadYourWritesTracker readYourWrites;
+    private final long maxLagMs;
+    private final long lagCheckMs;
+
+    private volatile boolean replicaUsable = true;
+
+    private ScheduledExecutorService lagMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWrites,
+                                      long maxLagMs, long lagCheckMs) {
+        this.replica = replica;
+        this.readYourWrites = readYourWrites;
+        this.maxLagMs = maxLagMs;
+        this.lagCheckMs = lagCheckMs;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagMonitor.scheduleWithFixedDelay(this::checkLag, 0, lagCheckMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (lagMonitor != null) {
+            lagMonitor.shutdownNow();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !replicaUsable) {
+            return Route.PRIMARY;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && readYourWrites.isSticky(authentication.getName())) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    /** Measures replica lag and switches reads to the primary while it is over the limit. */
+    private void checkLag() {
+        boolean usable;
+        long lagMs = -1;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            lagMs = resultSet.getLong(1);
+            usable = lagMs <= maxLagMs;
+        } catch (Exception e) {
+            log.debug("Replica lag probe failed: {}", e.getMessage());
+            usable = false;
+        }
+
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("📗 Replica caught up (lag {} ms), routing reads to it again", lagMs);
+            } else {
+                log.warn("📕 Replica unavailable or lagging ({} ms), routing reads to the primary", lagMs);
+            }
+            replicaUsable = usable;
+        }
+    }
+}
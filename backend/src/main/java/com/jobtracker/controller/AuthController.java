@@ -6,6 +6,8 @@ import com.jobtracker.dto.RegisterDTO;
 import com.jobtracker.model.User;
 import com.jobtracker.repository.UserRepository;
 import com.jobtracker.security.JwtTokenProvider;
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,8 +27,13 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private ShardDirectory shardDirectory;
+
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody RegisterDTO signupRequest) {
+        // Nothing has set a shard yet on these unauthenticated requests
+        ShardContext.set(shardDirectory.assign(signupRequest.getEmail()));
         if (userRepository.existsByEmail(signupRequest.getEmail())) {
             return ResponseEntity.badRequest().body("Email already in use");
         }
@@ -51,6 +58,7 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> loginUser(@RequestBody RegisterDTO loginRequest) {
+        ShardContext.set(shardDirectory.locate(loginRequest.getEmail()).shard());
         User user = userRepository.findByEmail(loginRequest.getEmail())
                 .orElse(null);
 
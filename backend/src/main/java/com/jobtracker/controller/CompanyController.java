@@ -1,21 +1,34 @@
 package com.jobtracker.controller;
 
 import com.jobtracker.dto.CompanyDTO;
+import com.jobtracker.dto.CompanySuggestionDTO;
+import com.jobtracker.dto.FieldSelection;
 import com.jobtracker.model.Company;
 import com.jobtracker.model.User;
 import com.jobtracker.repository.CompanyRepository;
 import com.jobtracker.repository.UserRepository;
+import com.jobtracker.service.CalendarFeedService;
+import com.jobtracker.service.CascadingDeleter;
+import com.jobtracker.service.CompanyPrefixIndex;
+import com.jobtracker.service.CompanyResolver;
+import com.jobtracker.service.DataVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.extern.slf4j.XSlf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -30,6 +43,18 @@ public class CompanyController {
 
     private final UserRepository userRepository;
 
+    private final DataVersionService dataVersionService;
+
+    private final CompanyPrefixIndex companyPrefixIndex;
+
+    private final CompanyResolver companyResolver;
+
+    private final CascadingDeleter cascadingDeleter;
+
+    private final CalendarFeedService calendarFeedService;
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
@@ -37,13 +62,35 @@ public class CompanyController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    /**
+     * {@code fields=id,name,...} trims each company to those fields (see {@link CompanyDTO}).
+     * Companies come from the second-level cache, so only the JSON is narrowed.
+     */
     @GetMapping
-    public ResponseEntity<List<Company>> getAllCompanies() {
+    public ResponseEntity<?> getAllCompanies(@RequestParam(required = false) String fields,
+                                             Authentication authentication, WebRequest webRequest) {
+        FieldSelection selection;
+        try {
+            selection = fields == null ? null : FieldSelection.parse(fields, CompanyDTO.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // Answer revalidations from the data version before running the list query
+        String etag = dataVersionService.getETag(authentication.getName(), "companies");
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+
         User currentUser = getCurrentUser();
         log.info("📋 Fetching companies for user: {}", currentUser.getEmail());
 
         List<Company> companies = companyRepository.findByUserId(currentUser.getId());
-        return ResponseEntity.ok(companies);
+        if (selection != null) {
+            List<Map<String, Object>> sparse = companies.stream().map(selection::pick).toList();
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(sparse);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(companies);
     }
 
     @GetMapping("/search")
@@ -56,25 +103,44 @@ public class CompanyController {
         return ResponseEntity.ok(companies);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<CompanySuggestionDTO>> suggestCompanies(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        User currentUser = getCurrentUser();
+        return ResponseEntity.ok(companyPrefixIndex.suggest(currentUser.getId(), prefix, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getCompanyById(@PathVariable Long id) {
         User currentUser = getCurrentUser();
 
         return companyRepository.findByIdAndUserId(id, currentUser.getId())
-                .map(company -> ResponseEntity.ok((Object) company))
+                .map(company -> ResponseEntity.ok().eTag(ETags.of(company.getVersion())).body((Object) company))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("Company not found or access denied"));
     }
 
+    /**
+     * Resolves the name against the user's companies first: if one has the
+     * same canonical name ("Acme" for "ACME, Inc."), it is returned with 200
+     * and nothing is created; otherwise the new company comes back with 201.
+     */
     @PostMapping
     public ResponseEntity<?> createCompany(@RequestBody Company company) {
         try {
             User currentUser = getCurrentUser();
-            company.setUser(currentUser);  // ✅ Set the user
-
-            Company saved = companyRepository.save(company);
-            log.info("✅ Created company: {} for user {}", saved.getName(), currentUser.getEmail());
-            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+            CompanyResolver.Resolution resolution = companyResolver.resolveOrCreate(currentUser, company);
+            Company resolved = resolution.company();
+            if (!resolution.created()) {
+                log.info("♻️ Resolved company '{}' to #{} {} for user {}",
+                        company.getName(), resolved.getId(), resolved.getName(), currentUser.getEmail());
+                return ResponseEntity.ok(resolved);
+            }
+            dataVersionService.bump(currentUser.getEmail());
+            companyPrefixIndex.onCompanySaved(currentUser.getId(), resolved.getId(), resolved.getName());
+            log.info("✅ Created company: {} for user {}", resolved.getName(), currentUser.getEmail());
+            return ResponseEntity.status(HttpStatus.CREATED).body(resolved);
         } catch (Exception e) {
             log.error("Failed to create company: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -83,36 +149,82 @@ public class CompanyController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateCompany(@PathVariable Long id, @RequestBody Company companyDetails) {
+    public ResponseEntity<?> updateCompany(@PathVariable Long id, @RequestBody Company companyDetails,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         User currentUser = getCurrentUser();
 
+        Long expectedVersion;
+        try {
+            expectedVersion = ETags.expectedVersion(ifMatch, companyDetails.getVersion());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
         return companyRepository.findByIdAndUserId(id, currentUser.getId())
                 .map(company -> {
+                    if (expectedVersion != null && !expectedVersion.equals(company.getVersion())) {
+                        return conflict(company);
+                    }
+                    Long sameName = companyResolver.find(currentUser.getId(), companyDetails.getName());
+                    if (sameName != null && !sameName.equals(id)) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body((Object) ("Company #" + sameName + " already has this name"));
+                    }
+                    boolean renamed = !company.getName().equals(companyDetails.getName());
                     company.setName(companyDetails.getName());
                     company.setWebsite(companyDetails.getWebsite());
                     company.setIndustry(companyDetails.getIndustry());
                     company.setLocation(companyDetails.getLocation());
                     company.setNotes(companyDetails.getNotes());
-                    Company updated = companyRepository.save(company);
+                    Company updated;
+                    try {
+                        updated = companyRepository.saveAndFlush(company);
+                    } catch (DataIntegrityViolationException e) {
+                        // Renamed concurrently on another node, or a duplicate the merge job hasn't folded yet
+                        companyResolver.invalidate(currentUser.getId());
+                        return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body((Object) "Another company already has this name");
+                    } catch (OptimisticLockingFailureException e) {
+                        return companyRepository.findByIdAndUserId(id, currentUser.getId())
+                                .map(this::conflict)
+                                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                        .body("Company not found or access denied"));
+                    }
+                    dataVersionService.bump(currentUser.getEmail());
+                    if (renamed) {
+                        // Interview summaries in the calendar feed name the company
+                        calendarFeedService.evict(currentUser.getId());
+                    }
+                    companyPrefixIndex.onCompanySaved(currentUser.getId(), updated.getId(), updated.getName());
+                    companyResolver.onCompanySaved(currentUser.getId(), updated.getId(), updated.getName());
                     log.info("✅ Updated company: {}", updated.getName());
-                    return ResponseEntity.ok((Object) updated);
+                    return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body((Object) updated);
                 })
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("Company not found or access denied"));
     }
 
+    private ResponseEntity<Object> conflict(Company current) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(ETags.of(current.getVersion()))
+                .body(current);
+    }
+
+    /** Deletes the company with all of its applications and their interviews and documents. */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCompany(@PathVariable Long id) {
         User currentUser = getCurrentUser();
 
-        return companyRepository.findByIdAndUserId(id, currentUser.getId())
-                .map(company -> {
-                    companyRepository.delete(company);
-                    log.info("🗑️ Deleted company: {}", company.getName());
-                    return ResponseEntity.ok( "Company deleted successfully");
-                })
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body("Company not found or access denied"));
+        CascadingDeleter.Deletion deletion = cascadingDeleter.deleteCompany(currentUser.getId(), id);
+        if (deletion == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Company not found or access denied");
+        }
+        dataVersionService.bump(currentUser.getEmail());
+        companyPrefixIndex.onCompanyDeleted(currentUser.getId(), id);
+        companyResolver.onCompanyDeleted(currentUser.getId(), id);
+        log.info("🗑️ Deleted company #{} with {} applications", id, deletion.applicationIds().size());
+        return ResponseEntity.ok("Company deleted successfully");
     }
 
     private CompanyDTO convertToDTO(Company company) {
@@ -124,6 +236,7 @@ public class CompanyController {
         dto.setLocation(company.getLocation());
         dto.setNotes(company.getNotes());
         dto.setCreatedAt(company.getCreatedAt());
+        dto.setVersion(company.getVersion());
         return dto;
     }
 
@@ -0,0 +1,50 @@
+package com.jobtracker.controller;
+
+import com.jobtracker.dto.DashboardDTO;
+import com.jobtracker.service.DashboardService;
+import com.jobtracker.service.DataVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final DashboardService dashboardService;
+    private final DataVersionService dataVersionService;
+
+    @GetMapping
+    public ResponseEntity<DashboardDTO> getDashboard(
+            @RequestParam(defaultValue = "21") int applicationsSize,
+            @RequestParam(defaultValue = "20") int interviewsSize,
+            Authentication authentication,
+            WebRequest webRequest) {
+
+        applicationsSize = Math.max(1, Math.min(applicationsSize, MAX_PAGE_SIZE));
+        interviewsSize = Math.max(1, Math.min(interviewsSize, MAX_PAGE_SIZE));
+
+        // Looked up once: the ETag and every dashboard section use this id and version
+        DataVersionService.UserVersion user = dataVersionService.lookup(authentication.getName());
+        String etag = user.eTag("dashboard-" + applicationsSize + "-" + interviewsSize);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+
+        DashboardDTO dashboard = dashboardService.getDashboard(user, applicationsSize, interviewsSize);
+        if (!dashboard.getErrors().isEmpty()) {
+            // Never let a partial bundle be revalidated as if it were complete
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(dashboard);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(dashboard);
+    }
+}
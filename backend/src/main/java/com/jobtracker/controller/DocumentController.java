@@ -6,6 +6,8 @@ import com.jobtracker.model.User;
 import com.jobtracker.repository.DocumentRepository;
 import com.jobtracker.repository.JobApplicationRepository;
 import com.jobtracker.repository.UserRepository;
+import com.jobtracker.service.DataVersionService;
+import com.jobtracker.service.DocumentFileCleaner;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -39,7 +41,13 @@ public class DocumentController {
     @Autowired
     private UserRepository userRepository;
 
-    private final String UPLOAD_DIR = System.getProperty("user.home") + "/jobtracker-uploads/";
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private DocumentFileCleaner documentFileCleaner;
+
+    private final String UPLOAD_DIR = DocumentFileCleaner.UPLOAD_DIR;
 
     public DocumentController() {
         File directory = new File(UPLOAD_DIR);
@@ -106,6 +114,7 @@ public class DocumentController {
             document.setFileSize(file.getSize());
 
             Document saved = documentRepository.save(document);
+            dataVersionService.bump(user.getEmail());
 
             System.out.println("File uploaded successfully: " + filename);
 
@@ -215,10 +224,9 @@ public class DocumentController {
                         .body("Unauthorized access to document");
             }
 
-            Path filepath = Paths.get(UPLOAD_DIR, document.getFilePath());
-            Files.deleteIfExists(filepath);
-
             documentRepository.deleteById(id);
+            documentFileCleaner.deleteAfterCommit(List.of(document.getFilePath()));
+            dataVersionService.bump(user.getEmail());
 
             return ResponseEntity.ok("Document deleted successfully");
         } catch (Exception e) {
@@ -0,0 +1,34 @@
+package com.jobtracker.controller;
+
+/**
+ * Strong ETags for single entities, derived from their {@code @Version}.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Expected version for a conditional update: the {@code If-Match} header
+     * when present, otherwise the version carried in the request body.
+     * Returns null for unconditional updates.
+     */
+    static Long expectedVersion(String ifMatch, Long bodyVersion) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return bodyVersion;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
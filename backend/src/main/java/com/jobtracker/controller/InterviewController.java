@@ -1,102 +1,171 @@
 package com.jobtracker.controller;
 
 import com.jobtracker.dto.InterviewDTO;
-import com.jobtracker.model.Interview;
-import com.jobtracker.model.JobApplication;
-import com.jobtracker.repository.InterviewRepository;
-import com.jobtracker.repository.JobApplicationRepository;
+import com.jobtracker.dto.TimeSlotDTO;
+import com.jobtracker.security.CalendarTokenService;
+import com.jobtracker.service.InterviewService;
+import com.jobtracker.service.VersionConflictException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/interviews")
 @CrossOrigin(origins = "*")
 public class InterviewController {
 
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
     @Autowired
-    private InterviewRepository interviewRepository;
+    private InterviewService interviewService;
 
     @Autowired
-    private JobApplicationRepository applicationRepository;
+    private CalendarTokenService calendarTokenService;
 
     @GetMapping
-    public List<InterviewDTO> getAllInterviews() {
-        return interviewRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public ResponseEntity<Map<String, Object>> getAllInterviews(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ?
+                Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, "interviewDate"));
+
+        Page<InterviewDTO> pagedResult = interviewService.getInterviews(pageable);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("interviews", pagedResult.getContent());
+        response.put("currentPage", pagedResult.getNumber());
+        response.put("totalItems", pagedResult.getTotalElements());
+        response.put("totalPages", pagedResult.getTotalPages());
+
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/upcoming")
     public List<InterviewDTO> getUpcomingInterviews() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime nextMonth = now.plusMonths(1);
-        return interviewRepository.findByInterviewDateBetween(now, nextMonth).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return interviewService.getUpcomingInterviews();
     }
 
     @GetMapping("/application/{applicationId}")
     public List<InterviewDTO> getInterviewsByApplication(@PathVariable Long applicationId) {
-        return interviewRepository.findByApplicationId(applicationId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return interviewService.getInterviewsByApplication(applicationId);
+    }
+
+    @GetMapping("/calendar.ics")
+    public ResponseEntity<String> getCalendarFeed() {
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"interviews.ics\"")
+                .body(interviewService.getCalendarFeed());
+    }
+
+    // Same feed for calendar apps; the token in the path is the authentication
+    @GetMapping("/calendar/{token}.ics")
+    public ResponseEntity<String> getSubscribedCalendarFeed() {
+        return getCalendarFeed();
+    }
+
+    /** Issues the subscription URL for calendar apps, revoking the previous one. */
+    @PostMapping("/calendar/token")
+    public ResponseEntity<Map<String, String>> issueCalendarToken(Authentication authentication) {
+        String token = calendarTokenService.issue(authentication.getName());
+        Map<String, String> response = new HashMap<>();
+        response.put("token", token);
+        response.put("path", "/api/interviews/calendar/" + token + ".ics");
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @DeleteMapping("/calendar/token")
+    public ResponseEntity<Void> revokeCalendarToken(Authentication authentication) {
+        calendarTokenService.revoke(authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/conflicts")
+    public ResponseEntity<?> getConflicts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) Integer durationMinutes,
+            @RequestParam(required = false) Long excludeId) {
+        try {
+            return ResponseEntity.ok(interviewService.getConflicts(start, durationMinutes, excludeId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/free-slots")
+    public ResponseEntity<?> getFreeSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "30") int minutes) {
+        try {
+            List<TimeSlotDTO> slots = interviewService.getFreeSlots(from, to, minutes);
+            return ResponseEntity.ok(slots);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PostMapping
-    public ResponseEntity<InterviewDTO> createInterview(@RequestBody InterviewDTO dto) {
-        JobApplication application = applicationRepository.findById(dto.getApplicationId())
-                .orElseThrow(() -> new RuntimeException("Application not found"));
-
-        Interview interview = new Interview();
-        interview.setApplication(application);
-        interview.setInterviewDate(dto.getInterviewDate());
-        interview.setInterviewType(dto.getInterviewType());
-        interview.setLocation(dto.getLocation());
-        interview.setInterviewerName(dto.getInterviewerName());
-        interview.setNotes(dto.getNotes());
-
-        Interview saved = interviewRepository.save(interview);
-        return ResponseEntity.ok(convertToDTO(saved));
+    public ResponseEntity<?> createInterview(@RequestBody InterviewDTO dto) {
+        try {
+            InterviewDTO created = interviewService.createInterview(dto);
+            return ResponseEntity.ok(created);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<InterviewDTO> getInterviewById(@PathVariable Long id) {
+        try {
+            InterviewDTO dto = interviewService.getInterviewById(id);
+            return ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<InterviewDTO> updateInterview(@PathVariable Long id, @RequestBody InterviewDTO dto) {
-        Interview interview = interviewRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Interview not found"));
-
-        interview.setInterviewDate(dto.getInterviewDate());
-        interview.setInterviewType(dto.getInterviewType());
-        interview.setLocation(dto.getLocation());
-        interview.setInterviewerName(dto.getInterviewerName());
-        interview.setNotes(dto.getNotes());
-
-        Interview updated = interviewRepository.save(interview);
-        return ResponseEntity.ok(convertToDTO(updated));
+    public ResponseEntity<?> updateInterview(@PathVariable Long id, @RequestBody InterviewDTO dto,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            InterviewDTO updated = interviewService.updateInterview(id, dto, ETags.expectedVersion(ifMatch, dto.getVersion()));
+            return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body(updated);
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).eTag(ETags.of(e.getCurrentVersion())).body(e.getCurrent());
+        } catch (OptimisticLockingFailureException e) {
+            InterviewDTO current = interviewService.getInterviewById(id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).eTag(ETags.of(current.getVersion())).body(current);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteInterview(@PathVariable Long id) {
-        interviewRepository.deleteById(id);
-        return ResponseEntity.ok().build();
-    }
-
-    private InterviewDTO convertToDTO(Interview interview) {
-        InterviewDTO dto = new InterviewDTO();
-        dto.setId(interview.getId());
-        dto.setApplicationId(interview.getApplication().getId());
-        dto.setCompanyName(interview.getApplication().getCompany().getName());
-        dto.setPosition(interview.getApplication().getPosition());
-        dto.setInterviewDate(interview.getInterviewDate());
-        dto.setInterviewType(interview.getInterviewType());
-        dto.setLocation(interview.getLocation());
-        dto.setInterviewerName(interview.getInterviewerName());
-        dto.setNotes(interview.getNotes());
-        dto.setCreatedAt(interview.getCreatedAt());
-        return dto;
+        try {
+            interviewService.deleteInterview(id);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
     }
 }
@@ -1,19 +1,40 @@
 package com.jobtracker.controller;
 
+import com.jobtracker.dto.ApplicationEventDTO;
+import com.jobtracker.dto.ApplicationPatchDTO;
 import com.jobtracker.dto.ApplicationStatsDTO;
+import com.jobtracker.dto.FieldSelection;
+import com.jobtracker.dto.FunnelStatsDTO;
+import com.jobtracker.dto.ImportResultDTO;
 import com.jobtracker.dto.JobApplicationDTO;
+import com.jobtracker.dto.SalaryFilter;
+import com.jobtracker.dto.SalaryHistogramDTO;
+import com.jobtracker.dto.SimilarApplicationDTO;
 import com.jobtracker.model.ApplicationStatus;
+import com.jobtracker.security.StreamTicketService;
+import com.jobtracker.service.DataVersionService;
 import com.jobtracker.service.JobApplicationService;
+import com.jobtracker.service.VersionConflictException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -21,21 +42,66 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class JobApplicationController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final String DUPLICATE_OF = "X-Duplicate-Of";
+
     @Autowired
     private JobApplicationService applicationService;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private StreamTicketService streamTicketService;
+
+    /**
+     * With {@code fields=id,position,status,...} only those columns are read and
+     * returned; see {@link JobApplicationDTO} for the names. {@code salaryMin},
+     * {@code salaryMax} (annual) and {@code currency} keep applications whose
+     * parsed salary range overlaps the one given.
+     */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllApplications(
+    public ResponseEntity<?> getAllApplications(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "21") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) Long salaryMin,
+            @RequestParam(required = false) Long salaryMax,
+            @RequestParam(required = false) String currency,
+            Authentication authentication,
+            WebRequest webRequest) {
+
+        FieldSelection selection;
+        try {
+            selection = fields == null ? null : FieldSelection.parse(fields, JobApplicationDTO.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // Answer revalidations from the data version before running the list query
+        String etag = dataVersionService.getETag(authentication.getName(), "applications");
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
 
         Sort.Direction direction = sortDir.equalsIgnoreCase("asc") ?
                 Sort.Direction.ASC : Sort.Direction.DESC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
 
-        Page<JobApplicationDTO> pagedResult = applicationService.getAllApplicationsPaginated(pageable);
+        SalaryFilter salary = new SalaryFilter(salaryMin, salaryMax,
+                currency == null ? null : currency.trim().toUpperCase(Locale.ROOT));
+
+        Page<?> pagedResult;
+        try {
+            pagedResult = selection == null
+                    ? applicationService.getAllApplicationsPaginated(pageable, salary)
+                    : applicationService.getApplicationsPaginated(pageable, salary, selection);
+        } catch (IllegalArgumentException e) {
+            // Unknown sort attribute on the projected query
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
         Map<String, Object> response = new HashMap<>();
         response.put("applications", pagedResult.getContent());
@@ -43,34 +109,155 @@ public class JobApplicationController {
         response.put("totalItems", pagedResult.getTotalElements());
         response.put("totalPages", pagedResult.getTotalPages());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(response);
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamApplicationEvents() {
+        return applicationService.subscribeToEvents();
+    }
+
+    /** A one-off ticket for {@code GET /events?ticket=}, since EventSource can't send the JWT as a header. */
+    @PostMapping("/events/ticket")
+    public ResponseEntity<Map<String, Object>> issueStreamTicket(Authentication authentication) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("ticket", streamTicketService.issue(authentication.getName()));
+        response.put("expiresIn", streamTicketService.getTtlSeconds());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<JobApplicationDTO> getApplicationById(@PathVariable Long id) {
+    public ResponseEntity<?> getApplicationById(@PathVariable Long id,
+                                                @RequestParam(required = false) String fields) {
+        FieldSelection selection;
+        try {
+            selection = fields == null ? null : FieldSelection.parse(fields, JobApplicationDTO.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
         try {
+            if (selection != null) {
+                JobApplicationService.SparseApplication sparse = applicationService.getApplicationById(id, selection);
+                return ResponseEntity.ok().eTag(ETags.of(sparse.version())).body(sparse.fields());
+            }
             JobApplicationDTO dto = applicationService.getApplicationById(id);
-            return ResponseEntity.ok(dto);
+            return ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(dto);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{id}/history")
+    public List<ApplicationEventDTO> getApplicationHistory(@PathVariable Long id) {
+        return applicationService.getApplicationHistory(id);
+    }
+
+    /**
+     * Applications whose job description is near-identical to this one's, e.g.
+     * the same posting sent by another recruiter. {@code threshold} is the
+     * minimum estimated similarity (0..1).
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarApplications(@PathVariable Long id,
+                                                    @RequestParam(defaultValue = "0.7") double threshold,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        if (threshold < 0 || threshold > 1 || limit <= 0) {
+            return ResponseEntity.badRequest().body("threshold must be within 0..1 and limit positive");
+        }
+        try {
+            List<SimilarApplicationDTO> similar = applicationService.getSimilarApplications(id, threshold, limit);
+            return ResponseEntity.ok(similar);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * If the job is already saved, nothing is created and the existing
+     * application comes back with {@code X-Duplicate-Of} set to its id.
+     */
     @PostMapping
     public ResponseEntity<?> createApplication(@RequestBody JobApplicationDTO dto) {
         try {
-            JobApplicationDTO created = applicationService.createApplication(dto);
-            return ResponseEntity.ok(created);
+            JobApplicationService.CreateResult result;
+            try {
+                result = applicationService.createApplication(dto);
+            } catch (DataIntegrityViolationException e) {
+                // Lost a race with an identical create; the retry finds the winner
+                result = applicationService.createApplication(dto);
+            }
+            if (result.duplicate()) {
+                return ResponseEntity.ok()
+                        .header(DUPLICATE_OF, String.valueOf(result.application().getId()))
+                        .body(result.application());
+            }
+            return ResponseEntity.ok(result.application());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<?> importApplications(@RequestBody List<JobApplicationDTO> dtos) {
+        try {
+            ImportResultDTO result;
+            try {
+                result = applicationService.importApplications(dtos);
+            } catch (DataIntegrityViolationException e) {
+                // A job was saved elsewhere behind this node's filter; the retry re-reads it and skips it
+                result = applicationService.importApplications(dtos);
+            }
+            return ResponseEntity.ok(result);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateApplication(@PathVariable Long id, @RequestBody JobApplicationDTO dto) {
+    public ResponseEntity<?> updateApplication(@PathVariable Long id, @RequestBody JobApplicationDTO dto,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            JobApplicationDTO updated = applicationService.updateApplication(
+                    id, dto, ETags.expectedVersion(ifMatch, dto.getVersion()));
+            return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body(updated);
+        } catch (VersionConflictException e) {
+            return conflict(e);
+        } catch (OptimisticLockingFailureException e) {
+            // Lost the race between our read and the flush; if the other write was a delete, it's gone
+            JobApplicationDTO current;
+            try {
+                current = applicationService.getApplicationById(id);
+            } catch (RuntimeException notFound) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).eTag(ETags.of(current.getVersion())).body(current);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchApplication(@PathVariable Long id, @RequestBody ApplicationPatchDTO patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            ApplicationPatchDTO patched = applicationService.patchApplication(
+                    id, patch, ETags.expectedVersion(ifMatch, patch.getVersion()));
+            return ResponseEntity.ok().eTag(ETags.of(patched.getVersion())).body(patched);
+        } catch (VersionConflictException e) {
+            return conflict(e);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<?> patchApplications(@RequestBody List<ApplicationPatchDTO> patches) {
         try {
-            JobApplicationDTO updated = applicationService.updateApplication(id, dto);
-            return ResponseEntity.ok(updated);
+            List<ApplicationPatchDTO> patched = applicationService.patchApplications(patches);
+            return ResponseEntity.ok(patched);
+        } catch (VersionConflictException e) {
+            return conflict(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -91,9 +278,47 @@ public class JobApplicationController {
         return applicationService.getApplicationsByStatus(status);
     }
 
+    private ResponseEntity<Object> conflict(VersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(ETags.of(e.getCurrentVersion()))
+                .body(e.getCurrent());
+    }
+
     @GetMapping("/stats")
-    public ResponseEntity<ApplicationStatsDTO> getApplicationStats() {
+    public ResponseEntity<ApplicationStatsDTO> getApplicationStats(Authentication authentication,
+                                                                   WebRequest webRequest) {
+        String etag = dataVersionService.getETag(authentication.getName(), "stats");
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+
         ApplicationStatsDTO stats = applicationService.getApplicationStats();
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(stats);
+    }
+
+    @GetMapping("/stats/salary")
+    public ResponseEntity<?> getSalaryHistogram(@RequestParam(defaultValue = "10000") long bucketSize,
+                                                Authentication authentication, WebRequest webRequest) {
+        if (bucketSize <= 0) {
+            return ResponseEntity.badRequest().body("bucketSize must be positive");
+        }
+        String etag = dataVersionService.getETag(authentication.getName(), "stats-salary-" + bucketSize);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+
+        SalaryHistogramDTO histogram = applicationService.getSalaryHistogram(bucketSize);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(histogram);
+    }
+
+    @GetMapping("/stats/funnel")
+    public ResponseEntity<FunnelStatsDTO> getFunnelStats(Authentication authentication, WebRequest webRequest) {
+        String etag = dataVersionService.getETag(authentication.getName(), "stats-funnel");
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+
+        FunnelStatsDTO funnel = applicationService.getFunnelStats();
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(funnel);
     }
-}
\ No newline at end of file
+}
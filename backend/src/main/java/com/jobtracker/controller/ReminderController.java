@@ -0,0 +1,27 @@
+package com.jobtracker.controller;
+
+import com.jobtracker.dto.ReminderDTO;
+import com.jobtracker.service.ReminderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reminders")
+@CrossOrigin(origins = "*")
+public class ReminderController {
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @GetMapping
+    public List<ReminderDTO> getPendingReminders() {
+        return reminderService.getPendingReminders();
+    }
+
+    @GetMapping("/inbox")
+    public List<ReminderDTO> getDeliveredReminders() {
+        return reminderService.getDeliveredReminders();
+    }
+}
@@ -0,0 +1,20 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationChangeEventDTO {
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String PATCHED = "patched";
+
+    private String type;
+    private Long applicationId;
+    private JobApplicationDTO application; // created/updated only; jobDescription is omitted
+    private ApplicationPatchDTO patch;     // patched only: just the fields that changed
+}
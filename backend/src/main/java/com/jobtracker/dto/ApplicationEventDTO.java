@@ -0,0 +1,16 @@
+package com.jobtracker.dto;
+
+import com.jobtracker.model.ApplicationStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ApplicationEventDTO {
+    private Long id;
+    private Long applicationId;
+    private ApplicationStatus fromStatus;
+    private ApplicationStatus toStatus;
+    private boolean unusual;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,25 @@
+package com.jobtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jobtracker.model.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Partial update of an application: only non-null fields are written.
+ * Also returned as the result, so clients can merge it into their copy.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApplicationPatchDTO {
+    private Long id;
+    private ApplicationStatus status;
+    private Integer priority;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
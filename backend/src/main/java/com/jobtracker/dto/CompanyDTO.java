@@ -13,4 +13,5 @@ public class CompanyDTO {
     private String location;
     private String notes;
     private LocalDateTime createdAt;
+    private Long version;
 }
@@ -0,0 +1,20 @@
+package com.jobtracker.dto;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the dashboard shows on load. A section that failed or timed out is
+ * null and has its reason in {@code errors}.
+ */
+@Data
+public class DashboardDTO {
+    private Map<String, Object> applications; // Same shape as GET /api/applications
+    private ApplicationStatsDTO stats;
+    private List<CompanyDTO> companies;
+    private Map<String, Object> interviews; // Same shape as GET /api/interviews
+    private Map<String, String> errors = new LinkedHashMap<>();
+}
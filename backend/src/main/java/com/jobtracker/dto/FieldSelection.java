@@ -0,0 +1,103 @@
+package com.jobtracker.dto;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A sparse fieldset, {@code ?fields=id,position,status}, checked against the
+ * properties of a DTO class. {@code id} is always included so clients can
+ * still key what they get back.
+ */
+public final class FieldSelection {
+
+    private static final Map<Class<?>, Set<String>> WHITELISTS = new ConcurrentHashMap<>();
+
+    private final List<String> fields;
+
+    private FieldSelection(List<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a field isn't a property of {@code dtoClass}
+     */
+    public static FieldSelection parse(String fields, Class<?> dtoClass) {
+        Set<String> allowed = WHITELISTS.computeIfAbsent(dtoClass, FieldSelection::propertiesOf);
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        List<String> unknown = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (allowed.contains(name)) {
+                selected.add(name);
+            } else {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown fields " + unknown + ", allowed: " + allowed);
+        }
+        return new FieldSelection(List.copyOf(selected));
+    }
+
+    public List<String> fields() {
+        return fields;
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Reads the selected properties off an object shaped like the DTO (the DTO
+     * itself or the entity it mirrors).
+     */
+    public Map<String, Object> pick(Object source) {
+        BeanWrapper wrapper = new BeanWrapperImpl(source);
+        Map<String, Object> picked = new LinkedHashMap<>();
+        for (String field : fields) {
+            picked.put(field, wrapper.getPropertyValue(field));
+        }
+        return picked;
+    }
+
+    /**
+     * Pairs a row of values, selected in {@link #fields()} order, with the field names.
+     */
+    public Map<String, Object> zip(Object[] row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(fields.get(i), row[i]);
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", fields);
+    }
+
+    private static Set<String> propertiesOf(Class<?> dtoClass) {
+        Set<String> properties = new LinkedHashSet<>();
+        for (Field field : dtoClass.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                properties.add(field.getName());
+            }
+        }
+        return Collections.unmodifiableSet(properties);
+    }
+}
@@ -0,0 +1,26 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FunnelStatsDTO {
+    private Map<String, Long> reached; // Applications that ever entered each stage
+    private Map<String, Map<String, Long>> transitions; // from → to → count
+    private Map<String, Map<String, Double>> conversionRates; // Percentage of `from` that later reached `to`
+    private Map<String, StageDwell> dwell; // Time spent in a stage before leaving it
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StageDwell {
+        private long count;
+        private double averageHours;
+        private Map<String, Long> histogram;
+    }
+}
@@ -0,0 +1,16 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private int created;
+    private int duplicates;
+    private List<Long> ids; // One per imported application, in order; duplicates get the existing id
+}
@@ -1,8 +1,10 @@
 package com.jobtracker.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 public class InterviewDTO {
@@ -11,9 +13,15 @@ public class InterviewDTO {
     private String companyName;
     private String position;
     private LocalDateTime interviewDate;
+    private Integer durationMinutes;
     private String interviewType;
     private String location;
     private String interviewerName;
     private String notes;
     private LocalDateTime createdAt;
+    private Long version;
+
+    // Only on create/update responses: other interviews this one overlaps
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> warnings;
 }
\ No newline at end of file
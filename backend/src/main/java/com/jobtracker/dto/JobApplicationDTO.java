@@ -15,6 +15,9 @@ public class JobApplicationDTO {
     private String jobUrl;
     private String location;
     private String salaryRange;
+    private Long salaryMin; // Annual, parsed from salaryRange; ignored on input
+    private Long salaryMax;
+    private String salaryCurrency;
     private ApplicationStatus status;
     private LocalDate appliedDate;
     private LocalDate followUpDate;
@@ -27,4 +30,5 @@ public class JobApplicationDTO {
     private String interviewTime;
     private String interviewType;
     private String interviewLocation;
+    private Long version;
 }
\ No newline at end of file
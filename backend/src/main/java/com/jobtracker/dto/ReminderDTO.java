@@ -0,0 +1,16 @@
+package com.jobtracker.dto;
+
+import com.jobtracker.model.ReminderType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ReminderDTO {
+    private Long id;
+    private ReminderType type;
+    private Long sourceId;
+    private LocalDateTime dueAt;
+    private String message;
+    private LocalDateTime sentAt;
+}
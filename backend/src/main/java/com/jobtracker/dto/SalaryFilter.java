@@ -0,0 +1,17 @@
+package com.jobtracker.dto;
+
+/**
+ * Salary range filter for the application list: matches applications whose
+ * annual range overlaps [min, max]. Any part may be null.
+ */
+public record SalaryFilter(Long min, Long max, String currency) {
+
+    public boolean isEmpty() {
+        return min == null && max == null && currency == null;
+    }
+
+    @Override
+    public String toString() {
+        return min + "-" + max + " " + currency;
+    }
+}
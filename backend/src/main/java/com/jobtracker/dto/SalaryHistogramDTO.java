@@ -0,0 +1,25 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryHistogramDTO {
+    private long bucketSize;
+    private Map<String, List<Bucket>> currencies; // Currency code, or UNKNOWN
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private long from; // Inclusive, annual midpoint of the range
+        private long to;   // Exclusive
+        private long applications;
+    }
+}
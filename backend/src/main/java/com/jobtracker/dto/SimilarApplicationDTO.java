@@ -0,0 +1,18 @@
+package com.jobtracker.dto;
+
+import com.jobtracker.model.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarApplicationDTO {
+    private Long id;
+    private Long companyId;
+    private String companyName;
+    private String position;
+    private ApplicationStatus status;
+    private double similarity; // Estimated Jaccard similarity of the job descriptions, 0..1
+}
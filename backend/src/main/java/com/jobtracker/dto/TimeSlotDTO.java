@@ -0,0 +1,15 @@
+package com.jobtracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSlotDTO {
+    private LocalDateTime start; // Inclusive
+    private LocalDateTime end;   // Exclusive
+}
@@ -0,0 +1,14 @@
+package com.jobtracker.inspection;
+
+/**
+ * Thrown in test mode ({@code sql.inspection.fail-over-budget=true}) by the
+ * statement that takes a request over its query budget. An Error rather than
+ * a RuntimeException so the controllers' catch-alls can't turn it into a 400
+ * and the test fails where the extra query ran.
+ */
+public class QueryBudgetExceededError extends AssertionError {
+
+    public QueryBudgetExceededError(String message) {
+        super(message);
+    }
+}
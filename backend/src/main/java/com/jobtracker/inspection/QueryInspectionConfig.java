@@ -0,0 +1,34 @@
+package com.jobtracker.inspection;
+
+import com.jobtracker.sharding.ShardRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts {@link QueryInspector} in front of the application's data source:
+ * Spring Boot's own pool, or the read replica routing of ReadReplicaConfig.
+ * With sharding, ShardingConfig wraps each shard's pool instead, since the
+ * shard mover and directory take the routing data source by its class and
+ * reach the shards directly.
+ */
+@Configuration
+public class QueryInspectionConfig {
+
+    @Bean
+    public static BeanPostProcessor queryInspectionPostProcessor(ObjectProvider<QueryInspector> queryInspector) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ShardRoutingDataSource)) {
+                    return queryInspector.getObject().inspect(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
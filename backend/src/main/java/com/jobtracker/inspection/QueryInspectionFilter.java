@@ -0,0 +1,158 @@
+package com.jobtracker.inspection;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts and times the SQL statements each HTTP request runs (see
+ * {@link QueryInspector}), ahead of the security filters so the JWT user
+ * lookup is counted too.
+ *
+ * After the request, any statement that ran at least
+ * {@code sql.inspection.n-plus-one-threshold} times is logged as an N+1
+ * candidate: the same SQL text with different binds is what a lazy-loaded
+ * association in a loop looks like. Requests over their budget are logged as
+ * well; budgets come from {@code sql.inspection.budgets} entries like
+ * {@code GET /api/dashboard=12} (first match wins, {@code *} for any method),
+ * else {@code sql.inspection.default-budget}. With
+ * {@code sql.inspection.fail-over-budget=true}, meant for integration tests,
+ * the statement that exceeds the budget throws {@link QueryBudgetExceededError}
+ * instead, and so does the filter if that one was swallowed (e.g. by a
+ * dashboard section).
+ *
+ * Metrics: {@code http.server.requests.sql.statements} and
+ * {@code http.server.requests.sql.time} per method and URI pattern,
+ * {@code sql.n_plus_one.suspected{method, uri}}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class QueryInspectionFilter extends OncePerRequestFilter {
+
+    private record Budget(String method, String pattern, int statements) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int defaultBudget;
+    private final boolean failOverBudget;
+    private final int nPlusOneThreshold;
+    private final List<Budget> budgets = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public QueryInspectionFilter(MeterRegistry meterRegistry,
+                                 @Value("${sql.inspection.enabled:true}") boolean enabled,
+                                 @Value("${sql.inspection.budgets:}") List<String> budgets,
+                                 @Value("${sql.inspection.default-budget:0}") int defaultBudget,
+                                 @Value("${sql.inspection.fail-over-budget:false}") boolean failOverBudget,
+                                 @Value("${sql.inspection.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.defaultBudget = defaultBudget;
+        this.failOverBudget = failOverBudget;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        for (String entry : budgets) {
+            if (!entry.isBlank()) {
+                this.budgets.add(parseBudget(entry.trim()));
+            }
+        }
+    }
+
+    // "GET /api/dashboard=12"
+    private static Budget parseBudget(String entry) {
+        int equals = entry.lastIndexOf('=');
+        String[] endpoint = entry.substring(0, Math.max(equals, 0)).trim().split("\\s+");
+        if (equals < 0 || endpoint.length != 2) {
+            throw new IllegalStateException("sql.inspection.budgets entries look like 'GET /api/path=10', got: " + entry);
+        }
+        return new Budget(endpoint[0].toUpperCase(Locale.ROOT), endpoint[1], Integer.parseInt(entry.substring(equals + 1).trim()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RequestQueries queries = new RequestQueries(request.getMethod() + " " + path,
+                budgetFor(request.getMethod(), path), failOverBudget);
+        RequestQueries.set(queries);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueries.clear();
+            report(request, queries);
+        }
+        if (failOverBudget && queries.isOverBudget()) {
+            throw new QueryBudgetExceededError(queries.getRequest() + " ran " + queries.getStatements()
+                    + " SQL statements, budget is " + queries.getBudget());
+        }
+    }
+
+    private int budgetFor(String method, String path) {
+        for (Budget budget : budgets) {
+            if ((budget.method().equals("*") || budget.method().equals(method))
+                    && pathMatcher.match(budget.pattern(), path)) {
+                return budget.statements();
+            }
+        }
+        return defaultBudget;
+    }
+
+    private void report(HttpServletRequest request, RequestQueries queries) {
+        if (queries.getStatements() == 0) {
+            return;
+        }
+        // Set by Spring MVC once a handler matched; keeps the metric tags bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(queries.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing SQL per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(queries.getNanos(), TimeUnit.NANOSECONDS);
+
+        for (Map.Entry<String, Integer> repeated : queries.repeated(nPlusOneThreshold)) {
+            meterRegistry.counter("sql.n_plus_one.suspected", "method", method, "uri", uri).increment();
+            log.warn("🔁 Possible N+1 in {}: ran {} times: {}", queries.getRequest(), repeated.getValue(),
+                    repeated.getKey().replaceAll("\\s+", " "));
+        }
+        if (queries.isOverBudget()) {
+            log.warn("🧮 {} ran {} SQL statements, over its budget of {}", queries.getRequest(),
+                    queries.getStatements(), queries.getBudget());
+        }
+        log.debug("🗄️ {} ran {} SQL statements in {} ms", queries.getRequest(), queries.getStatements(),
+                TimeUnit.NANOSECONDS.toMillis(queries.getNanos()));
+    }
+}
@@ -0,0 +1,265 @@
+package com.jobtracker.inspection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement, whether it comes from Hibernate or a
+ * JdbcTemplate, by wrapping the connections handed out by the pool.
+ *
+ * Each execution is added to the current request's {@link RequestQueries}, if
+ * any. Executions slower than {@code sql.inspection.slow-ms} go to the
+ * {@code com.jobtracker.sql.slow} logger as one logfmt line, sampled at
+ * {@code sql.inspection.slow-sample-rate}. Binds are logged as their types only,
+ * since they carry emails, notes and tokens; {@code sql.inspection.log-binds=true}
+ * logs the values too, for local debugging. The time is the
+ * execute call only; reading a large result set afterwards is not included.
+ *
+ * Metrics: {@code sql.statements.slow{logged=true|false}}.
+ */
+@Component
+public class QueryInspector {
+
+    private static final Logger slowLog = LoggerFactory.getLogger("com.jobtracker.sql.slow");
+
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final int MAX_BIND_LENGTH = 64;
+    private static final ClassLoader CLASS_LOADER = QueryInspector.class.getClassLoader();
+
+    private final long slowNanos;
+    private final double slowSampleRate;
+    private final boolean logBinds;
+    private final Counter slowLogged;
+    private final Counter slowSkipped;
+
+    public QueryInspector(MeterRegistry meterRegistry,
+                          @Value("${sql.inspection.slow-ms:200}") long slowMs,
+                          @Value("${sql.inspection.slow-sample-rate:1.0}") double slowSampleRate,
+                          @Value("${sql.inspection.log-binds:false}") boolean logBinds) {
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+        this.slowSampleRate = slowSampleRate;
+        this.logBinds = logBinds;
+        this.slowLogged = Counter.builder("sql.statements.slow")
+                .description("Statements slower than sql.inspection.slow-ms")
+                .tag("logged", "true")
+                .register(meterRegistry);
+        this.slowSkipped = Counter.builder("sql.statements.slow")
+                .description("Statements slower than sql.inspection.slow-ms")
+                .tag("logged", "false")
+                .register(meterRegistry);
+    }
+
+    public DataSource inspect(DataSource dataSource) {
+        return new InspectingDataSource(dataSource);
+    }
+
+    private void record(String sql, Map<Integer, Object> binds, int batchRows, long elapsedNanos) {
+        if (elapsedNanos >= slowNanos) {
+            if (ThreadLocalRandom.current().nextDouble() < slowSampleRate) {
+                slowLogged.increment();
+                logSlow(sql, binds, batchRows, elapsedNanos);
+            } else {
+                slowSkipped.increment();
+            }
+        }
+        RequestQueries queries = RequestQueries.current();
+        if (queries != null) {
+            queries.record(sql, elapsedNanos);
+        }
+    }
+
+    private void logSlow(String sql, Map<Integer, Object> binds, int batchRows, long elapsedNanos) {
+        RequestQueries queries = RequestQueries.current();
+        StringBuilder line = new StringBuilder("slow_query")
+                .append(" duration_ms=").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .append(" request=").append(quote(queries != null ? queries.getRequest() : "-"))
+                .append(" thread=").append(quote(Thread.currentThread().getName()));
+        if (batchRows > 0) {
+            line.append(" batch_rows=").append(batchRows);
+        }
+        line.append(" sql=").append(quote(abbreviate(sql, MAX_SQL_LENGTH)));
+        if (binds != null && !binds.isEmpty()) {
+            line.append(" binds=").append(quote(renderBinds(sql, binds, logBinds)));
+        }
+        slowLog.warn(line.toString());
+    }
+
+    // Of the last row for a batch
+    private static String renderBinds(String sql, Map<Integer, Object> binds, boolean withValues) {
+        boolean redact = !withValues || (sql != null && sql.toLowerCase(Locale.ROOT).contains("password"));
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        binds.forEach((index, value) -> joiner.add(index + "=" + (redact ? redactBind(value) : renderBind(value))));
+        return joiner.toString();
+    }
+
+    private static String redactBind(Object value) {
+        return value == null ? "null" : "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    private static String renderBind(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof InputStream || value instanceof Reader) {
+            return "<stream>";
+        }
+        String text = abbreviate(value.toString(), MAX_BIND_LENGTH);
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "\"\"";
+        }
+        return '"' + value.replaceAll("\\s+", " ").replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private static String abbreviate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength) + "…";
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Spring Boot's pool metrics and health checks unwrap this to reach the pool. */
+    private final class InspectingDataSource extends DelegatingDataSource {
+
+        InspectingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return inspect(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return inspect(super.getConnection(username, password));
+        }
+
+        private Connection inspect(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        default -> {
+                            Object result = invoke(connection, method, args);
+                            if (result instanceof Statement statement) {
+                                // prepareStatement and prepareCall take the SQL first
+                                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                                yield inspect(statement, sql);
+                            }
+                            yield result;
+                        }
+                    });
+        }
+
+        private Statement inspect(Statement statement, String sql) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return (Statement) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final Map<Integer, Object> binds = new TreeMap<>();
+        private String batchSql;
+        private int batchRows;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "clearParameters":
+                    binds.clear();
+                    break;
+                case "addBatch":
+                    batchRows++;
+                    if (batchSql == null) {
+                        batchSql = preparedSql != null ? preparedSql : (String) args[0];
+                    }
+                    break;
+                case "clearBatch":
+                    batchSql = null;
+                    batchRows = 0;
+                    break;
+                default:
+                    if (name.startsWith("execute")) {
+                        return execute(method, args);
+                    }
+                    if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer index) {
+                        binds.put(index, name.equals("setNull") ? null : args[1]);
+                    }
+            }
+            return QueryInspector.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            boolean batch = method.getName().endsWith("Batch");
+            String sql = batch ? batchSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text
+                    : preparedSql;
+            int rows = batch ? batchRows : 0;
+            long started = System.nanoTime();
+            try {
+                return QueryInspector.invoke(target, method, args);
+            } finally {
+                if (batch) {
+                    batchSql = null;
+                    batchRows = 0;
+                }
+                record(sql, preparedSql != null ? binds : null, rows, System.nanoTime() - started);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.jobtracker.inspection;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The SQL statements run on behalf of one HTTP request: how many, how long
+ * they took and how often each distinct statement ran. Set for the request's
+ * thread by {@link QueryInspectionFilter}; work fanned out to other threads
+ * (the dashboard sections) carries it along with {@link #callWith}.
+ */
+public final class RequestQueries {
+
+    // Bounds the per-request map when a request builds SQL with inlined values
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+    private final String request;
+    private final int budget;
+    private final boolean failOverBudget;
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Map<String, AtomicInteger> executions = new ConcurrentHashMap<>();
+
+    /**
+     * @param budget         statements the request may run, 0 for no limit
+     * @param failOverBudget throw {@link QueryBudgetExceededError} from the statement that exceeds the budget
+     */
+    public RequestQueries(String request, int budget, boolean failOverBudget) {
+        this.request = request;
+        this.budget = budget;
+        this.failOverBudget = failOverBudget;
+    }
+
+    public static RequestQueries current() {
+        return CURRENT.get();
+    }
+
+    public static void set(RequestQueries queries) {
+        CURRENT.set(queries);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T callWith(RequestQueries queries, Supplier<T> task) {
+        RequestQueries previous = CURRENT.get();
+        CURRENT.set(queries);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    void record(String sql, long elapsedNanos) {
+        int count = statements.incrementAndGet();
+        nanos.addAndGet(elapsedNanos);
+        if (sql != null) {
+            AtomicInteger executed = executions.get(sql);
+            if (executed == null && executions.size() < MAX_DISTINCT_STATEMENTS) {
+                executed = executions.computeIfAbsent(sql, key -> new AtomicInteger());
+            }
+            if (executed != null) {
+                executed.incrementAndGet();
+            }
+        }
+        if (failOverBudget && isOverBudget()) {
+            throw new QueryBudgetExceededError(request + " ran " + count + " SQL statements, budget is " + budget);
+        }
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getStatements() {
+        return statements.get();
+    }
+
+    public long getNanos() {
+        return nanos.get();
+    }
+
+    public boolean isOverBudget() {
+        return budget > 0 && statements.get() > budget;
+    }
+
+    /** Statements that ran at least {@code threshold} times, most repeated first. */
+    public List<Map.Entry<String, Integer>> repeated(int threshold) {
+        return executions.entrySet().stream()
+                .filter(entry -> entry.getValue().get() >= threshold)
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().get()))
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .toList();
+    }
+}
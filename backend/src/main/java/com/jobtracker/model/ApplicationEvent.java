@@ -0,0 +1,55 @@
+package com.jobtracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only history of application status transitions.
+ * {@code fromStatus} is null for the status an application was created with.
+ */
+@Entity
+@Table(name = "application_events",
+        indexes = {
+                @Index(name = "idx_application_events_application", columnList = "application_id, occurred_at"),
+                @Index(name = "idx_application_events_user", columnList = "user_id, occurred_at")
+        },
+        uniqueConstraints = {
+                // Replayed outbox rows are ignored instead of duplicated
+                @UniqueConstraint(name = "uk_application_events_outbox", columnNames = "outbox_id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "outbox_id", nullable = false)
+    private Long outboxId;
+
+    // Plain ids rather than associations: history outlives deleted applications
+    @Column(name = "application_id", nullable = false)
+    private Long applicationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private ApplicationStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private ApplicationStatus toStatus;
+
+    @Column(nullable = false)
+    private boolean unusual;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,44 @@
+package com.jobtracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status transitions written in the same transaction as the status change.
+ * Rows are moved into {@link ApplicationEvent} by the background writer and
+ * deleted; anything left here after a crash is replayed on the next sweep.
+ */
+@Entity
+@Table(name = "application_event_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "application_id", nullable = false)
+    private Long applicationId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private ApplicationStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private ApplicationStatus toStatus;
+
+    @Column(nullable = false)
+    private boolean unusual;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
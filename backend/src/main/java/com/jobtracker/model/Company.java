@@ -1,12 +1,19 @@
 package com.jobtracker.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jobtracker.service.CompanyNames;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 
 @Entity
+@Cacheable
+// Per-node cache, so another node's update shows after at most the region's TTL (application.conf)
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 @Table(name = "companies")
 @Getter
 @Setter
@@ -26,6 +33,11 @@ public class Company {
     @Column(nullable = false)
     private String name;
 
+    // CompanyNames.canonical(name), unique per user; kept in step by the callbacks below
+    @JsonIgnore
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
     private String website;
 
     private String industry;
@@ -35,12 +47,24 @@ public class Company {
     @Column(length = 1000)
     private String notes;
 
+    // Optimistic lock; the default backfills existing rows when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        onSave();
+    }
+
+    @PreUpdate
+    protected void onSave() {
+        String canonical = CompanyNames.canonical(name);
+        normalizedName = canonical.isEmpty() ? null : canonical;
     }
 
     //TO DO : implement equals and hashcode
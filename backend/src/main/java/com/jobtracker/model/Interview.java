@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "interviews")
+@Table(name = "interviews", indexes = {
+        @Index(name = "idx_interviews_user_date", columnList = "user_id, interview_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,9 +23,18 @@ public class Interview {
     @JoinColumn(name = "application_id", nullable = false)
     private JobApplication application;
 
+    // Denormalized from application.user so per-user calendar queries stay on one index
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
     @Column(nullable = false)
     private LocalDateTime interviewDate;
 
+    // Null means the configured default length
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
     @Column(nullable = false)
     private String interviewType;
 
@@ -33,6 +44,11 @@ public class Interview {
 
     private String notes;
 
+    // Optimistic lock; the default backfills existing rows when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
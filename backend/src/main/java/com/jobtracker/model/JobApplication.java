@@ -38,6 +38,19 @@ public class JobApplication {
     @Column(name = "salary_range")
     private String salaryRange;
 
+    // Annual range parsed from salaryRange by SalaryParser
+    @Column(name = "salary_min")
+    private Long salaryMin;
+
+    @Column(name = "salary_max")
+    private Long salaryMax;
+
+    @Column(name = "salary_currency", length = 3)
+    private String salaryCurrency;
+
+    // Same-job key from DuplicateDetector, unique per user
+    private Long fingerprint;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ApplicationStatus status;
@@ -56,6 +69,11 @@ public class JobApplication {
 
     private Integer priority;
 
+    // Optimistic lock; the default backfills existing rows when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
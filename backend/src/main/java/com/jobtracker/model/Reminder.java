@@ -0,0 +1,59 @@
+package com.jobtracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reminders",
+        indexes = {
+                @Index(name = "idx_reminders_pending", columnList = "sent_at, due_at"),
+                @Index(name = "idx_reminders_user_pending", columnList = "user_id, sent_at, due_at")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_reminders_source", columnNames = {"type", "source_id"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Reminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private ReminderType type;
+
+    // Id of the application or interview this reminder belongs to
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    // When the follow-up or interview itself happens
+    @Column(name = "event_at", nullable = false)
+    private LocalDateTime eventAt;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
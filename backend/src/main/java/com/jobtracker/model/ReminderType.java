@@ -0,0 +1,7 @@
+package com.jobtracker.model;
+
+public enum ReminderType {
+    FOLLOW_UP,              // JobApplication.followUpDate
+    APPLICATION_INTERVIEW,  // JobApplication.interviewDate / interviewTime
+    INTERVIEW               // Interview.interviewDate
+}
@@ -0,0 +1,17 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.model.ApplicationEventOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ApplicationEventOutboxRepository extends JpaRepository<ApplicationEventOutbox, Long> {
+    // Paged by id: rows the writer skips (users moving shards) stay behind and must not be read again
+    List<ApplicationEventOutbox> findTop500ByIdGreaterThanAndOccurredAtBeforeOrderByIdAsc(Long afterId,
+                                                                                         LocalDateTime cutoff);
+
+    List<ApplicationEventOutbox> findByUserIdOrderByIdAsc(Long userId);
+}
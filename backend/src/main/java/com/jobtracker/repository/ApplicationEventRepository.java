@@ -0,0 +1,21 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.model.ApplicationEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ApplicationEventRepository extends JpaRepository<ApplicationEvent, Long> {
+    List<ApplicationEvent> findByApplicationIdAndUserIdOrderByOccurredAtAsc(Long applicationId, Long userId);
+
+    List<ApplicationEvent> findByUserIdOrderByOutboxIdAsc(Long userId);
+
+    // One statement, so a transition the writer moves from the outbox in between is counted once
+    @Query(value = "SELECT count(*) FROM (SELECT outbox_id FROM application_events WHERE user_id = :userId " +
+            "UNION SELECT id FROM application_event_outbox WHERE user_id = :userId) transitions", nativeQuery = true)
+    long countTransitionsByUserId(@Param("userId") Long userId);
+}
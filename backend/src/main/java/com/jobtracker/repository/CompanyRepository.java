@@ -21,7 +21,10 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
     boolean existsByNameIgnoreCase(String name);
 
     List<Company> findByCreatedAtAfter(LocalDateTime date);
+    // Not query-cached: the cache is per node, and a company written on another node
+    // would keep being served (and 304'd under the new ETag) until the result expired
     List<Company> findByUserId(Long userId);
     List<Company> findByUserIdAndNameContainingIgnoreCase(Long userId, String name);
     Optional<Company> findByIdAndUserId(Long id, Long userId);
+    Optional<Company> findByUserIdAndNormalizedName(Long userId, String normalizedName);
 }
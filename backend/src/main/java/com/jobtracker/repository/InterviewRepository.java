@@ -1,14 +1,56 @@
 package com.jobtracker.repository;
 
 import com.jobtracker.model.Interview;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface InterviewRepository extends JpaRepository<Interview, Long> {
     List<Interview> findByApplicationId(Long applicationId);
     List<Interview> findByInterviewDateBetween(LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = {"application", "application.company"})
+    Page<Interview> findByUserId(Long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"application", "application.company"})
+    List<Interview> findByUserIdAndInterviewDateBetweenOrderByInterviewDateAsc(
+            Long userId, LocalDateTime start, LocalDateTime end);
+
+    @EntityGraph(attributePaths = {"application", "application.company"})
+    List<Interview> findByUserIdOrderByInterviewDateAsc(Long userId);
+
+    @EntityGraph(attributePaths = {"application", "application.company"})
+    List<Interview> findByApplicationIdAndUserId(Long applicationId, Long userId);
+
+    Optional<Interview> findByIdAndUserId(Long id, Long userId);
+
+    @EntityGraph(attributePaths = {"application", "application.company"})
+    List<Interview> findByIdInAndUserIdOrderByInterviewDateAsc(Collection<Long> ids, Long userId);
+
+    interface InterviewSlot {
+        Long getId();
+        LocalDateTime getInterviewDate();
+        Integer getDurationMinutes();
+    }
+
+    @Query("SELECT i.id AS id, i.interviewDate AS interviewDate, i.durationMinutes AS durationMinutes " +
+            "FROM Interview i WHERE i.user.id = :userId")
+    List<InterviewSlot> findSlotsByUserId(@Param("userId") Long userId);
+
+    // Rows created before interviews carried user_id directly
+    @Modifying
+    @Query(value = "UPDATE interviews i SET user_id = a.user_id FROM job_applications a " +
+            "WHERE i.application_id = a.id AND i.user_id IS NULL", nativeQuery = true)
+    int backfillUserIds();
+}
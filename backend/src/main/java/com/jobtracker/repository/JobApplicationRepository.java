@@ -2,14 +2,23 @@ package com.jobtracker.repository;
 
 import com.jobtracker.model.ApplicationStatus;
 import com.jobtracker.model.JobApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
+public interface JobApplicationRepository extends JpaRepository<JobApplication, Long>,
+        JobApplicationRepositoryCustom {
 
     List<JobApplication> findByStatus(ApplicationStatus status);
 
@@ -30,4 +39,52 @@ public interface JobApplicationRepository extends JpaRepository<JobApplication,
     List<JobApplication> findByUserIdAndCompanyId(Long userId, Long companyId);
     Optional<JobApplication> findByIdAndUserId(Long id, Long userId);
 
+    Page<JobApplication> findByUserId(Long userId, Pageable pageable);
+
+    interface StatusAndVersion {
+        ApplicationStatus getStatus();
+        Long getVersion();
+    }
+
+    @Query("SELECT a.status AS status, a.version AS version FROM JobApplication a " +
+            "WHERE a.id = :id AND a.user.id = :userId")
+    Optional<StatusAndVersion> findStatusAndVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Targeted UPDATE for Kanban moves; the version check makes it a compare-and-set
+    @Modifying
+    @Query("UPDATE JobApplication a SET a.status = :newStatus, " +
+            "a.priority = COALESCE(:priority, a.priority), " +
+            "a.appliedDate = CASE WHEN :markApplied = true THEN COALESCE(a.appliedDate, :today) ELSE a.appliedDate END, " +
+            "a.updatedAt = :now, a.version = a.version + 1 " +
+            "WHERE a.id = :id AND a.user.id = :userId AND a.version = :expectedVersion")
+    int patchStatusAndPriority(@Param("id") Long id,
+                               @Param("userId") Long userId,
+                               @Param("expectedVersion") Long expectedVersion,
+                               @Param("newStatus") ApplicationStatus newStatus,
+                               @Param("priority") Integer priority,
+                               @Param("markApplied") boolean markApplied,
+                               @Param("today") LocalDate today,
+                               @Param("now") LocalDateTime now);
+
+    interface IdAndFingerprint {
+        Long getId();
+        Long getFingerprint();
+    }
+
+    List<IdAndFingerprint> findByUserIdAndFingerprintIn(Long userId, Collection<Long> fingerprints);
+
+    @Query("SELECT a.fingerprint FROM JobApplication a WHERE a.user.id = :userId AND a.fingerprint IS NOT NULL")
+    List<Long> findFingerprintsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT a.status, COUNT(a) FROM JobApplication a WHERE a.user.id = :userId GROUP BY a.status")
+    List<Object[]> countByStatusForUser(@Param("userId") Long userId);
+
+    // currency, bucket lower bound, count; buckets of the range midpoint, per currency
+    @Query(value = "SELECT COALESCE(salary_currency, 'UNKNOWN') AS currency, " +
+            "CAST(FLOOR((salary_min + salary_max) / 2.0 / :bucketSize) * :bucketSize AS bigint) AS bucket, " +
+            "COUNT(*) AS applications " +
+            "FROM job_applications WHERE user_id = :userId AND salary_min IS NOT NULL " +
+            "GROUP BY 1, 2 ORDER BY 1, 2", nativeQuery = true)
+    List<Object[]> salaryHistogram(@Param("userId") Long userId, @Param("bucketSize") long bucketSize);
+
 }
@@ -0,0 +1,24 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.dto.SalaryFilter;
+import com.jobtracker.model.JobApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Queries built at runtime. Attributes are paths from the application, e.g.
+ * {@code position} or {@code company.name}; each row holds their values in the
+ * order given. A null or empty salary filter matches everything.
+ */
+public interface JobApplicationRepositoryCustom {
+
+    Page<JobApplication> findByUserIdAndSalary(Long userId, SalaryFilter salary, Pageable pageable);
+
+    Page<Object[]> findAttributesByUserId(Long userId, List<String> attributes, SalaryFilter salary,
+                                          Pageable pageable);
+
+    Optional<Object[]> findAttributesByIdAndUserId(Long id, Long userId, List<String> attributes);
+}
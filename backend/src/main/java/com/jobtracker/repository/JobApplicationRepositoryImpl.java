@@ -0,0 +1,118 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.dto.SalaryFilter;
+import com.jobtracker.model.JobApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+class JobApplicationRepositoryImpl implements JobApplicationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<JobApplication> findByUserIdAndSalary(Long userId, SalaryFilter salary, Pageable pageable) {
+        TypedQuery<JobApplication> query = entityManager.createQuery(
+                "SELECT a FROM JobApplication a" + where(salary) + orderBy(pageable.getSort()), JobApplication.class);
+        return page(query, userId, salary, pageable);
+    }
+
+    @Override
+    public Page<Object[]> findAttributesByUserId(Long userId, List<String> attributes, SalaryFilter salary,
+                                                 Pageable pageable) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                select(attributes) + where(salary) + orderBy(pageable.getSort()), Object[].class);
+        return page(query, userId, salary, pageable);
+    }
+
+    @Override
+    public Optional<Object[]> findAttributesByIdAndUserId(Long id, Long userId, List<String> attributes) {
+        return entityManager.createQuery(
+                        select(attributes) + " WHERE a.id = :id AND a.user.id = :userId", Object[].class)
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    private <T> Page<T> page(TypedQuery<T> query, Long userId, SalaryFilter salary, Pageable pageable) {
+        bind(query, userId, salary);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<T> rows = query.getResultList();
+
+        TypedQuery<Long> count = entityManager.createQuery(
+                "SELECT COUNT(a) FROM JobApplication a" + where(salary), Long.class);
+        bind(count, userId, salary);
+        return new PageImpl<>(rows, pageable, count.getSingleResult());
+    }
+
+    // Overlap of the stored annual range with [min, max]; unparsed salaries never match
+    private static String where(SalaryFilter salary) {
+        StringBuilder where = new StringBuilder(" WHERE a.user.id = :userId");
+        if (salary != null && salary.min() != null) {
+            where.append(" AND a.salaryMax >= :salaryMin");
+        }
+        if (salary != null && salary.max() != null) {
+            where.append(" AND a.salaryMin <= :salaryMax");
+        }
+        if (salary != null && salary.currency() != null) {
+            where.append(" AND a.salaryCurrency = :salaryCurrency");
+        }
+        return where.toString();
+    }
+
+    private static void bind(TypedQuery<?> query, Long userId, SalaryFilter salary) {
+        query.setParameter("userId", userId);
+        if (salary != null && salary.min() != null) {
+            query.setParameter("salaryMin", salary.min());
+        }
+        if (salary != null && salary.max() != null) {
+            query.setParameter("salaryMax", salary.max());
+        }
+        if (salary != null && salary.currency() != null) {
+            query.setParameter("salaryCurrency", salary.currency());
+        }
+    }
+
+    private String select(List<String> attributes) {
+        attributes.forEach(this::checkPath);
+        return attributes.stream()
+                .map(attribute -> "a." + attribute)
+                .collect(Collectors.joining(", ", "SELECT ", " FROM JobApplication a"));
+    }
+
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        return sort.stream()
+                .map(order -> {
+                    checkPath(order.getProperty());
+                    return "a." + order.getProperty() + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", ", " ORDER BY ", ""));
+    }
+
+    // Paths end up in the JPQL text, so only real attributes get through
+    private void checkPath(String path) {
+        EntityType<?> type = entityManager.getMetamodel().entity(JobApplication.class);
+        String[] parts = path.split("\\.");
+        for (int i = 0; i < parts.length; i++) {
+            var attribute = type.getAttribute(parts[i]);
+            if (i < parts.length - 1) {
+                type = entityManager.getMetamodel().entity(attribute.getJavaType());
+            }
+        }
+    }
+}
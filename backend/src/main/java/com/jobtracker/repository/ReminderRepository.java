@@ -0,0 +1,40 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.model.Reminder;
+import com.jobtracker.model.ReminderType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReminderRepository extends JpaRepository<Reminder, Long> {
+    Optional<Reminder> findByTypeAndSourceId(ReminderType type, Long sourceId);
+
+    List<Reminder> findBySentAtIsNullAndDueAtBeforeOrderByDueAtAsc(LocalDateTime horizon);
+
+    List<Reminder> findByUserIdAndSentAtIsNullOrderByDueAtAsc(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Reminder r WHERE r.type = :type AND r.sourceId = :sourceId")
+    int deleteBySource(@Param("type") ReminderType type, @Param("sourceId") Long sourceId);
+
+    // Claims a reminder for delivery; only one node/thread can win the update
+    @Modifying
+    @Query("UPDATE Reminder r SET r.sentAt = :sentAt " +
+            "WHERE r.id = :id AND r.dueAt = :dueAt AND r.sentAt IS NULL")
+    int markSent(@Param("id") Long id, @Param("dueAt") LocalDateTime dueAt, @Param("sentAt") LocalDateTime sentAt);
+
+    // Undoes a claim whose delivery failed, unless the reminder was rescheduled in between
+    @Modifying
+    @Query("UPDATE Reminder r SET r.sentAt = NULL, r.dueAt = :retryAt WHERE r.id = :id AND r.sentAt = :sentAt")
+    int releaseClaim(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt, @Param("retryAt") LocalDateTime retryAt);
+
+    @Query("SELECT r FROM Reminder r JOIN FETCH r.user WHERE r.id = :id")
+    Optional<Reminder> findWithUserById(@Param("id") Long id);
+}
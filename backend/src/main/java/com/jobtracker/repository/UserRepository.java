@@ -2,14 +2,22 @@ package com.jobtracker.repository;
 
 import com.jobtracker.model.JobApplication;
 import com.jobtracker.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Runs on every authenticated request; served from the query + User entity caches.
+    // Not read-only on its own, so a login right after registering never hits a lagging replica
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Transactional
     Optional<User> findByEmail(String email);
 
     Boolean existsByEmail(String email);
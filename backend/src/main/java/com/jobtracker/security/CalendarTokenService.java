@@ -0,0 +1,73 @@
+package com.jobtracker.security;
+
+import com.jobtracker.sharding.ShardContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Long-lived tokens for subscribing a calendar client to the interview feed.
+ *
+ * Calendar apps poll a URL for months and can't send an Authorization header,
+ * so the feed URL carries a random token instead of the 24h JWT. A token only
+ * authenticates {@code GET /api/interviews/calendar/{token}.ics} (see
+ * {@link JwtAuthenticationFilter}); issuing a new one revokes the old one.
+ * Tokens are stored hashed on the default shard, next to the shard directory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final String UPSERT_TOKEN =
+            "INSERT INTO calendar_feed_tokens (token_hash, email, created_at) VALUES (?, ?, now()) " +
+            "ON CONFLICT (email) DO UPDATE SET token_hash = EXCLUDED.token_hash, created_at = now()";
+    private static final String DELETE_TOKEN = "DELETE FROM calendar_feed_tokens WHERE email = ?";
+    private static final String SELECT_EMAIL = "SELECT email FROM calendar_feed_tokens WHERE token_hash = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecureRandom random = new SecureRandom();
+
+    /** A new feed token for the user; any previous one stops working. */
+    public String issue(String email) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        ShardContext.runOn(ShardContext.DEFAULT_SHARD, () -> jdbcTemplate.update(UPSERT_TOKEN, hash(token), email));
+        log.info("📅 Issued calendar feed token for {}", email);
+        return token;
+    }
+
+    public void revoke(String email) {
+        ShardContext.runOn(ShardContext.DEFAULT_SHARD, () -> jdbcTemplate.update(DELETE_TOKEN, email));
+        log.info("📅 Revoked calendar feed token for {}", email);
+    }
+
+    /** The email the token was issued to, if it is still the user's current token. */
+    public Optional<String> findEmail(String token) {
+        List<String> emails = ShardContext.callOn(ShardContext.DEFAULT_SHARD,
+                () -> jdbcTemplate.queryForList(SELECT_EMAIL, String.class, hash(token)));
+        return emails.stream().findFirst();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
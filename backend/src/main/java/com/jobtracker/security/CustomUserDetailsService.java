@@ -2,6 +2,8 @@ package com.jobtracker.security;
 
 import com.jobtracker.model.User;
 import com.jobtracker.repository.UserRepository;
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,10 +17,11 @@ import java.util.ArrayList;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final ShardDirectory shardDirectory;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = ShardContext.callOn(shardDirectory.locate(email).shard(), () -> userRepository.findByEmail(email))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
         return new org.springframework.security.core.userdetails.User(
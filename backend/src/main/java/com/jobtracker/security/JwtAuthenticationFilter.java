@@ -1,11 +1,18 @@
 package com.jobtracker.security;
 
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -14,26 +21,60 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String EVENT_STREAM_PATH = "/api/applications/events";
+
+    // Calendar subscriptions authenticate with a feed token in the path (CalendarTokenService)
+    private static final Pattern CALENDAR_FEED_PATH = Pattern.compile("/api/interviews/calendar/([A-Za-z0-9_-]+)\\.ics");
+
+    // How long a client should wait before retrying a write while its data changes shard
+    private static final String MOVE_RETRY_AFTER_SECONDS = "5";
+
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private CalendarTokenService calendarTokenService;
+
+    @Autowired
+    private StreamTicketService streamTicketService;
+
+    // Granted ROLE_OPERATOR, which the shard admin endpoint requires
+    @Value("${app.operators:}")
+    private List<String> operators;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
         try {
-            String jwt = getJwtFromRequest(request);
+            String email = getEmailFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
+            if (email != null) {
+                ShardDirectory.Placement placement = shardDirectory.locate(email);
+                if (placement.moving() && !isRead(request)) {
+                    response.setHeader(HttpHeaders.RETRY_AFTER, MOVE_RETRY_AFTER_SECONDS);
+                    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Account is being migrated");
+                    return;
+                }
+                ShardContext.set(placement.shard());
 
+                List<GrantedAuthority> authorities = new ArrayList<>();
+                if (isOperator(email)) {
+                    authorities.add(new SimpleGrantedAuthority("ROLE_OPERATOR"));
+                }
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(email, null, new ArrayList<>());
+                        new UsernamePasswordAuthenticationToken(email, null, authorities);
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -42,7 +83,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.error("Could not set user authentication in security context", ex);
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    private boolean isOperator(String email) {
+        return operators.stream().anyMatch(operator -> operator.trim().equalsIgnoreCase(email));
+    }
+
+    private boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private String getEmailFromRequest(HttpServletRequest request) {
+        String jwt = getJwtFromRequest(request);
+        if (StringUtils.hasText(jwt)) {
+            return tokenProvider.validateToken(jwt) ? tokenProvider.getEmailFromToken(jwt) : null;
+        }
+        // EventSource can't send headers, so the SSE stream takes a one-off ticket as a query parameter
+        String ticket = request.getParameter("ticket");
+        if (EVENT_STREAM_PATH.equals(request.getRequestURI()) && isRead(request) && StringUtils.hasText(ticket)) {
+            return streamTicketService.redeem(ticket).orElse(null);
+        }
+        Matcher feed = CALENDAR_FEED_PATH.matcher(request.getRequestURI());
+        if (feed.matches() && isRead(request)) {
+            return calendarTokenService.findEmail(feed.group(1)).orElse(null);
+        }
+        return null;
     }
 
     private String getJwtFromRequest(HttpServletRequest request) {
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 import static org.hibernate.sql.ast.SqlTreeCreationLogger.LOGGER;
 
@@ -20,6 +21,9 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    // Set on single-purpose tickets only; session tokens without it are the only ones accepted as Bearer
+    private static final String PURPOSE_CLAIM = "purpose";
+
     private Key getSigningKey() {
         return Keys.hmacShaKeyFor(jwtSecret.getBytes());
     }
@@ -36,6 +40,34 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /** A token only {@link #parseTicket} accepts, for the given purpose, with its own id and lifetime. */
+    public String generateTicket(String email, String purpose, long ttlMs) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(email)
+                .setId(UUID.randomUUID().toString())
+                .claim(PURPOSE_CLAIM, purpose)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + ttlMs))
+                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    /** The claims of a valid, unexpired ticket issued for the purpose, or null. */
+    public Claims parseTicket(String ticket, String purpose) {
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .require(PURPOSE_CLAIM, purpose)
+                    .build()
+                    .parseClaimsJws(ticket)
+                    .getBody();
+            return claims.getId() != null ? claims : null;
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
     public String getEmailFromToken(String token) {
         Claims claims = Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
@@ -48,10 +80,15 @@ public class JwtTokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
+            Claims claims = Jwts.parserBuilder()
                     .setSigningKey(getSigningKey())
                     .build()
-                    .parseClaimsJws(token);
+                    .parseClaimsJws(token)
+                    .getBody();
+            if (claims.get(PURPOSE_CLAIM) != null) {
+                LOGGER.error("Single-purpose ticket used as a JWT");
+                return false;
+            }
             return true;
         } catch (MalformedJwtException ex) {
             LOGGER.error("Invalid JWT token");
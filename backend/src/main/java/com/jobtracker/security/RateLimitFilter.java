@@ -0,0 +1,210 @@
+package com.jobtracker.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user token buckets, one per endpoint class, checked right after the JWT
+ * filter. Unauthenticated requests are limited per client address, which is
+ * the X-Forwarded-For address behind a proxy ({@code server.forward-headers-strategy}).
+ *
+ * Each bucket is a single "theoretical arrival time" (GCRA), so taking a token
+ * is one compare-and-set with no lock and no allocation. A user's buckets share
+ * one entry in one of several map stripes; the sweeper walks the stripes and
+ * drops entries idle for longer than {@link #IDLE_TTL}, which loses nothing a
+ * full bucket wouldn't give back anyway.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Duration IDLE_TTL = Duration.ofMinutes(10);
+    private static final int STRIPES = 16;
+
+    enum EndpointClass {
+        READ, WRITE, UPLOAD, AUTH
+    }
+
+    private static final EndpointClass[] CLASSES = EndpointClass.values();
+
+    private final boolean enabled;
+    private final LongSupplier nanoClock;
+    private final long[] intervalNanos = new long[CLASSES.length];
+    private final long[] burstNanos = new long[CLASSES.length];
+    private final Counter[] rejected = new Counter[CLASSES.length];
+
+    @SuppressWarnings("unchecked")
+    private final Map<String, UserBuckets>[] stripes = new Map[STRIPES];
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public RateLimitFilter(Environment environment, MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled) {
+        this(environment, meterRegistry, enabled, System::nanoTime);
+    }
+
+    RateLimitFilter(Environment environment, MeterRegistry meterRegistry, boolean enabled, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.nanoClock = nanoClock;
+        for (EndpointClass endpointClass : CLASSES) {
+            String prefix = "rate-limit." + endpointClass.name().toLowerCase(Locale.ROOT) + ".";
+            double perSecond = environment.getRequiredProperty(prefix + "per-second", Double.class);
+            int burst = environment.getRequiredProperty(prefix + "burst", Integer.class);
+            int i = endpointClass.ordinal();
+            intervalNanos[i] = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            burstNanos[i] = intervalNanos[i] * burst;
+            rejected[i] = Counter.builder("http.rate.limit.rejected")
+                    .description("Requests rejected with 429")
+                    .tag("class", endpointClass.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        Gauge.builder("http.rate.limit.tracked", this, RateLimitFilter::trackedClients)
+                .description("Clients with live rate-limit buckets")
+                .register(meterRegistry);
+
+        long sweepSeconds = IDLE_TTL.toSeconds() / 2;
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepSeconds, sweepSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        long waitNanos = tryAcquire(clientKey(request), endpointClass.ordinal());
+        if (waitNanos > 0) {
+            rejected[endpointClass.ordinal()].increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many requests, retry in " + retryAfterSeconds + "s");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private EndpointClass classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/auth/")) {
+            return EndpointClass.AUTH;
+        }
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            return EndpointClass.READ;
+        }
+        return uri.startsWith("/api/documents/upload") ? EndpointClass.UPLOAD : EndpointClass.WRITE;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                ? authentication.getName()
+                : request.getRemoteAddr();
+    }
+
+    /**
+     * Takes a token, or returns how long until one is available.
+     */
+    long tryAcquire(String key, int bucket) {
+        long now = nanoClock.getAsLong();
+        Map<String, UserBuckets> stripe = stripes[key.hashCode() & (STRIPES - 1)];
+        UserBuckets buckets = stripe.get(key);
+        if (buckets == null) {
+            buckets = stripe.computeIfAbsent(key, k -> new UserBuckets(now));
+        }
+        buckets.lastSeen = now;
+
+        AtomicLongArray arrivals = buckets.arrivals;
+        while (true) {
+            long arrival = arrivals.get(bucket);
+            long next = (arrival - now > 0 ? arrival : now) + intervalNanos[bucket];
+            long ahead = next - now;
+            if (ahead > burstNanos[bucket]) {
+                return ahead - burstNanos[bucket];
+            }
+            if (arrivals.compareAndSet(bucket, arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = nanoClock.getAsLong() - IDLE_TTL.toNanos();
+        int evicted = 0;
+        for (Map<String, UserBuckets> stripe : stripes) {
+            int before = stripe.size();
+            stripe.values().removeIf(buckets -> buckets.lastSeen - cutoff < 0);
+            evicted += before - stripe.size();
+        }
+        if (evicted > 0) {
+            log.debug("🚦 Evicted {} idle rate-limit entries", evicted);
+        }
+    }
+
+    private double trackedClients() {
+        long total = 0;
+        for (Map<String, UserBuckets> stripe : stripes) {
+            total += stripe.size();
+        }
+        return total;
+    }
+
+    private static final class UserBuckets {
+        // Per endpoint class: when the bucket would next be empty, in nanoClock terms
+        private final AtomicLongArray arrivals = new AtomicLongArray(CLASSES.length);
+        private volatile long lastSeen;
+
+        private UserBuckets(long now) {
+            for (int i = 0; i < CLASSES.length; i++) {
+                arrivals.set(i, now);
+            }
+            lastSeen = now;
+        }
+    }
+}
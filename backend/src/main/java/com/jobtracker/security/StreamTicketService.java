@@ -0,0 +1,60 @@
+package com.jobtracker.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived tickets for opening the application event stream.
+ *
+ * EventSource can't send an Authorization header, so the stream URL has to carry
+ * the credential, where it ends up in proxy and access logs. Instead of the 24h
+ * JWT it carries a signed ticket that lasts {@code events.ticket-ttl-seconds},
+ * only opens {@code GET /api/applications/events} (see
+ * {@link JwtAuthenticationFilter}) and is accepted once per node. Reconnecting
+ * takes a new ticket.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StreamTicketService {
+
+    private static final String PURPOSE = "event-stream";
+
+    private final JwtTokenProvider tokenProvider;
+
+    @Value("${events.ticket-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    // Ids of redeemed tickets, kept until the ticket would have expired anyway
+    private final Map<String, Long> redeemed = new ConcurrentHashMap<>();
+
+    public String issue(String email) {
+        return tokenProvider.generateTicket(email, PURPOSE, ttlSeconds * 1000);
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /** The email the ticket was issued to, if it is valid and hasn't been used yet. */
+    public Optional<String> redeem(String ticket) {
+        Claims claims = tokenProvider.parseTicket(ticket, PURPOSE);
+        if (claims == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        redeemed.values().removeIf(expiresAt -> expiresAt < now);
+        if (redeemed.putIfAbsent(claims.getId(), claims.getExpiration().getTime()) != null) {
+            log.warn("Event stream ticket for {} used twice", claims.getSubject());
+            return Optional.empty();
+        }
+        return Optional.of(claims.getSubject());
+    }
+}
@@ -0,0 +1,175 @@
+package com.jobtracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobtracker.dto.ApplicationChangeEventDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Registry of per-user Server-Sent Event streams for application changes.
+ *
+ * Open streams are servlet async requests, so an idle connection holds no thread.
+ * Event payloads are serialized once per publish, not once per connection.
+ * Each connection has its own outbound queue drained by a single virtual thread
+ * at a time, which keeps events in order per connection and stops one slow client
+ * from delaying anyone else. A heartbeat comment keeps proxies from closing idle
+ * streams and surfaces dead ones, which are evicted on the first failed write.
+ */
+@Service
+@Slf4j
+public class ApplicationEventBroadcaster {
+
+    private static final long EMITTER_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final long HEARTBEAT_SECONDS = 20;
+    private static final int MAX_CONNECTIONS_PER_USER = 10;
+    private static final long RECONNECT_DELAY_MS = 3000;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicLong eventIds = new AtomicLong();
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ApplicationEventBroadcaster(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        connections.values().forEach(userConnections -> userConnections.forEach(c -> c.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Connection connection = new Connection(userId, emitter);
+
+        // Register atomically with eviction so a concurrent remove() can't orphan the set
+        Connection[] evicted = new Connection[1];
+        connections.compute(userId, (id, userConnections) -> {
+            Set<Connection> registered = userConnections != null ? userConnections : ConcurrentHashMap.newKeySet();
+            if (registered.size() >= MAX_CONNECTIONS_PER_USER) {
+                // Drop an arbitrary existing stream; its client will reconnect if still alive
+                Iterator<Connection> iterator = registered.iterator();
+                evicted[0] = iterator.next();
+                iterator.remove();
+            }
+            registered.add(connection);
+            return registered;
+        });
+        if (evicted[0] != null) {
+            evicted[0].emitter.complete();
+        }
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+
+        connection.enqueue(() -> SseEmitter.event().reconnectTime(RECONNECT_DELAY_MS).comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Publishes a change to every open stream of the user once the current
+     * transaction commits.
+     */
+    public void publish(Long userId, ApplicationChangeEventDTO event) {
+        TransactionCallbacks.afterCommit(() -> {
+            Set<Connection> userConnections = connections.get(userId);
+            if (userConnections == null || userConnections.isEmpty()) {
+                return;
+            }
+            String id = Long.toString(eventIds.incrementAndGet());
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(event);
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize {} event for application #{}", event.getType(), event.getApplicationId());
+                return;
+            }
+            // Event builders are single-use, so each connection gets its own
+            userConnections.forEach(connection -> connection.enqueue(() ->
+                    SseEmitter.event().id(id).name(event.getType()).data(json)));
+        });
+    }
+
+    private void sendHeartbeats() {
+        try {
+            connections.values().forEach(userConnections ->
+                    userConnections.forEach(connection -> connection.enqueue(() -> SseEmitter.event().comment("heartbeat"))));
+        } catch (Exception e) {
+            log.warn("SSE heartbeat sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private void remove(Connection connection) {
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Supplier<SseEmitter.SseEventBuilder> event) {
+            outbox.add(event);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while ((event = outbox.poll()) != null) {
+                    try {
+                        emitter.send(event.get());
+                    } catch (IOException | IllegalStateException e) {
+                        outbox.clear();
+                        remove(this);
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // Re-check in case an event was queued between the last poll and the reset
+            } while (!outbox.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.jobtracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobtracker.model.Interview;
+import com.jobtracker.repository.InterviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Renders a user's interviews as an iCalendar (RFC 5545) feed.
+ * Rendered feeds are cached per user until an interview write evicts them,
+ * so calendar clients polling every few minutes are served from memory.
+ * The cache keeps the most recently used feeds up to {@link #MAX_CACHED_FEEDS}.
+ *
+ * A render that started before a write committed must not be cached after the
+ * write's eviction ran. Each eviction bumps a generation (striped by user), and
+ * a render is only cached if its user's generation is the one it started with.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarFeedService {
+
+    private static final Duration CACHE_TTL = Duration.ofHours(1);
+    private static final int MAX_CACHED_FEEDS = 10_000;
+    private static final int GENERATION_STRIPES = 1024;
+    private static final Duration DEFAULT_INTERVIEW_LENGTH = Duration.ofHours(1);
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final InterviewRepository interviewRepository;
+
+    private final Cache<Long, String> feeds = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_FEEDS)
+            .expireAfterWrite(CACHE_TTL)
+            .build();
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public String getFeed(Long userId) {
+        String cached = feeds.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        String body = render(interviewRepository.findByUserIdOrderByInterviewDateAsc(userId));
+
+        // Atomic with evict for the same user: either the eviction sees this entry, or this sees the new generation
+        feeds.asMap().compute(userId, (key, current) -> generations.get(stripe) == generation ? body : current);
+        log.debug("📅 Rendered calendar feed for user #{}", userId);
+        return body;
+    }
+
+    /**
+     * Drops the cached feed for a user, e.g. after an interview or company
+     * change. Inside a transaction the eviction runs after commit, so a
+     * concurrent reader cannot re-cache uncommitted state.
+     */
+    public void evict(Long userId) {
+        TransactionCallbacks.afterCommit(() -> feeds.asMap().compute(userId, (key, current) -> {
+            generations.incrementAndGet(stripe(userId));
+            return null;
+        }));
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(Long.hashCode(userId), GENERATION_STRIPES);
+    }
+
+    private String render(List<Interview> interviews) {
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(UTC_FORMAT);
+
+        StringBuilder ics = new StringBuilder(256 + interviews.size() * 256);
+        appendLine(ics, "BEGIN:VCALENDAR");
+        appendLine(ics, "VERSION:2.0");
+        appendLine(ics, "PRODID:-//JobTracker//Interviews//EN");
+        appendLine(ics, "CALSCALE:GREGORIAN");
+        appendLine(ics, "METHOD:PUBLISH");
+        appendLine(ics, "X-WR-CALNAME:JobTracker Interviews");
+
+        for (Interview interview : interviews) {
+            LocalDateTime start = interview.getInterviewDate();
+            String position = interview.getApplication().getPosition();
+            String companyName = interview.getApplication().getCompany().getName();
+
+            appendLine(ics, "BEGIN:VEVENT");
+            appendLine(ics, "UID:interview-" + interview.getId() + "@jobtracker");
+            appendLine(ics, "DTSTAMP:" + stamp);
+            appendLine(ics, "DTSTART:" + start.format(LOCAL_FORMAT));
+            appendLine(ics, "DTEND:" + start.plus(DEFAULT_INTERVIEW_LENGTH).format(LOCAL_FORMAT));
+            appendLine(ics, "SUMMARY:" + escape(interview.getInterviewType() + " interview: "
+                    + position + " at " + companyName));
+            if (interview.getLocation() != null) {
+                appendLine(ics, "LOCATION:" + escape(interview.getLocation()));
+            }
+
+            StringBuilder description = new StringBuilder();
+            if (interview.getInterviewerName() != null) {
+                description.append("Interviewer: ").append(interview.getInterviewerName());
+            }
+            if (interview.getNotes() != null) {
+                if (!description.isEmpty()) {
+                    description.append('\n');
+                }
+                description.append(interview.getNotes());
+            }
+            if (!description.isEmpty()) {
+                appendLine(ics, "DESCRIPTION:" + escape(description.toString()));
+            }
+            appendLine(ics, "END:VEVENT");
+        }
+
+        appendLine(ics, "END:VCALENDAR");
+        return ics.toString();
+    }
+
+    private String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    // Content lines longer than 75 octets are folded with CRLF + space (RFC 5545 §3.1)
+    private void appendLine(StringBuilder ics, String line) {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int width = utf8Width(codePoint);
+            if (octets + width > MAX_LINE_OCTETS) {
+                ics.append("\r\n ");
+                octets = 1;
+            }
+            ics.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        ics.append("\r\n");
+    }
+
+    private int utf8Width(int codePoint) {
+        if (codePoint < 0x80) return 1;
+        if (codePoint < 0x800) return 2;
+        if (codePoint < 0x10000) return 3;
+        return 4;
+    }
+}
@@ -0,0 +1,121 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.ApplicationChangeEventDTO;
+import com.jobtracker.model.Company;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Deletes applications, or a company with all of its applications, together
+ * with everything that hangs off them, as a fixed handful of set-based
+ * statements in dependency order:
+ *
+ * 1. documents (their files go to {@link DocumentFileCleaner} after commit)
+ * 2. interview reminders, then interviews
+ * 3. application reminders
+ * 4. applications (similarity buckets follow through ON DELETE CASCADE)
+ * 5. the company
+ *
+ * Nothing is loaded into the persistence context, so a company with hundreds
+ * of applications costs the same number of round trips as one without.
+ * Status history in application_events is kept.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CascadingDeleter {
+
+    // %s is a condition on job_applications selecting the applications to delete
+    private static final String DELETE_DOCUMENTS =
+            "DELETE FROM documents WHERE application_id IN (SELECT id FROM job_applications WHERE %s) " +
+            "RETURNING file_path";
+    private static final String DELETE_INTERVIEW_REMINDERS =
+            "DELETE FROM reminders WHERE type = 'INTERVIEW' AND source_id IN (" +
+            "SELECT id FROM interviews WHERE application_id IN (SELECT id FROM job_applications WHERE %s))";
+    private static final String DELETE_INTERVIEWS =
+            "DELETE FROM interviews WHERE application_id IN (SELECT id FROM job_applications WHERE %s) RETURNING id";
+    private static final String DELETE_APPLICATION_REMINDERS =
+            "DELETE FROM reminders WHERE type IN ('FOLLOW_UP', 'APPLICATION_INTERVIEW') " +
+            "AND source_id IN (SELECT id FROM job_applications WHERE %s)";
+    private static final String DELETE_APPLICATIONS = "DELETE FROM job_applications WHERE %s RETURNING id";
+    private static final String DELETE_COMPANY = "DELETE FROM companies WHERE id = ? AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DocumentFileCleaner documentFileCleaner;
+    private final FunnelAnalyticsService funnelAnalytics;
+    private final CalendarFeedService calendarFeedService;
+    private final ApplicationEventBroadcaster eventBroadcaster;
+    private final EntityManagerFactory entityManagerFactory;
+    private final InterviewScheduleIndex interviewScheduleIndex;
+
+    public record Deletion(List<Long> applicationIds, List<Long> interviewIds, int documents) {
+    }
+
+    /** Deletes those of the applications that belong to the user; the ids actually deleted are returned. */
+    @Transactional
+    public Deletion deleteApplications(Long userId, Collection<Long> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return new Deletion(List.of(), List.of(), 0);
+        }
+        String scope = "user_id = ? AND id IN (" + String.join(", ", Collections.nCopies(applicationIds.size(), "?")) + ")";
+        Object[] args = new Object[applicationIds.size() + 1];
+        args[0] = userId;
+        int i = 1;
+        for (Long id : applicationIds) {
+            args[i++] = id;
+        }
+        return delete(userId, scope, args);
+    }
+
+    /**
+     * Deletes the user's company and all of its applications.
+     *
+     * @return null if the user has no such company
+     */
+    @Transactional
+    public Deletion deleteCompany(Long userId, Long companyId) {
+        Deletion deletion = delete(userId, "user_id = ? AND company_id = ?", new Object[]{userId, companyId});
+        if (jdbcTemplate.update(DELETE_COMPANY, companyId, userId) == 0) {
+            return null;
+        }
+        // Deleted behind Hibernate's back
+        TransactionCallbacks.afterCommit(() -> {
+            entityManagerFactory.getCache().evict(Company.class, companyId);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        });
+        return deletion;
+    }
+
+    private Deletion delete(Long userId, String scope, Object[] args) {
+        List<String> files = jdbcTemplate.queryForList(String.format(DELETE_DOCUMENTS, scope), String.class, args);
+        jdbcTemplate.update(String.format(DELETE_INTERVIEW_REMINDERS, scope), args);
+        List<Long> interviewIds = jdbcTemplate.queryForList(String.format(DELETE_INTERVIEWS, scope), Long.class, args);
+        jdbcTemplate.update(String.format(DELETE_APPLICATION_REMINDERS, scope), args);
+        List<Long> applicationIds = jdbcTemplate.queryForList(String.format(DELETE_APPLICATIONS, scope), Long.class, args);
+
+        documentFileCleaner.deleteAfterCommit(files);
+        interviewScheduleIndex.onInterviewsDeleted(userId, interviewIds);
+        if (!interviewIds.isEmpty() || !applicationIds.isEmpty()) {
+            calendarFeedService.evict(userId);
+        }
+        for (Long applicationId : applicationIds) {
+            funnelAnalytics.onApplicationDeleted(userId, applicationId);
+            eventBroadcaster.publish(userId,
+                    new ApplicationChangeEventDTO(ApplicationChangeEventDTO.DELETED, applicationId, null, null));
+        }
+        if (!applicationIds.isEmpty()) {
+            log.debug("🗑️ Deleted {} applications, {} interviews and {} documents of user #{}",
+                    applicationIds.size(), interviewIds.size(), files.size(), userId);
+        }
+        return new Deletion(applicationIds, interviewIds, files.size());
+    }
+}
@@ -0,0 +1,221 @@
+package com.jobtracker.service;
+
+import com.jobtracker.model.Company;
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Folds each user's companies with the same canonical name
+ * ({@link CompanyNames#canonical}) into one, for rows saved before names were
+ * resolved on create.
+ *
+ * Runs once per start on a background thread, per shard, one user per
+ * transaction with the user's companies locked. The company that already has
+ * a canonical name, else the oldest, is kept; it takes over the applications
+ * of the others and any website, industry or location it lacks, and the
+ * others are deleted. Moved applications are fingerprinted again for their
+ * new company. Users whose companies are all canonical are not looked at, and
+ * users being moved to another shard wait for the next start.
+ */
+@Service
+@Slf4j
+public class CompanyMergeJob {
+
+    private static final String SELECT_USERS =
+            "SELECT DISTINCT user_id FROM companies WHERE normalized_name IS NULL AND user_id > ? " +
+            "ORDER BY user_id LIMIT ?";
+    private static final String SELECT_COMPANIES =
+            "SELECT id, name, website, industry, location, normalized_name FROM companies " +
+            "WHERE user_id = ? ORDER BY id FOR UPDATE";
+    private static final String REPOINT_APPLICATIONS =
+            "UPDATE job_applications SET company_id = ?, fingerprint = NULL WHERE company_id IN (%s) RETURNING id";
+    private static final String DELETE_COMPANIES = "DELETE FROM companies WHERE id IN (%s)";
+    private static final String UPDATE_SURVIVOR =
+            "UPDATE companies SET normalized_name = ?, website = COALESCE(website, ?), " +
+            "industry = COALESCE(industry, ?), location = COALESCE(location, ?), version = version + 1 WHERE id = ?";
+
+    private record CompanyRow(long id, String name, String website, String industry, String location,
+                              String normalizedName) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+    private final FingerprintBackfill fingerprintBackfill;
+    private final CompanyResolver companyResolver;
+    private final CompanyPrefixIndex companyPrefixIndex;
+    private final CalendarFeedService calendarFeedService;
+    private final DataVersionService dataVersionService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+    private final long pauseMs;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "company-merge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CompanyMergeJob(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           ShardDirectory shardDirectory,
+                           FingerprintBackfill fingerprintBackfill,
+                           CompanyResolver companyResolver,
+                           CompanyPrefixIndex companyPrefixIndex,
+                           CalendarFeedService calendarFeedService,
+                           DataVersionService dataVersionService,
+                           EntityManagerFactory entityManagerFactory,
+                           @Value("${company.merge.batch-size:100}") int batchSize,
+                           @Value("${company.merge.pause-ms:50}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardDirectory = shardDirectory;
+        this.fingerprintBackfill = fingerprintBackfill;
+        this.companyResolver = companyResolver;
+        this.companyPrefixIndex = companyPrefixIndex;
+        this.calendarFeedService = calendarFeedService;
+        this.dataVersionService = dataVersionService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.submit(() -> {
+            for (int shard : shardDirectory.shardIds()) {
+                try {
+                    ShardContext.runOn(shard, () -> mergeShard(shard));
+                } catch (RuntimeException e) {
+                    log.error("Company merge on shard {} stopped: {}", shard, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    private void mergeShard(int shard) {
+        long afterUserId = 0;
+        int users = 0;
+        int removed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> userIds = jdbcTemplate.queryForList(SELECT_USERS, Long.class, afterUserId, batchSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+            for (Long userId : userIds) {
+                if (shardDirectory.isMoving(userId)) {
+                    continue;
+                }
+                try {
+                    removed += transactionTemplate.execute(status -> mergeUser(userId));
+                    users++;
+                } catch (DataAccessException e) {
+                    // E.g. an application created against a duplicate meanwhile; retried next start
+                    log.warn("Company merge for user #{} skipped: {}", userId, e.getMessage());
+                }
+            }
+
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (users > 0) {
+            log.info("🏢 Company merge on shard {}: {} duplicate companies merged for {} users", shard, removed, users);
+        }
+    }
+
+    private int mergeUser(Long userId) {
+        Map<String, List<CompanyRow>> groups = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_COMPANIES, rs -> {
+            CompanyRow row = new CompanyRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getString(5), rs.getString(6));
+            groups.computeIfAbsent(CompanyNames.canonical(row.name()), name -> new ArrayList<>()).add(row);
+        }, userId);
+
+        int removed = 0;
+        List<Long> changed = new ArrayList<>();
+        List<Long> moved = new ArrayList<>();
+        for (Map.Entry<String, List<CompanyRow>> group : groups.entrySet()) {
+            if (group.getKey().isEmpty()) {
+                continue;
+            }
+            List<CompanyRow> rows = group.getValue();
+            CompanyRow survivor = rows.stream().filter(row -> row.normalizedName() != null).findFirst()
+                    .orElse(rows.get(0));
+            List<CompanyRow> duplicates = rows.stream().filter(row -> row != survivor).toList();
+            if (duplicates.isEmpty() && group.getKey().equals(survivor.normalizedName())) {
+                continue;
+            }
+
+            if (!duplicates.isEmpty()) {
+                Object[] ids = duplicates.stream().map(CompanyRow::id).toArray();
+                String in = String.join(", ", Collections.nCopies(ids.length, "?"));
+                Object[] repointArgs = new Object[ids.length + 1];
+                repointArgs[0] = survivor.id();
+                System.arraycopy(ids, 0, repointArgs, 1, ids.length);
+                moved.addAll(jdbcTemplate.queryForList(String.format(REPOINT_APPLICATIONS, in), Long.class, repointArgs));
+                jdbcTemplate.update(String.format(DELETE_COMPANIES, in), ids);
+                duplicates.forEach(row -> {
+                    companyPrefixIndex.onCompanyDeleted(userId, row.id());
+                    changed.add(row.id());
+                });
+                removed += duplicates.size();
+            }
+            jdbcTemplate.update(UPDATE_SURVIVOR, group.getKey(),
+                    first(duplicates, CompanyRow::website),
+                    first(duplicates, CompanyRow::industry),
+                    first(duplicates, CompanyRow::location),
+                    survivor.id());
+            changed.add(survivor.id());
+        }
+
+        fingerprintBackfill.fingerprint(moved);
+        if (removed > 0) {
+            String email = jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = ?", String.class, userId);
+            dataVersionService.bump(email);
+            TransactionCallbacks.afterCommit(() -> {
+                companyResolver.invalidate(userId);
+                calendarFeedService.evict(userId);
+            });
+        }
+        // Rows changed behind Hibernate's back
+        TransactionCallbacks.afterCommit(() -> {
+            changed.forEach(id -> entityManagerFactory.getCache().evict(Company.class, id));
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        });
+        return removed;
+    }
+
+    private static String first(List<CompanyRow> rows, Function<CompanyRow, String> field) {
+        return rows.stream().map(field).filter(Objects::nonNull).findFirst().orElse(null);
+    }
+}
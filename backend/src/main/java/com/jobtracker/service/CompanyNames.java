@@ -0,0 +1,63 @@
+package com.jobtracker.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Company name normalization shared by lookups that must treat
+ * "Café Ltd." and "cafe ltd" as the same text, and the canonical form that
+ * also treats "Acme, Inc." and "ACME" as the same company.
+ *
+ * Letters and digits of any script count as words ("Яндекс", "株式会社",
+ * "Ørsted"); only the accents of the combining diacritics block are removed,
+ * so vowel signs in scripts like Devanagari are kept.
+ */
+public final class CompanyNames {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+
+    // Trailing words that name the legal form rather than the company
+    private static final Set<String> LEGAL_SUFFIXES = Set.of(
+            "inc", "incorporated", "corp", "corporation", "co", "company", "llc", "llp", "lp",
+            "ltd", "limited", "plc", "gmbh", "ag", "kg", "sa", "sas", "sarl", "srl", "spa",
+            "bv", "nv", "ab", "as", "oy", "pty", "pte", "kk");
+
+    private CompanyNames() {
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses every run of punctuation or
+     * whitespace into a single space.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        // Recomposed so e.g. Hangul syllables are compared (and stored) whole
+        String stripped = Normalizer.normalize(DIACRITICS.matcher(decomposed).replaceAll(""), Normalizer.Form.NFC);
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * {@link #normalize} without a leading "the" and trailing legal forms, so
+     * "The Acme Company, Inc." becomes "acme". A name that is nothing but legal
+     * words keeps them.
+     */
+    public static String canonical(String name) {
+        String[] words = normalize(name).split(" ");
+        int start = 0;
+        int end = words.length;
+        while (end > start + 1 && LEGAL_SUFFIXES.contains(words[end - 1])) {
+            end--;
+        }
+        if (end > start + 1 && words[start].equals("the")) {
+            start++;
+        }
+        return String.join(" ", Arrays.copyOfRange(words, start, end));
+    }
+}
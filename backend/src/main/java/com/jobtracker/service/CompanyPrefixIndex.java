@@ -0,0 +1,205 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.CompanySuggestionDTO;
+import com.jobtracker.model.Company;
+import com.jobtracker.repository.CompanyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user in-memory prefix index over normalized company names, used for
+ * typeahead instead of a {@code LIKE '%query%'} per keystroke.
+ *
+ * Each user's index is a sorted array of keys: the full normalized name plus
+ * every word in it, so "goo" finds both "Google" and "Alphabet Google".
+ * A lookup is a binary search followed by a short forward scan. The index is
+ * built on first use, patched after each company write commits, and dropped
+ * after {@link #IDLE_TTL} without lookups.
+ */
+@Service
+@Slf4j
+public class CompanyPrefixIndex {
+
+    private static final Duration IDLE_TTL = Duration.ofMinutes(30);
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    // Lower rank sorts first
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_NAME_PREFIX = 1;
+    private static final int RANK_WORD_PREFIX = 2;
+
+    private final CompanyRepository companyRepository;
+
+    private final Map<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "company-index-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CompanyPrefixIndex(CompanyRepository companyRepository) {
+        this.companyRepository = companyRepository;
+        long sweepMinutes = IDLE_TTL.toMinutes() / 2;
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepMinutes, sweepMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    public List<CompanySuggestionDTO> suggest(Long userId, String prefix, Integer limit) {
+        String key = CompanyNames.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        int max = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        UserIndex index = indexes.computeIfAbsent(userId, id -> new UserIndex());
+        index.ensureLoaded(userId);
+        return index.lookup(key, max);
+    }
+
+    /** Adds or renames a company in the owner's index once the write commits. */
+    public void onCompanySaved(Long userId, Long companyId, String name) {
+        TransactionCallbacks.afterCommit(() -> {
+            UserIndex index = indexes.get(userId);
+            if (index != null) {
+                index.put(companyId, name);
+            }
+        });
+    }
+
+    public void onCompanyDeleted(Long userId, Long companyId) {
+        TransactionCallbacks.afterCommit(() -> {
+            UserIndex index = indexes.get(userId);
+            if (index != null) {
+                index.remove(companyId);
+            }
+        });
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_TTL.toMillis();
+        int before = indexes.size();
+        indexes.values().removeIf(index -> index.lastAccess < cutoff);
+        if (indexes.size() < before) {
+            log.debug("🔍 Evicted {} idle company indexes", before - indexes.size());
+        }
+    }
+
+    private record Entry(String key, long companyId, String name, int rank) {
+    }
+
+    private static final Comparator<Entry> BY_KEY = Comparator.comparing(Entry::key);
+
+    /**
+     * One user's index. Lookups read the immutable {@code entries} snapshot
+     * without locking; loading and patching are serialized on the instance.
+     * A write that lands while the index is loading waits for the load and is
+     * then applied on top; put/remove are idempotent, so it doesn't matter
+     * whether the load already saw it.
+     */
+    private final class UserIndex {
+        private final Map<Long, String> names = new HashMap<>();
+        private volatile Entry[] entries;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        void ensureLoaded(Long userId) {
+            lastAccess = System.currentTimeMillis();
+            if (entries != null) {
+                return;
+            }
+            synchronized (this) {
+                if (entries == null) {
+                    for (Company company : companyRepository.findByUserId(userId)) {
+                        names.put(company.getId(), company.getName());
+                    }
+                    rebuild();
+                }
+            }
+        }
+
+        synchronized void put(Long companyId, String name) {
+            if (entries != null) {
+                names.put(companyId, name);
+                rebuild();
+            }
+        }
+
+        synchronized void remove(Long companyId) {
+            if (entries != null && names.remove(companyId) != null) {
+                rebuild();
+            }
+        }
+
+        private void rebuild() {
+            List<Entry> built = new ArrayList<>(names.size() * 2);
+            names.forEach((id, name) -> {
+                String normalized = CompanyNames.normalize(name);
+                if (normalized.isEmpty()) {
+                    return;
+                }
+                built.add(new Entry(normalized, id, name, RANK_NAME_PREFIX));
+                String[] words = normalized.split(" ");
+                // The first word is already covered by the full-name key
+                for (int i = 1; i < words.length; i++) {
+                    built.add(new Entry(words[i], id, name, RANK_WORD_PREFIX));
+                }
+            });
+            Entry[] sorted = built.toArray(new Entry[0]);
+            Arrays.sort(sorted, BY_KEY);
+            entries = sorted;
+        }
+
+        List<CompanySuggestionDTO> lookup(String prefix, int limit) {
+            Entry[] snapshot = entries;
+
+            int low = 0;
+            int high = snapshot.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (snapshot[mid].key().compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            // Best rank per company among all matching keys
+            Map<Long, Entry> best = new HashMap<>();
+            for (int i = low; i < snapshot.length && snapshot[i].key().startsWith(prefix); i++) {
+                Entry entry = snapshot[i];
+                int rank = entry.rank() == RANK_NAME_PREFIX && entry.key().equals(prefix)
+                        ? RANK_EXACT : entry.rank();
+                Entry current = best.get(entry.companyId());
+                if (current == null || rank < current.rank()) {
+                    best.put(entry.companyId(), new Entry(entry.key(), entry.companyId(), entry.name(), rank));
+                }
+            }
+
+            return best.values().stream()
+                    .sorted(Comparator.comparingInt(Entry::rank)
+                            .thenComparingInt(entry -> entry.name().length())
+                            .thenComparing(Entry::name, String.CASE_INSENSITIVE_ORDER))
+                    .limit(limit)
+                    .map(entry -> new CompanySuggestionDTO(entry.companyId(), entry.name()))
+                    .toList();
+        }
+    }
+}
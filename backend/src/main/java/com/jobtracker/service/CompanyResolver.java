@@ -0,0 +1,203 @@
+package com.jobtracker.service;
+
+import com.jobtracker.model.Company;
+import com.jobtracker.model.User;
+import com.jobtracker.repository.CompanyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a typed company name to the user's existing company for it, so "Acme",
+ * "ACME Inc." and "acme, inc" all end up on one row (see
+ * {@link CompanyNames#canonical}).
+ *
+ * Each user's canonical names are held in memory, built on first use from the
+ * user's company list, patched after each company write commits
+ * and dropped after {@link #IDLE_TTL} without use. The unique
+ * (user_id, normalized_name) index is the final guard; a create that loses to
+ * it clears the user's names and returns the winning row instead. Companies saved
+ * before canonical names existed are matched too, by the oldest of them, which
+ * is the one {@link CompanyMergeJob} keeps.
+ */
+@Service
+@Slf4j
+public class CompanyResolver {
+
+    private static final Duration IDLE_TTL = Duration.ofMinutes(30);
+
+    private final CompanyRepository companyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, UserNames> names = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "company-names-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CompanyResolver(CompanyRepository companyRepository, TransactionTemplate transactionTemplate) {
+        this.companyRepository = companyRepository;
+        this.transactionTemplate = transactionTemplate;
+        long sweepMinutes = IDLE_TTL.toMinutes() / 2;
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepMinutes, sweepMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    public record Resolution(Company company, boolean created) {
+    }
+
+    /**
+     * The user's company with the same canonical name as {@code details}, or
+     * {@code details} saved as a new company if there is none. A create that
+     * loses a race with an identical one (maybe on another node) resolves to
+     * the company that won it.
+     */
+    public Resolution resolveOrCreate(User user, Company details) {
+        String canonical = CompanyNames.canonical(details.getName());
+        if (canonical.isEmpty()) {
+            throw new RuntimeException("Company name is required");
+        }
+
+        try {
+            return transactionTemplate.execute(status -> findOrSave(user, details));
+        } catch (DataIntegrityViolationException e) {
+            // The failed insert rolled its transaction back, so look the winner up in a fresh one
+            invalidate(user.getId());
+            Company winner = transactionTemplate.execute(status ->
+                    companyRepository.findByUserIdAndNormalizedName(user.getId(), canonical).orElse(null));
+            if (winner == null) {
+                throw e;
+            }
+            log.info("🏢 Lost a create race for '{}' to company #{} of user {}",
+                    details.getName(), winner.getId(), user.getId());
+            return new Resolution(winner, false);
+        }
+    }
+
+    private Resolution findOrSave(User user, Company details) {
+        Long existingId = find(user.getId(), details.getName());
+        if (existingId != null) {
+            Company existing = companyRepository.findByIdAndUserId(existingId, user.getId()).orElse(null);
+            if (existing != null) {
+                return new Resolution(existing, false);
+            }
+            // Deleted on another node
+            invalidate(user.getId());
+        }
+
+        details.setUser(user);
+        details.setVersion(null);
+        Company saved = companyRepository.saveAndFlush(details);
+        onCompanySaved(user.getId(), saved.getId(), saved.getName());
+        return new Resolution(saved, true);
+    }
+
+    /** Id of the user's company with this canonical name, if any. */
+    public Long find(Long userId, String name) {
+        UserNames userNames = names.computeIfAbsent(userId, id -> new UserNames());
+        userNames.ensureLoaded(userId);
+        return userNames.get(CompanyNames.canonical(name));
+    }
+
+    /** Adds or renames a company in the owner's names once the write commits. */
+    public void onCompanySaved(Long userId, Long companyId, String name) {
+        TransactionCallbacks.afterCommit(() -> {
+            UserNames userNames = names.get(userId);
+            if (userNames != null) {
+                userNames.put(companyId, CompanyNames.canonical(name));
+            }
+        });
+    }
+
+    public void onCompanyDeleted(Long userId, Long companyId) {
+        TransactionCallbacks.afterCommit(() -> {
+            UserNames userNames = names.get(userId);
+            if (userNames != null) {
+                userNames.remove(companyId);
+            }
+        });
+    }
+
+    public void invalidate(Long userId) {
+        names.remove(userId);
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_TTL.toMillis();
+        int before = names.size();
+        names.values().removeIf(userNames -> userNames.lastAccess < cutoff);
+        if (names.size() < before) {
+            log.debug("🏢 Evicted {} idle company name maps", before - names.size());
+        }
+    }
+
+    /**
+     * One user's canonical names. Loading and patching are serialized on the
+     * instance, as in {@link CompanyPrefixIndex}.
+     */
+    private final class UserNames {
+        private final Map<String, Long> idsByName = new HashMap<>();
+        private final Map<Long, String> namesById = new HashMap<>();
+        private volatile boolean loaded;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        void ensureLoaded(Long userId) {
+            lastAccess = System.currentTimeMillis();
+            if (loaded) {
+                return;
+            }
+            synchronized (this) {
+                if (!loaded) {
+                    for (Company company : companyRepository.findByUserId(userId)) {
+                        namesById.put(company.getId(), CompanyNames.canonical(company.getName()));
+                    }
+                    rebuild();
+                    loaded = true;
+                }
+            }
+        }
+
+        synchronized Long get(String canonical) {
+            return idsByName.get(canonical);
+        }
+
+        synchronized void put(Long companyId, String canonical) {
+            if (loaded) {
+                namesById.put(companyId, canonical);
+                rebuild();
+            }
+        }
+
+        synchronized void remove(Long companyId) {
+            if (loaded && namesById.remove(companyId) != null) {
+                rebuild();
+            }
+        }
+
+        // The oldest company wins a name shared by unmerged duplicates
+        private void rebuild() {
+            idsByName.clear();
+            namesById.forEach((id, canonical) -> {
+                if (!canonical.isEmpty()) {
+                    idsByName.merge(canonical, id, Math::min);
+                }
+            });
+        }
+    }
+}
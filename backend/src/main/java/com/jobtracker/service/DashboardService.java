@@ -0,0 +1,180 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.ApplicationStatsDTO;
+import com.jobtracker.dto.CompanyDTO;
+import com.jobtracker.dto.DashboardDTO;
+import com.jobtracker.dto.InterviewDTO;
+import com.jobtracker.dto.JobApplicationDTO;
+import com.jobtracker.inspection.RequestQueries;
+import com.jobtracker.repository.CompanyRepository;
+import com.jobtracker.sharding.ShardContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard in one request. The sections run in parallel on virtual
+ * threads, each in its own read-only transaction (so its own connection, and
+ * the replica when one is configured), with the caller's security and shard
+ * context carried over.
+ *
+ * Each section has its own deadline, {@code dashboard.timeout-ms.<section>},
+ * counted from the start of the request. A section that fails or misses it is
+ * left out and reported in {@code errors}; the rest is still returned.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+
+    private final JobApplicationService applicationService;
+    private final InterviewService interviewService;
+    private final CompanyRepository companyRepository;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long defaultTimeoutMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardService(JobApplicationService applicationService,
+                            InterviewService interviewService,
+                            CompanyRepository companyRepository,
+                            Environment environment,
+                            MeterRegistry meterRegistry,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${dashboard.timeout-ms.default:2000}") long defaultTimeoutMs) {
+        this.applicationService = applicationService;
+        this.interviewService = interviewService;
+        this.companyRepository = companyRepository;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param user the caller, as already looked up for the ETag; the sections
+     *             reuse it instead of each resolving the user again
+     */
+    public DashboardDTO getDashboard(DataVersionService.UserVersion user, int applicationsSize, int interviewsSize) {
+        long started = System.nanoTime();
+        if (user.userId() == 0) {
+            throw new RuntimeException("User not found");
+        }
+        Long userId = user.userId();
+
+        Future<Map<String, Object>> applications = submit("applications", () -> {
+            Page<JobApplicationDTO> page = applicationService.getAllApplicationsPaginated(user,
+                    PageRequest.of(0, applicationsSize, Sort.by(Sort.Direction.DESC, "createdAt")));
+            return pageBody("applications", page);
+        });
+        Future<ApplicationStatsDTO> stats = submit("stats", () -> applicationService.getApplicationStats(user));
+        Future<List<CompanyDTO>> companies = submit("companies", () ->
+                companyRepository.findByUserId(userId).stream()
+                        .map(company -> {
+                            CompanyDTO dto = new CompanyDTO();
+                            BeanUtils.copyProperties(company, dto);
+                            return dto;
+                        })
+                        .toList());
+        Future<Map<String, Object>> interviews = submit("interviews", () -> {
+            Page<InterviewDTO> page = interviewService.getInterviews(userId,
+                    PageRequest.of(0, interviewsSize, Sort.by(Sort.Direction.ASC, "interviewDate")));
+            return pageBody("interviews", page);
+        });
+
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setApplications(await("applications", applications, started, dashboard));
+        dashboard.setStats(await("stats", stats, started, dashboard));
+        dashboard.setCompanies(await("companies", companies, started, dashboard));
+        dashboard.setInterviews(await("interviews", interviews, started, dashboard));
+
+        if (!dashboard.getErrors().isEmpty()) {
+            log.warn("📊 Partial dashboard for {}: {}", user.email(), dashboard.getErrors());
+        }
+        return dashboard;
+    }
+
+    private <T> Future<T> submit(String section, Supplier<T> loader) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        int shard = ShardContext.current();
+        RequestQueries queries = RequestQueries.current();
+        return executor.submit(() -> {
+            SecurityContextHolder.setContext(securityContext);
+            long started = System.nanoTime();
+            String outcome = "error";
+            try {
+                T result = RequestQueries.callWith(queries, () ->
+                        ShardContext.callOn(shard, () -> readOnlyTransaction.execute(status -> loader.get())));
+                outcome = "ok";
+                return result;
+            } finally {
+                SecurityContextHolder.clearContext();
+                Timer.builder("dashboard.section")
+                        .tag("section", section)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private <T> T await(String section, Future<T> future, long started, DashboardDTO dashboard) {
+        long timeoutMs = environment.getProperty("dashboard.timeout-ms." + section, Long.class, defaultTimeoutMs);
+        long remainingNanos = started + TimeUnit.MILLISECONDS.toNanos(timeoutMs) - System.nanoTime();
+        try {
+            return future.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter("dashboard.section.timeouts", "section", section).increment();
+            dashboard.getErrors().put(section, "Timed out after " + timeoutMs + "ms");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Dashboard section {} failed: {}", section, cause.getMessage());
+            dashboard.getErrors().put(section, cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            dashboard.getErrors().put(section, "Interrupted");
+        }
+        return null;
+    }
+
+    private static Map<String, Object> pageBody(String key, Page<?> page) {
+        Map<String, Object> body = new HashMap<>();
+        body.put(key, page.getContent());
+        body.put("currentPage", page.getNumber());
+        body.put("totalItems", page.getTotalElements());
+        body.put("totalPages", page.getTotalPages());
+        return body;
+    }
+}
@@ -0,0 +1,63 @@
+package com.jobtracker.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Per-user data version, bumped by every write that changes what the user sees.
+ * Read endpoints derive a weak ETag from it and answer matching
+ * {@code If-None-Match} requests with 304 before loading anything else.
+ *
+ * The version is the {@code users.data_version} column, incremented in the
+ * writer's transaction, so every node hands out the same ETag for the same data
+ * and a version can never be seen before the write it stands for. The ETag
+ * also carries the user id (a recreated account starts again at 0) and the
+ * resource, since endpoints sharing a version must not share ETags.
+ */
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+
+    private static final String SELECT_VERSION = "SELECT id, data_version FROM users WHERE email = ?";
+    private static final String BUMP_VERSION = "UPDATE users SET data_version = data_version + 1 WHERE email = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadYourWritesTracker readYourWrites;
+
+    /** A user's id and data version, read together; an unknown email has id 0. */
+    public record UserVersion(String email, long userId, long version) {
+
+        /** @param resource what the response represents, e.g. {@code stats-salary-10000} */
+        public String eTag(String resource) {
+            return "W/\"" + resource + "-" + userId + "-" + version + "\"";
+        }
+    }
+
+    public long getVersion(String email) {
+        return lookup(email).version();
+    }
+
+    public String getETag(String email, String resource) {
+        return lookup(email).eTag(resource);
+    }
+
+    /**
+     * Bumps in the caller's transaction, so the new version commits together
+     * with the write (outside a transaction, right after it). The commit also
+     * starts the user's read-your-writes window.
+     */
+    public void bump(String email) {
+        jdbcTemplate.update(BUMP_VERSION, email);
+        TransactionCallbacks.afterCommit(() -> readYourWrites.markWrite(email));
+    }
+
+    /** One query for both, for requests that need the user id as well as the ETag. */
+    public UserVersion lookup(String email) {
+        List<UserVersion> rows = jdbcTemplate.query(SELECT_VERSION,
+                (rs, rowNum) -> new UserVersion(email, rs.getLong(1), rs.getLong(2)), email);
+        return rows.isEmpty() ? new UserVersion(email, 0, 0) : rows.get(0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.jobtracker.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Removes uploaded document files from disk once the rows that pointed at them
+ * are gone for good: the paths are handed over after the deleting transaction
+ * commits and deleted on a background thread, so a rollback never loses a
+ * file and a large delete doesn't wait on the disk. Files of a process that
+ * dies with work still queued are left behind.
+ */
+@Service
+@Slf4j
+public class DocumentFileCleaner {
+
+    public static final String UPLOAD_DIR = System.getProperty("user.home") + "/jobtracker-uploads/";
+
+    private final Path uploadDir = Paths.get(UPLOAD_DIR).toAbsolutePath().normalize();
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "document-file-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdown();
+    }
+
+    /** Deletes these files (paths relative to the upload directory) after the current transaction commits. */
+    public void deleteAfterCommit(Collection<String> filePaths) {
+        if (filePaths.isEmpty()) {
+            return;
+        }
+        List<String> paths = List.copyOf(filePaths);
+        TransactionCallbacks.afterCommit(() -> worker.submit(() -> delete(paths)));
+    }
+
+    private void delete(List<String> filePaths) {
+        int deleted = 0;
+        for (String filePath : filePaths) {
+            Path file = uploadDir.resolve(filePath).normalize();
+            if (!file.startsWith(uploadDir)) {
+                log.warn("Not deleting {}: outside the upload directory", filePath);
+                continue;
+            }
+            try {
+                if (Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to delete document file {}: {}", filePath, e.getMessage());
+            }
+        }
+        log.debug("🧹 Deleted {} of {} document files", deleted, filePaths.size());
+    }
+}
@@ -0,0 +1,261 @@
+package com.jobtracker.service;
+
+import com.jobtracker.repository.JobApplicationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Recognizes an application the user already saved for the same job.
+ *
+ * Applications are keyed by a 64-bit fingerprint of the company, the
+ * normalized position and the normalized job URL, stored in
+ * {@code job_applications.fingerprint} under a unique (user_id, fingerprint)
+ * index, which is the final guard. The company goes in by id, so renaming it
+ * doesn't change its applications' fingerprints.
+ *
+ * In front of the database sits a per-user Bloom filter over the user's
+ * fingerprints, so creates and imports only query the database for the few it
+ * can't rule out. The filter is built on first use, extended after each insert
+ * on this node commits, rebuilt when it fills up and dropped after
+ * {@link #IDLE_TTL} without use. Deletes are not removed from it; they only
+ * cost a lookup that finds nothing.
+ *
+ * A fingerprint the filter rules out is only new as far as this node knows:
+ * inserts committed concurrently or on other nodes are not in it. Those hit the
+ * unique index, and the caller {@link #invalidate}s the filter and retries.
+ */
+@Service
+@Slf4j
+public class DuplicateDetector {
+
+    private static final Duration IDLE_TTL = Duration.ofMinutes(30);
+    private static final int BITS_PER_ENTRY = 10; // ~1% false positives with 7 hashes
+    private static final int HASHES = 7;
+    private static final int MIN_CAPACITY = 256;
+
+    private static final Set<String> TRACKING_PARAMETERS = Set.of(
+            "ref", "refid", "source", "src", "trk", "trackingid", "gh_src", "lever-source", "lever-origin",
+            "fbclid", "gclid", "mc_cid", "mc_eid", "referrer");
+
+    private static final Map<String, String> POSITION_ABBREVIATIONS = Map.of(
+            "sr", "senior",
+            "snr", "senior",
+            "jr", "junior",
+            "eng", "engineer",
+            "engr", "engineer",
+            "dev", "developer",
+            "mgr", "manager");
+
+    private final JobApplicationRepository applicationRepository;
+    private final Counter skipped;
+    private final Counter checked;
+    private final Counter found;
+
+    private final Map<Long, UserFilter> filters = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duplicate-filter-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DuplicateDetector(JobApplicationRepository applicationRepository, MeterRegistry meterRegistry) {
+        this.applicationRepository = applicationRepository;
+        // checked - found = Bloom filter false positives
+        this.skipped = meterRegistry.counter("applications.duplicate.checks", "result", "skipped");
+        this.checked = meterRegistry.counter("applications.duplicate.checks", "result", "checked");
+        this.found = meterRegistry.counter("applications.duplicate.checks", "result", "found");
+        long sweepMinutes = IDLE_TTL.toMinutes() / 2;
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepMinutes, sweepMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    public static long fingerprint(Long companyId, String position, String jobUrl) {
+        String key = companyId + "\n" + normalizePosition(position) + '\n' + normalizeUrl(jobUrl);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Ids of the user's applications that already have one of these
+     * fingerprints, keyed by fingerprint.
+     */
+    public Map<Long, Long> findExisting(Long userId, Collection<Long> fingerprints) {
+        BloomFilter filter = filterFor(userId);
+        List<Long> candidates = fingerprints.stream().distinct().filter(filter::mightContain).toList();
+        skipped.increment(fingerprints.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            return Map.of();
+        }
+
+        checked.increment(candidates.size());
+        Map<Long, Long> existing = new HashMap<>();
+        for (JobApplicationRepository.IdAndFingerprint row :
+                applicationRepository.findByUserIdAndFingerprintIn(userId, candidates)) {
+            existing.put(row.getFingerprint(), row.getId());
+        }
+        found.increment(existing.size());
+        return existing;
+    }
+
+    /** Adds a new application's fingerprint to the user's filter once the insert commits. */
+    public void onSaved(Long userId, long fingerprint) {
+        TransactionCallbacks.afterCommit(() -> {
+            UserFilter holder = filters.get(userId);
+            BloomFilter filter = holder != null ? holder.filter : null;
+            if (filter != null && !filter.add(fingerprint)) {
+                // Full: rebuild at twice the size on next use
+                filters.remove(userId, holder);
+            }
+        });
+    }
+
+    /** Forgets the user's filter, e.g. after fingerprints were written behind its back. */
+    public void invalidate(Long userId) {
+        filters.remove(userId);
+    }
+
+    private BloomFilter filterFor(Long userId) {
+        UserFilter holder = filters.computeIfAbsent(userId, id -> new UserFilter());
+        holder.lastAccess = System.currentTimeMillis();
+        BloomFilter filter = holder.filter;
+        if (filter != null) {
+            return filter;
+        }
+        synchronized (holder) {
+            if (holder.filter == null) {
+                List<Long> fingerprints = applicationRepository.findFingerprintsByUserId(userId);
+                BloomFilter built = new BloomFilter(Math.max(MIN_CAPACITY, fingerprints.size() * 2));
+                fingerprints.forEach(built::add);
+                holder.filter = built;
+            }
+            return holder.filter;
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_TTL.toMillis();
+        int before = filters.size();
+        filters.values().removeIf(holder -> holder.lastAccess < cutoff);
+        if (filters.size() < before) {
+            log.debug("♻️ Evicted {} idle duplicate filters", before - filters.size());
+        }
+    }
+
+    private static String normalizePosition(String position) {
+        return Arrays.stream(CompanyNames.normalize(position).split(" "))
+                .map(word -> POSITION_ABBREVIATIONS.getOrDefault(word, word))
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Host (without www.), path and the meaningful query parameters, so http vs
+     * https, trailing slashes, fragments and tracking parameters don't matter.
+     */
+    private static String normalizeUrl(String jobUrl) {
+        if (jobUrl == null || jobUrl.isBlank()) {
+            return "";
+        }
+        String trimmed = jobUrl.trim();
+        try {
+            URI uri = new URI(trimmed.contains("://") ? trimmed : "https://" + trimmed);
+            String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+            if (host.startsWith("www.")) {
+                host = host.substring(4);
+            }
+            String path = uri.getPath() == null ? "" : uri.getPath().replaceAll("/+$", "");
+            String query = uri.getRawQuery() == null ? "" : Arrays.stream(uri.getRawQuery().split("&"))
+                    .filter(parameter -> {
+                        String name = parameter.split("=", 2)[0].toLowerCase(Locale.ROOT);
+                        return !name.isEmpty() && !name.startsWith("utm_") && !TRACKING_PARAMETERS.contains(name);
+                    })
+                    .sorted()
+                    .collect(Collectors.joining("&"));
+            return host + path + (query.isEmpty() ? "" : "?" + query);
+        } catch (URISyntaxException e) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class UserFilter {
+        private volatile BloomFilter filter;
+        private volatile long lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Fixed-size Bloom filter over 64-bit fingerprints, which are already
+     * uniformly distributed: the two halves drive double hashing. Safe for
+     * concurrent adds and lookups.
+     */
+    private static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int capacity;
+        private int added;
+
+        BloomFilter(int capacity) {
+            this.capacity = capacity;
+            int wordCount = (int) Math.ceil((double) capacity * BITS_PER_ENTRY / Long.SIZE);
+            this.words = new AtomicLongArray(wordCount);
+            this.bits = (long) wordCount * Long.SIZE;
+        }
+
+        /** @return false once more entries were added than the filter was sized for */
+        boolean add(long fingerprint) {
+            int h1 = (int) fingerprint;
+            int h2 = (int) (fingerprint >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                long mask = 1L << bit;
+                words.accumulateAndGet((int) (bit >>> 6), mask, (word, set) -> word | set);
+            }
+            synchronized (this) {
+                return ++added <= capacity;
+            }
+        }
+
+        boolean mightContain(long fingerprint) {
+            int h1 = (int) fingerprint;
+            int h2 = (int) (fingerprint >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
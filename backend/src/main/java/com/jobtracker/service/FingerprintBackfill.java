@@ -0,0 +1,174 @@
+package com.jobtracker.service;
+
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fills job_applications.fingerprint for applications saved before duplicate
+ * detection existed.
+ *
+ * Same shape as {@link SalaryBackfill}: once per start, per shard, in id order
+ * and small batches. The update only applies if company, position and job URL
+ * are still the ones hashed and no other application of the user has the
+ * fingerprint yet, so of a job saved twice only the first copy gets one.
+ * Users being moved to another shard are skipped until the next start.
+ */
+@Service
+@Slf4j
+public class FingerprintBackfill {
+
+    private static final String SELECT_BATCH =
+            "SELECT id, user_id, company_id, position, job_url FROM job_applications " +
+            "WHERE id > ? AND fingerprint IS NULL ORDER BY id LIMIT ?";
+    private static final String SELECT_BY_IDS =
+            "SELECT id, user_id, company_id, position, job_url FROM job_applications " +
+            "WHERE fingerprint IS NULL AND id IN (%s)";
+    private static final String UPDATE_FINGERPRINT =
+            "UPDATE job_applications SET fingerprint = ? " +
+            "WHERE id = ? AND fingerprint IS NULL AND company_id = ? AND position = ? " +
+            "AND job_url IS NOT DISTINCT FROM ? " +
+            "AND NOT EXISTS (SELECT 1 FROM job_applications d WHERE d.user_id = ? AND d.fingerprint = ?)";
+
+    private record Row(long id, long userId, long companyId, String position, String jobUrl) {
+        long fingerprint() {
+            return DuplicateDetector.fingerprint(companyId, position, jobUrl);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+    private final DuplicateDetector duplicateDetector;
+    private final int batchSize;
+    private final long pauseMs;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fingerprint-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FingerprintBackfill(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               ShardDirectory shardDirectory,
+                               DuplicateDetector duplicateDetector,
+                               @Value("${fingerprint.backfill.batch-size:500}") int batchSize,
+                               @Value("${fingerprint.backfill.pause-ms:50}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardDirectory = shardDirectory;
+        this.duplicateDetector = duplicateDetector;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.submit(() -> {
+            for (int shard : shardDirectory.shardIds()) {
+                try {
+                    ShardContext.runOn(shard, () -> backfill(shard));
+                } catch (RuntimeException e) {
+                    log.error("Fingerprint backfill on shard {} stopped: {}", shard, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Fingerprints these applications now, in the caller's transaction if there
+     * is one, e.g. after their company changed under them.
+     */
+    public int fingerprint(List<Long> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return 0;
+        }
+        String sql = String.format(SELECT_BY_IDS, String.join(", ", Collections.nCopies(applicationIds.size(), "?")));
+        List<Row> rows = jdbcTemplate.query(sql,
+                (rs, rowNum) -> new Row(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getString(4), rs.getString(5)),
+                applicationIds.toArray());
+        return rows.isEmpty() ? 0 : update(rows);
+    }
+
+    private void backfill(int shard) {
+        long afterId = 0;
+        int scanned = 0;
+        int filled = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Row> rows = jdbcTemplate.query(SELECT_BATCH,
+                    (rs, rowNum) -> new Row(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                            rs.getString(4), rs.getString(5)),
+                    afterId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).id();
+            scanned += rows.size();
+            List<Row> settled = rows.stream().filter(row -> !shardDirectory.isMoving(row.userId())).toList();
+            try {
+                filled += settled.isEmpty() ? 0 : update(settled);
+            } catch (DataIntegrityViolationException e) {
+                // Raced a create of the same job; the rest of the batch waits for the next start
+                log.warn("Fingerprint backfill batch after #{} skipped: {}", afterId, e.getMessage());
+            }
+
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (scanned > 0) {
+            log.info("🔑 Fingerprint backfill on shard {}: fingerprinted {} of {} applications",
+                    shard, filled, scanned);
+        }
+    }
+
+    private int update(List<Row> rows) {
+        int[][] counts = transactionTemplate.execute(status ->
+                jdbcTemplate.batchUpdate(UPDATE_FINGERPRINT, rows, rows.size(), (ps, row) -> {
+                    long fingerprint = row.fingerprint();
+                    ps.setLong(1, fingerprint);
+                    ps.setLong(2, row.id());
+                    ps.setLong(3, row.companyId());
+                    ps.setString(4, row.position());
+                    ps.setString(5, row.jobUrl());
+                    ps.setLong(6, row.userId());
+                    ps.setLong(7, fingerprint);
+                }));
+
+        // Filters built before this batch don't know its fingerprints
+        Set<Long> users = new HashSet<>();
+        rows.forEach(row -> users.add(row.userId()));
+        users.forEach(duplicateDetector::invalidate);
+
+        int filled = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                filled += Math.max(count, 0);
+            }
+        }
+        return filled;
+    }
+}
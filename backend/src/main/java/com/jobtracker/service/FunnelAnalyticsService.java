@@ -0,0 +1,290 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.FunnelStatsDTO;
+import com.jobtracker.model.ApplicationEvent;
+import com.jobtracker.model.ApplicationEventOutbox;
+import com.jobtracker.model.ApplicationStatus;
+import com.jobtracker.repository.ApplicationEventOutboxRepository;
+import com.jobtracker.repository.ApplicationEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user funnel aggregates kept up to date from status transitions:
+ * a stage-to-stage transition matrix, how many applications ever reached each
+ * stage (and which stages they reached later), and a dwell-time histogram per
+ * stage. Reading them is a walk over fixed-size arrays, independent of how many
+ * applications or events the user has.
+ *
+ * A user's aggregates are built on first request by replaying the status log
+ * (including outbox rows not flushed yet), then fed each transition after its
+ * transaction commits, and dropped after {@link #IDLE_TTL} without reads.
+ * Transitions carry their outbox id, so one seen both in the replay and in the
+ * live feed is only counted once.
+ *
+ * The live feed only sees this node's writes. Each read passes the user's data
+ * version; when it moved since the last read, the transitions in the log are
+ * counted, and the aggregates are rebuilt if they missed any (written on another
+ * node, or applied out of order).
+ */
+@Service
+@Slf4j
+public class FunnelAnalyticsService {
+
+    private static final Duration IDLE_TTL = Duration.ofMinutes(30);
+
+    private static final ApplicationStatus[] STAGES = ApplicationStatus.values();
+
+    // Upper bounds of the dwell histogram buckets, in hours; the last bucket is open-ended
+    private static final long[] BUCKET_BOUNDS_HOURS = {24, 72, 168, 336, 720};
+    private static final String[] BUCKET_LABELS = {"<1d", "1-3d", "3-7d", "7-14d", "14-30d", "30d+"};
+
+    private final ApplicationEventRepository eventRepository;
+    private final ApplicationEventOutboxRepository outboxRepository;
+
+    private final Map<Long, UserFunnel> funnels = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "funnel-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FunnelAnalyticsService(ApplicationEventRepository eventRepository,
+                                  ApplicationEventOutboxRepository outboxRepository) {
+        this.eventRepository = eventRepository;
+        this.outboxRepository = outboxRepository;
+        long sweepMinutes = IDLE_TTL.toMinutes() / 2;
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepMinutes, sweepMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    /** @param dataVersion the user's current {@link DataVersionService} version */
+    public FunnelStatsDTO getFunnel(Long userId, long dataVersion) {
+        UserFunnel funnel = funnels.computeIfAbsent(userId, id -> new UserFunnel());
+        funnel.ensureCurrent(userId, dataVersion);
+        return funnel.snapshot();
+    }
+
+    /**
+     * Feeds a committed transition into the user's aggregates, if they are
+     * loaded; otherwise the next load replays it from the log.
+     */
+    void onTransition(ApplicationEventOutbox event) {
+        UserFunnel funnel = funnels.get(event.getUserId());
+        if (funnel != null) {
+            funnel.apply(new Transition(event.getId(), event.getApplicationId(),
+                    event.getFromStatus(), event.getToStatus(), event.getOccurredAt()));
+        }
+    }
+
+    /** Forgets the per-application state once the delete commits; aggregates keep its history. */
+    public void onApplicationDeleted(Long userId, Long applicationId) {
+        TransactionCallbacks.afterCommit(() -> {
+            UserFunnel funnel = funnels.get(userId);
+            if (funnel != null) {
+                funnel.forget(applicationId);
+            }
+        });
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_TTL.toMillis();
+        int before = funnels.size();
+        funnels.values().removeIf(funnel -> funnel.lastAccess < cutoff);
+        if (funnels.size() < before) {
+            log.debug("📊 Evicted {} idle funnels", before - funnels.size());
+        }
+    }
+
+    private record Transition(long sequence, Long applicationId, ApplicationStatus from,
+                              ApplicationStatus to, LocalDateTime occurredAt) {
+    }
+
+    /** Where one application currently is, and which stages it has been through. */
+    private record Position(ApplicationStatus status, LocalDateTime enteredAt, long sequence, int reachedMask) {
+    }
+
+    private static int bucket(Duration dwell) {
+        long hours = dwell.toHours();
+        for (int i = 0; i < BUCKET_BOUNDS_HOURS.length; i++) {
+            if (hours < BUCKET_BOUNDS_HOURS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_HOURS.length;
+    }
+
+    private final class UserFunnel {
+        private final long[][] transitions = new long[STAGES.length][STAGES.length];
+        private final long[][] reachedLater = new long[STAGES.length][STAGES.length];
+        private final long[] reached = new long[STAGES.length];
+        private final long[][] dwellHistogram = new long[STAGES.length][BUCKET_LABELS.length];
+        private final long[] dwellCount = new long[STAGES.length];
+        private final long[] dwellMinutes = new long[STAGES.length];
+        private final Map<Long, Position> positions = new HashMap<>();
+
+        private boolean loaded;
+        private long builtAtVersion;
+        // Transitions counted into the aggregates, comparable with the log's count
+        private long applied;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        synchronized void ensureCurrent(Long userId, long dataVersion) {
+            lastAccess = System.currentTimeMillis();
+            if (loaded && dataVersion == builtAtVersion) {
+                return;
+            }
+            if (loaded && eventRepository.countTransitionsByUserId(userId) == applied) {
+                builtAtVersion = dataVersion;
+                return;
+            }
+            if (loaded) {
+                log.debug("📊 Funnel for user {} missed transitions, rebuilding", userId);
+                reset();
+            }
+            load(userId);
+            builtAtVersion = dataVersion;
+        }
+
+        private void load(Long userId) {
+            // Outbox first: a row the writer moves in between is then seen twice, never missed
+            List<Transition> history = new ArrayList<>();
+            for (ApplicationEventOutbox event : outboxRepository.findByUserIdOrderByIdAsc(userId)) {
+                history.add(new Transition(event.getId(), event.getApplicationId(),
+                        event.getFromStatus(), event.getToStatus(), event.getOccurredAt()));
+            }
+            for (ApplicationEvent event : eventRepository.findByUserIdOrderByOutboxIdAsc(userId)) {
+                history.add(new Transition(event.getOutboxId(), event.getApplicationId(),
+                        event.getFromStatus(), event.getToStatus(), event.getOccurredAt()));
+            }
+            history.sort(Comparator.comparingLong(Transition::sequence));
+            loaded = true;
+            history.forEach(this::apply);
+            log.debug("📊 Built funnel for user {} from {} transitions", userId, history.size());
+        }
+
+        private void reset() {
+            for (int i = 0; i < STAGES.length; i++) {
+                Arrays.fill(transitions[i], 0);
+                Arrays.fill(reachedLater[i], 0);
+                Arrays.fill(dwellHistogram[i], 0);
+            }
+            Arrays.fill(reached, 0);
+            Arrays.fill(dwellCount, 0);
+            Arrays.fill(dwellMinutes, 0);
+            positions.clear();
+            applied = 0;
+            loaded = false;
+        }
+
+        synchronized void apply(Transition transition) {
+            if (!loaded) {
+                return;
+            }
+            Position position = positions.get(transition.applicationId());
+            if (position != null && transition.sequence() <= position.sequence()) {
+                return;
+            }
+            applied++;
+
+            int to = transition.to().ordinal();
+            if (transition.from() != null) {
+                int from = transition.from().ordinal();
+                transitions[from][to]++;
+                // Dwell is only known when we saw the application enter the stage it is leaving
+                if (position != null && position.status() == transition.from()) {
+                    Duration dwell = Duration.between(position.enteredAt(), transition.occurredAt());
+                    if (!dwell.isNegative()) {
+                        dwellHistogram[from][bucket(dwell)]++;
+                        dwellCount[from]++;
+                        dwellMinutes[from] += dwell.toMinutes();
+                    }
+                }
+            }
+
+            int mask = position != null ? position.reachedMask() : 0;
+            if (position == null && transition.from() != null) {
+                // History starts mid-way for applications created before the log existed
+                mask |= 1 << transition.from().ordinal();
+                reached[transition.from().ordinal()]++;
+            }
+            int bit = 1 << to;
+            if ((mask & bit) == 0) {
+                reached[to]++;
+                for (int stage = 0; stage < STAGES.length; stage++) {
+                    if ((mask & (1 << stage)) != 0) {
+                        reachedLater[stage][to]++;
+                    }
+                }
+                mask |= bit;
+            }
+
+            positions.put(transition.applicationId(),
+                    new Position(transition.to(), transition.occurredAt(), transition.sequence(), mask));
+        }
+
+        synchronized void forget(Long applicationId) {
+            positions.remove(applicationId);
+        }
+
+        synchronized FunnelStatsDTO snapshot() {
+            Map<String, Long> reachedCounts = new LinkedHashMap<>();
+            Map<String, Map<String, Long>> transitionCounts = new LinkedHashMap<>();
+            Map<String, Map<String, Double>> conversionRates = new LinkedHashMap<>();
+            Map<String, FunnelStatsDTO.StageDwell> dwell = new LinkedHashMap<>();
+
+            for (ApplicationStatus from : STAGES) {
+                int i = from.ordinal();
+                reachedCounts.put(from.name(), reached[i]);
+
+                Map<String, Long> row = new LinkedHashMap<>();
+                Map<String, Double> rates = new LinkedHashMap<>();
+                for (ApplicationStatus to : STAGES) {
+                    int j = to.ordinal();
+                    if (transitions[i][j] > 0) {
+                        row.put(to.name(), transitions[i][j]);
+                    }
+                    if (reachedLater[i][j] > 0) {
+                        rates.put(to.name(), Math.round(reachedLater[i][j] * 1000.0 / reached[i]) / 10.0);
+                    }
+                }
+                if (!row.isEmpty()) {
+                    transitionCounts.put(from.name(), row);
+                }
+                if (!rates.isEmpty()) {
+                    conversionRates.put(from.name(), rates);
+                }
+
+                if (dwellCount[i] > 0) {
+                    Map<String, Long> histogram = new LinkedHashMap<>();
+                    for (int b = 0; b < BUCKET_LABELS.length; b++) {
+                        histogram.put(BUCKET_LABELS[b], dwellHistogram[i][b]);
+                    }
+                    double averageHours = Math.round(dwellMinutes[i] * 10.0 / 60 / dwellCount[i]) / 10.0;
+                    dwell.put(from.name(), new FunnelStatsDTO.StageDwell(dwellCount[i], averageHours, histogram));
+                }
+            }
+            return new FunnelStatsDTO(reachedCounts, transitionCounts, conversionRates, dwell);
+        }
+    }
+}
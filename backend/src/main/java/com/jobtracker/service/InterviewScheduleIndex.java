@@ -0,0 +1,280 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.TimeSlotDTO;
+import com.jobtracker.repository.InterviewRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Per-user in-memory interval tree over scheduled interviews, for overlap
+ * checks and free slots without scanning the user's calendar.
+ *
+ * Each user's interviews are held as an array sorted by start; read as a
+ * balanced binary tree (the middle of each range is its root), every node
+ * also records the latest end in its subtree. A query skips subtrees that end
+ * before the window and stops once starts pass it, so overlap and free-slot
+ * lookups cost O(log n + k) for k interviews in the window. The tree is built
+ * on first use, rebuilt after each interview write on this node commits, and
+ * dropped after {@link #IDLE_TTL} without lookups.
+ *
+ * Writes made on other nodes never reach this tree, so it is reloaded once it
+ * is older than {@code interviews.index-max-staleness-seconds}. Loads read the
+ * primary, and writes that commit while a tree is being loaded are applied on
+ * top of it.
+ */
+@Service
+@Slf4j
+public class InterviewScheduleIndex {
+
+    private static final Duration IDLE_TTL = Duration.ofMinutes(30);
+
+    private final InterviewRepository interviewRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final int defaultDurationMinutes;
+    private final long maxStalenessMs;
+
+    private final Map<Long, UserSchedule> schedules = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "interview-index-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InterviewScheduleIndex(InterviewRepository interviewRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${interviews.default-duration-minutes:60}") int defaultDurationMinutes,
+                                  @Value("${interviews.index-max-staleness-seconds:60}") long maxStalenessSeconds) {
+        this.interviewRepository = interviewRepository;
+        // Its own read-write transaction: a lagging replica could miss a write whose update already went by
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.defaultDurationMinutes = defaultDurationMinutes;
+        this.maxStalenessMs = TimeUnit.SECONDS.toMillis(maxStalenessSeconds);
+        long sweepMinutes = IDLE_TTL.toMinutes() / 2;
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepMinutes, sweepMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    public LocalDateTime endOf(LocalDateTime start, Integer durationMinutes) {
+        return start.plusMinutes(durationMinutes != null ? durationMinutes : defaultDurationMinutes);
+    }
+
+    /** Ids of the user's interviews overlapping [start, end), other than {@code exceptId}, by start. */
+    public List<Long> overlapping(Long userId, LocalDateTime start, LocalDateTime end, Long exceptId) {
+        List<Long> ids = new ArrayList<>();
+        for (Interval interval : scheduleOf(userId).overlapping(toMinutes(start), toMinutes(end))) {
+            if (!Long.valueOf(interval.id()).equals(exceptId)) {
+                ids.add(interval.id());
+            }
+        }
+        return ids;
+    }
+
+    /** Gaps of at least {@code minMinutes} between the user's interviews within [from, to). */
+    public List<TimeSlotDTO> freeSlots(Long userId, LocalDateTime from, LocalDateTime to, int minMinutes) {
+        long windowStart = toMinutes(from);
+        long windowEnd = toMinutes(to);
+        List<TimeSlotDTO> free = new ArrayList<>();
+        long cursor = windowStart;
+        // Sorted by start, so one pass merges overlapping interviews
+        for (Interval busy : scheduleOf(userId).overlapping(windowStart, windowEnd)) {
+            if (busy.start() - cursor >= minMinutes) {
+                free.add(slot(cursor, busy.start()));
+            }
+            cursor = Math.max(cursor, busy.end());
+        }
+        if (windowEnd - cursor >= minMinutes) {
+            free.add(slot(cursor, windowEnd));
+        }
+        return free;
+    }
+
+    /** Adds or moves an interview in the owner's tree once the write commits. */
+    public void onInterviewSaved(Long userId, Long interviewId, LocalDateTime start, Integer durationMinutes) {
+        Interval interval = new Interval(interviewId, toMinutes(start), toMinutes(endOf(start, durationMinutes)));
+        TransactionCallbacks.afterCommit(() -> {
+            UserSchedule schedule = schedules.get(userId);
+            if (schedule != null) {
+                schedule.apply(intervals -> intervals.put(interval.id(), interval));
+            }
+        });
+    }
+
+    public void onInterviewsDeleted(Long userId, List<Long> interviewIds) {
+        if (interviewIds.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            UserSchedule schedule = schedules.get(userId);
+            if (schedule != null) {
+                schedule.apply(intervals -> interviewIds.forEach(intervals::remove));
+            }
+        });
+    }
+
+    private UserSchedule scheduleOf(Long userId) {
+        UserSchedule schedule = schedules.computeIfAbsent(userId, id -> new UserSchedule());
+        schedule.ensureLoaded(userId);
+        return schedule;
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_TTL.toMillis();
+        int before = schedules.size();
+        schedules.values().removeIf(schedule -> schedule.lastAccess < cutoff);
+        if (schedules.size() < before) {
+            log.debug("📅 Evicted {} idle interview schedules", before - schedules.size());
+        }
+    }
+
+    // Interview times are local wall-clock times; UTC just gives them a number line
+    private static long toMinutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static TimeSlotDTO slot(long startMinutes, long endMinutes) {
+        return new TimeSlotDTO(LocalDateTime.ofEpochSecond(startMinutes * 60, 0, ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(endMinutes * 60, 0, ZoneOffset.UTC));
+    }
+
+    record Interval(long id, long start, long end) {
+    }
+
+    private static final Comparator<Interval> BY_START =
+            Comparator.comparingLong(Interval::start).thenComparingLong(Interval::id);
+
+    /**
+     * One user's tree. Lookups read the immutable {@code tree} snapshot without
+     * locking; loading and patching are serialized on the instance, as in
+     * {@link CompanyPrefixIndex}. Writes that arrive before the first load has
+     * taken the lock are kept in {@code pending} and replayed onto the loaded
+     * intervals, so none is lost whichever of the two runs first.
+     */
+    private final class UserSchedule {
+        private Map<Long, Interval> intervals = new HashMap<>();
+        private final List<Consumer<Map<Long, Interval>>> pending = new ArrayList<>();
+        private volatile Tree tree;
+        private volatile long loadedAt;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        void ensureLoaded(Long userId) {
+            long now = System.currentTimeMillis();
+            lastAccess = now;
+            if (tree != null && now - loadedAt < maxStalenessMs) {
+                return;
+            }
+            synchronized (this) {
+                if (tree == null || System.currentTimeMillis() - loadedAt >= maxStalenessMs) {
+                    load(userId);
+                }
+            }
+        }
+
+        private void load(Long userId) {
+            long started = System.currentTimeMillis();
+            Map<Long, Interval> loaded = new HashMap<>();
+            List<InterviewRepository.InterviewSlot> slots =
+                    primaryTransaction.execute(status -> interviewRepository.findSlotsByUserId(userId));
+            for (InterviewRepository.InterviewSlot slot : slots) {
+                LocalDateTime start = slot.getInterviewDate();
+                loaded.put(slot.getId(), new Interval(slot.getId(), toMinutes(start),
+                        toMinutes(endOf(start, slot.getDurationMinutes()))));
+            }
+            // Writes that committed before this took the lock; the query most likely saw them, replaying is idempotent
+            pending.forEach(change -> change.accept(loaded));
+            pending.clear();
+            intervals = loaded;
+            tree = new Tree(intervals.values());
+            loadedAt = started;
+        }
+
+        synchronized void apply(Consumer<Map<Long, Interval>> change) {
+            if (tree == null) {
+                pending.add(change);
+                return;
+            }
+            change.accept(intervals);
+            tree = new Tree(intervals.values());
+        }
+
+        List<Interval> overlapping(long start, long end) {
+            return tree.overlapping(start, end);
+        }
+    }
+
+    /** Implicit interval tree over intervals sorted by start. */
+    static final class Tree {
+        private final Interval[] sorted;
+        private final long[] maxEnd; // Latest end in the subtree rooted at each index
+
+        Tree(Collection<Interval> intervals) {
+            sorted = intervals.toArray(new Interval[0]);
+            Arrays.sort(sorted, BY_START);
+            maxEnd = new long[sorted.length];
+            build(0, sorted.length);
+        }
+
+        /** Intervals overlapping [start, end), by start; touching ones don't overlap. */
+        List<Interval> overlapping(long start, long end) {
+            List<Interval> found = new ArrayList<>();
+            collect(0, sorted.length, start, end, found);
+            return found;
+        }
+
+        private long build(int low, int high) {
+            if (low >= high) {
+                return Long.MIN_VALUE;
+            }
+            int mid = (low + high) >>> 1;
+            long max = Math.max(sorted[mid].end(), Math.max(build(low, mid), build(mid + 1, high)));
+            maxEnd[mid] = max;
+            return max;
+        }
+
+        // In-order, so results come out sorted by start
+        private void collect(int low, int high, long start, long end, List<Interval> found) {
+            if (low >= high) {
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            if (maxEnd[mid] <= start) {
+                return; // Everything here ends before the window
+            }
+            collect(low, mid, start, end, found);
+            Interval interval = sorted[mid];
+            if (interval.start() >= end) {
+                return; // This and everything to the right starts after the window
+            }
+            if (interval.end() > start) {
+                found.add(interval);
+            }
+            collect(mid + 1, high, start, end, found);
+        }
+    }
+}
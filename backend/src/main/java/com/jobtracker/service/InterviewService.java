@@ -0,0 +1,256 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.InterviewDTO;
+import com.jobtracker.dto.TimeSlotDTO;
+import com.jobtracker.model.Interview;
+import com.jobtracker.model.JobApplication;
+import com.jobtracker.model.User;
+import com.jobtracker.repository.InterviewRepository;
+import com.jobtracker.repository.JobApplicationRepository;
+import com.jobtracker.repository.UserRepository;
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InterviewService {
+
+    private static final DateTimeFormatter WARNING_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final InterviewRepository interviewRepository;
+    private final JobApplicationRepository applicationRepository;
+    private final UserRepository userRepository;
+    private final CalendarFeedService calendarFeedService;
+    private final ReminderService reminderService;
+    private final DataVersionService dataVersionService;
+    private final ShardDirectory shardDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final InterviewScheduleIndex scheduleIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillInterviewOwners() {
+        for (int shard : shardDirectory.shardIds()) {
+            Integer updated = ShardContext.callOn(shard,
+                    () -> transactionTemplate.execute(status -> interviewRepository.backfillUserIds()));
+            if (updated != null && updated > 0) {
+                log.info("📅 Backfilled user_id on {} interviews (shard {})", updated, shard);
+            }
+        }
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<InterviewDTO> getInterviews(Pageable pageable) {
+        return getInterviews(getCurrentUser().getId(), pageable);
+    }
+
+    /** For callers that already looked the user up, e.g. the dashboard. */
+    @Transactional(readOnly = true)
+    public Page<InterviewDTO> getInterviews(Long userId, Pageable pageable) {
+        return interviewRepository.findByUserId(userId, pageable)
+                .map(this::convertToDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public List<InterviewDTO> getUpcomingInterviews() {
+        User currentUser = getCurrentUser();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextMonth = now.plusMonths(1);
+        return interviewRepository.findByUserIdAndInterviewDateBetweenOrderByInterviewDateAsc(
+                        currentUser.getId(), now, nextMonth).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public InterviewDTO getInterviewById(Long id) {
+        User currentUser = getCurrentUser();
+        Interview interview = interviewRepository.findByIdAndUserId(id, currentUser.getId())
+                .orElseThrow(() -> new RuntimeException("Interview not found"));
+        return convertToDTO(interview);
+    }
+
+    @Transactional(readOnly = true)
+    public List<InterviewDTO> getInterviewsByApplication(Long applicationId) {
+        User currentUser = getCurrentUser();
+        return interviewRepository.findByApplicationIdAndUserId(applicationId, currentUser.getId()).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public String getCalendarFeed() {
+        User currentUser = getCurrentUser();
+        return calendarFeedService.getFeed(currentUser.getId());
+    }
+
+    /** The user's interviews overlapping a slot, earliest first. */
+    @Transactional(readOnly = true)
+    public List<InterviewDTO> getConflicts(LocalDateTime start, Integer durationMinutes, Long exceptId) {
+        User currentUser = getCurrentUser();
+        validateDuration(durationMinutes);
+        return findOverlapping(currentUser.getId(), start, durationMinutes, exceptId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<TimeSlotDTO> getFreeSlots(LocalDateTime from, LocalDateTime to, int minMinutes) {
+        User currentUser = getCurrentUser();
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("'from' must be before 'to'");
+        }
+        if (minMinutes <= 0) {
+            throw new RuntimeException("Slot length must be positive");
+        }
+        return scheduleIndex.freeSlots(currentUser.getId(), from, to, minMinutes);
+    }
+
+    @Transactional
+    public InterviewDTO createInterview(InterviewDTO dto) {
+        User currentUser = getCurrentUser();
+
+        JobApplication application = applicationRepository.findByIdAndUserId(dto.getApplicationId(), currentUser.getId())
+                .orElseThrow(() -> new RuntimeException("Application not found or access denied"));
+
+        Interview interview = new Interview();
+        interview.setApplication(application);
+        interview.setUser(currentUser);
+        validateDuration(dto.getDurationMinutes());
+        interview.setInterviewDate(dto.getInterviewDate());
+        interview.setDurationMinutes(dto.getDurationMinutes());
+        interview.setInterviewType(dto.getInterviewType());
+        interview.setLocation(dto.getLocation());
+        interview.setInterviewerName(dto.getInterviewerName());
+        interview.setNotes(dto.getNotes());
+
+        Interview saved = interviewRepository.save(interview);
+        calendarFeedService.evict(currentUser.getId());
+        reminderService.syncInterview(saved);
+        dataVersionService.bump(currentUser.getEmail());
+        log.info("✅ Created interview #{} for application #{}", saved.getId(), application.getId());
+
+        return withConflictWarnings(saved);
+    }
+
+    @Transactional
+    public InterviewDTO updateInterview(Long id, InterviewDTO dto, Long expectedVersion) {
+        User currentUser = getCurrentUser();
+
+        Interview interview = interviewRepository.findByIdAndUserId(id, currentUser.getId())
+                .orElseThrow(() -> new RuntimeException("Interview not found or access denied"));
+
+        if (expectedVersion != null && !expectedVersion.equals(interview.getVersion())) {
+            throw new VersionConflictException("Interview was modified by someone else",
+                    convertToDTO(interview), interview.getVersion());
+        }
+
+        validateDuration(dto.getDurationMinutes());
+        interview.setInterviewDate(dto.getInterviewDate());
+        interview.setDurationMinutes(dto.getDurationMinutes());
+        interview.setInterviewType(dto.getInterviewType());
+        interview.setLocation(dto.getLocation());
+        interview.setInterviewerName(dto.getInterviewerName());
+        interview.setNotes(dto.getNotes());
+
+        Interview updated = interviewRepository.saveAndFlush(interview);
+        calendarFeedService.evict(currentUser.getId());
+        reminderService.syncInterview(updated);
+        dataVersionService.bump(currentUser.getEmail());
+
+        return withConflictWarnings(updated);
+    }
+
+    @Transactional
+    public void deleteInterview(Long id) {
+        User currentUser = getCurrentUser();
+
+        Interview interview = interviewRepository.findByIdAndUserId(id, currentUser.getId())
+                .orElseThrow(() -> new RuntimeException("Interview not found or access denied"));
+
+        interviewRepository.delete(interview);
+        scheduleIndex.onInterviewsDeleted(currentUser.getId(), List.of(id));
+        calendarFeedService.evict(currentUser.getId());
+        reminderService.cancelInterview(id);
+        dataVersionService.bump(currentUser.getEmail());
+        log.info("🗑️ Deleted interview #{} for user {}", id, currentUser.getEmail());
+    }
+
+    private static void validateDuration(Integer durationMinutes) {
+        if (durationMinutes != null && durationMinutes <= 0) {
+            throw new RuntimeException("Interview duration must be positive");
+        }
+    }
+
+    private List<Interview> findOverlapping(Long userId, LocalDateTime start, Integer durationMinutes, Long exceptId) {
+        List<Long> ids = scheduleIndex.overlapping(userId, start,
+                scheduleIndex.endOf(start, durationMinutes), exceptId);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return interviewRepository.findByIdInAndUserIdOrderByInterviewDateAsc(ids, userId);
+    }
+
+    // Overlaps are allowed (a reschedule may be pending) but reported on the saved interview
+    private InterviewDTO withConflictWarnings(Interview saved) {
+        Long userId = saved.getUser().getId();
+        List<Interview> conflicts = findOverlapping(userId, saved.getInterviewDate(), saved.getDurationMinutes(),
+                saved.getId());
+        scheduleIndex.onInterviewSaved(userId, saved.getId(), saved.getInterviewDate(), saved.getDurationMinutes());
+
+        InterviewDTO dto = convertToDTO(saved);
+        if (!conflicts.isEmpty()) {
+            dto.setWarnings(conflicts.stream()
+                    .map(other -> String.format("Overlaps %s interview for %s at %s (%s – %s)",
+                            other.getInterviewType(),
+                            other.getApplication().getPosition(),
+                            other.getApplication().getCompany().getName(),
+                            WARNING_TIME.format(other.getInterviewDate()),
+                            WARNING_TIME.format(scheduleIndex.endOf(other.getInterviewDate(),
+                                    other.getDurationMinutes()))))
+                    .collect(Collectors.toList()));
+            log.debug("📅 Interview #{} overlaps {} others", saved.getId(), conflicts.size());
+        }
+        return dto;
+    }
+
+    private InterviewDTO convertToDTO(Interview interview) {
+        InterviewDTO dto = new InterviewDTO();
+        dto.setId(interview.getId());
+        dto.setApplicationId(interview.getApplication().getId());
+        dto.setCompanyName(interview.getApplication().getCompany().getName());
+        dto.setPosition(interview.getApplication().getPosition());
+        dto.setInterviewDate(interview.getInterviewDate());
+        dto.setDurationMinutes(interview.getDurationMinutes());
+        dto.setInterviewType(interview.getInterviewType());
+        dto.setLocation(interview.getLocation());
+        dto.setInterviewerName(interview.getInterviewerName());
+        dto.setNotes(interview.getNotes());
+        dto.setCreatedAt(interview.getCreatedAt());
+        dto.setVersion(interview.getVersion());
+        return dto;
+    }
+}
@@ -1,26 +1,44 @@
 package com.jobtracker.service;
 
+import com.jobtracker.dto.ApplicationChangeEventDTO;
+import com.jobtracker.dto.ApplicationEventDTO;
+import com.jobtracker.dto.ApplicationPatchDTO;
 import com.jobtracker.dto.ApplicationStatsDTO;
+import com.jobtracker.dto.FieldSelection;
+import com.jobtracker.dto.FunnelStatsDTO;
+import com.jobtracker.dto.ImportResultDTO;
 import com.jobtracker.dto.JobApplicationDTO;
+import com.jobtracker.dto.SalaryFilter;
+import com.jobtracker.dto.SalaryHistogramDTO;
+import com.jobtracker.dto.SimilarApplicationDTO;
 import com.jobtracker.model.ApplicationStatus;
 import com.jobtracker.model.Company;
 import com.jobtracker.model.JobApplication;
 import com.jobtracker.model.User;
+import com.jobtracker.repository.ApplicationEventRepository;
 import com.jobtracker.repository.CompanyRepository;
 import com.jobtracker.repository.JobApplicationRepository;
 import com.jobtracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,10 +46,27 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JobApplicationService {
 
+    // JobApplicationDTO fields that aren't attributes of the same name on JobApplication
+    private static final Map<String, String> DTO_ATTRIBUTE_PATHS = Map.of(
+            "companyId", "company.id",
+            "companyName", "company.name");
+
     private final JobApplicationRepository applicationRepository;
     private final CompanyRepository companyRepository;
     private final UserRepository userRepository;
-
+    private final CalendarFeedService calendarFeedService;
+    private final ReminderService reminderService;
+    private final ApplicationEventBroadcaster eventBroadcaster;
+    private final DataVersionService dataVersionService;
+    private final StatusTransitionLog statusTransitionLog;
+    private final FunnelAnalyticsService funnelAnalytics;
+    private final ReadCoalescer readCoalescer;
+    private final ApplicationEventRepository applicationEventRepository;
+    private final DuplicateDetector duplicateDetector;
+    private final SimilarityIndex similarityIndex;
+    private final CascadingDeleter cascadingDeleter;
+
+    @Transactional(readOnly = true)
     public List<JobApplicationDTO> getAllApplications() {
         User currentUser = getCurrentUser();
         log.info("📋 Fetching applications for user: {}", currentUser.getEmail());
@@ -41,8 +76,10 @@ public class JobApplicationService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public JobApplicationDTO getApplicationById(Long id) {
-        JobApplication application = applicationRepository.findById(id)
+        User currentUser = getCurrentUser();
+        JobApplication application = applicationRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Application not found"));
         return convertToDTO(application);
     }
@@ -54,8 +91,18 @@ public class JobApplicationService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    public SseEmitter subscribeToEvents() {
+        User currentUser = getCurrentUser();
+        return eventBroadcaster.subscribe(currentUser.getId());
+    }
+
+    /**
+     * Saves a new application, unless the user already saved one for the same
+     * job (same company, position and job URL, see {@link DuplicateDetector});
+     * then that one is returned with {@code duplicate} set and nothing is written.
+     */
     @Transactional
-    public JobApplicationDTO createApplication(JobApplicationDTO dto) {
+    public CreateResult createApplication(JobApplicationDTO dto) {
         User currentUser = getCurrentUser();
 
         Company company = companyRepository.findById(dto.getCompanyId())
@@ -66,13 +113,95 @@ public class JobApplicationService {
             throw new RuntimeException("Access denied");
         }
 
+        long fingerprint = DuplicateDetector.fingerprint(company.getId(), dto.getPosition(), dto.getJobUrl());
+        Long existingId = duplicateDetector.findExisting(currentUser.getId(), List.of(fingerprint)).get(fingerprint);
+        if (existingId != null) {
+            JobApplication existing = applicationRepository.findByIdAndUserId(existingId, currentUser.getId())
+                    .orElseThrow(() -> new RuntimeException("Application not found"));
+            log.info("♻️ {} at {} is already saved as application #{}",
+                    dto.getPosition(), company.getName(), existingId);
+            return new CreateResult(convertToDTO(existing), true);
+        }
+
+        JobApplication saved = insertApplication(currentUser, company, dto, fingerprint);
+        dataVersionService.bump(currentUser.getEmail());
+        JobApplicationDTO created = convertToDTO(saved);
+        publishChange(currentUser.getId(), ApplicationChangeEventDTO.CREATED, created);
+        return new CreateResult(created, false);
+    }
+
+    public record CreateResult(JobApplicationDTO application, boolean duplicate) {
+    }
+
+    /**
+     * Bulk create in one transaction. Jobs the user already saved, or that
+     * appear more than once in the list, are skipped; their ids point at the
+     * application that already exists or was created first. All or nothing on
+     * a missing or foreign company.
+     *
+     * A job saved concurrently, or through another node since this node's
+     * duplicate filter was built, fails the insert with a
+     * {@link DataIntegrityViolationException} and rolls the import back. The
+     * user's filter is dropped first, so calling again re-reads their
+     * fingerprints from the database and skips that job.
+     */
+    @Transactional
+    public ImportResultDTO importApplications(List<JobApplicationDTO> dtos) {
+        User currentUser = getCurrentUser();
+
+        Map<Long, Company> companies = new HashMap<>();
+        for (Company company : companyRepository.findAllById(
+                dtos.stream().map(JobApplicationDTO::getCompanyId).filter(Objects::nonNull).distinct().toList())) {
+            companies.put(company.getId(), company);
+        }
+
+        List<Long> fingerprints = new ArrayList<>(dtos.size());
+        for (JobApplicationDTO dto : dtos) {
+            Company company = companies.get(dto.getCompanyId());
+            // Security: every company must belong to the user
+            if (company == null || !company.getUser().getId().equals(currentUser.getId())) {
+                throw new RuntimeException("Company not found: " + dto.getCompanyId());
+            }
+            fingerprints.add(DuplicateDetector.fingerprint(company.getId(), dto.getPosition(), dto.getJobUrl()));
+        }
+
+        // One probe for the whole batch; rows created below join the map so repeats point at them
+        Map<Long, Long> idsByFingerprint = new HashMap<>(
+                duplicateDetector.findExisting(currentUser.getId(), fingerprints));
+        List<Long> ids = new ArrayList<>(dtos.size());
+        List<JobApplicationDTO> created = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            JobApplicationDTO dto = dtos.get(i);
+            long fingerprint = fingerprints.get(i);
+            Long existingId = idsByFingerprint.get(fingerprint);
+            if (existingId != null) {
+                ids.add(existingId);
+                continue;
+            }
+            JobApplication saved = insertApplication(currentUser, companies.get(dto.getCompanyId()), dto, fingerprint);
+            idsByFingerprint.put(fingerprint, saved.getId());
+            ids.add(saved.getId());
+            created.add(convertToDTO(saved));
+        }
+        log.info("📥 Imported {} applications for user {} ({} duplicates skipped)",
+                created.size(), currentUser.getEmail(), dtos.size() - created.size());
+
+        if (!created.isEmpty()) {
+            dataVersionService.bump(currentUser.getEmail());
+            created.forEach(dto -> publishChange(currentUser.getId(), ApplicationChangeEventDTO.CREATED, dto));
+        }
+        return new ImportResultDTO(created.size(), dtos.size() - created.size(), ids);
+    }
+
+    private JobApplication insertApplication(User currentUser, Company company, JobApplicationDTO dto,
+                                             long fingerprint) {
         JobApplication application = new JobApplication();
         application.setUser(currentUser);  // ✅ Set the user
         application.setCompany(company);
         application.setPosition(dto.getPosition());
         application.setJobUrl(dto.getJobUrl());
         application.setLocation(dto.getLocation());
-        application.setSalaryRange(dto.getSalaryRange());
+        applySalary(application, dto.getSalaryRange());
         application.setStatus(dto.getStatus());
         application.setAppliedDate(dto.getAppliedDate());
         application.setFollowUpDate(dto.getFollowUpDate());
@@ -83,25 +212,50 @@ public class JobApplicationService {
         application.setInterviewTime(dto.getInterviewTime());
         application.setInterviewType(dto.getInterviewType());
         application.setInterviewLocation(dto.getInterviewLocation());
+        application.setFingerprint(fingerprint);
 
         if (application.getStatus() == ApplicationStatus.APPLIED && application.getAppliedDate() == null) {
             application.setAppliedDate(LocalDate.now());
         }
 
-        JobApplication saved = applicationRepository.save(application);
+        JobApplication saved;
+        try {
+            saved = applicationRepository.save(application);
+        } catch (DataIntegrityViolationException e) {
+            // Most likely a concurrent create of the same job that the filter hadn't seen yet
+            duplicateDetector.invalidate(currentUser.getId());
+            throw e;
+        }
+        duplicateDetector.onSaved(currentUser.getId(), fingerprint);
+        if (saved.getJobDescription() != null) {
+            similarityIndex.index(saved.getId(), currentUser.getId(), saved.getJobDescription());
+        }
+        reminderService.syncApplication(saved);
+        statusTransitionLog.record(saved.getId(), currentUser.getId(), null, saved.getStatus());
         log.info("✅ Created application: {} at {} for user {}",
                 saved.getPosition(), company.getName(), currentUser.getEmail());
-
-        return convertToDTO(saved);
+        return saved;
     }
 
+    /**
+     * Full update. With a non-null {@code expectedVersion} the update only applies
+     * if nobody else changed the application since that version was read;
+     * otherwise {@link VersionConflictException} carries the current state.
+     */
     @Transactional
-    public JobApplicationDTO updateApplication(Long id, JobApplicationDTO dto) {
+    public JobApplicationDTO updateApplication(Long id, JobApplicationDTO dto, Long expectedVersion) {
         User currentUser = getCurrentUser();
 
         JobApplication application = applicationRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Application not found or access denied"));
 
+        if (expectedVersion != null && !expectedVersion.equals(application.getVersion())) {
+            throw new VersionConflictException("Application was modified by someone else",
+                    convertToDTO(application), application.getVersion());
+        }
+
+        refreshFingerprint(currentUser, application, dto);
+
         // If changing company, verify new company belongs to user
         if (!application.getCompany().getId().equals(dto.getCompanyId())) {
             Company newCompany = companyRepository.findByIdAndUserId(dto.getCompanyId(), currentUser.getId())
@@ -111,11 +265,12 @@ public class JobApplicationService {
 
         ApplicationStatus oldStatus = application.getStatus();
         ApplicationStatus newStatus = dto.getStatus();
+        boolean descriptionChanged = !Objects.equals(application.getJobDescription(), dto.getJobDescription());
 
         application.setPosition(dto.getPosition());
         application.setJobUrl(dto.getJobUrl());
         application.setLocation(dto.getLocation());
-        application.setSalaryRange(dto.getSalaryRange());
+        applySalary(application, dto.getSalaryRange());
         application.setStatus(newStatus);
         application.setAppliedDate(dto.getAppliedDate());
         application.setFollowUpDate(dto.getFollowUpDate());
@@ -134,23 +289,171 @@ public class JobApplicationService {
             application.setAppliedDate(LocalDate.now());
         }
 
-        JobApplication updated = applicationRepository.save(application);
+        // Flush now so the returned version (and ETag) is the one just written
+        JobApplication updated = applicationRepository.saveAndFlush(application);
+        if (descriptionChanged) {
+            similarityIndex.index(id, currentUser.getId(), updated.getJobDescription());
+        }
+        calendarFeedService.evict(currentUser.getId());
+        reminderService.syncApplication(updated);
+        statusTransitionLog.record(id, currentUser.getId(), oldStatus, newStatus);
         log.info("✅ Updated application #{}: {} → {}", id, oldStatus, newStatus);
 
-        return convertToDTO(updated);
+        dataVersionService.bump(currentUser.getEmail());
+        JobApplicationDTO result = convertToDTO(updated);
+        publishChange(currentUser.getId(), ApplicationChangeEventDTO.UPDATED, result);
+        return result;
+    }
+
+    /**
+     * Keeps the fingerprint in step with company, position and job URL and
+     * refuses an edit that would turn the application into a copy of another
+     * one. Copies saved before duplicate detection existed have no fingerprint
+     * and keep none until their job changes.
+     */
+    private void refreshFingerprint(User currentUser, JobApplication application, JobApplicationDTO dto) {
+        long fingerprint = DuplicateDetector.fingerprint(dto.getCompanyId(), dto.getPosition(), dto.getJobUrl());
+        if (application.getFingerprint() != null && application.getFingerprint() == fingerprint) {
+            return;
+        }
+        Long otherId = duplicateDetector.findExisting(currentUser.getId(), List.of(fingerprint)).get(fingerprint);
+        if (otherId == null) {
+            application.setFingerprint(fingerprint);
+            duplicateDetector.onSaved(currentUser.getId(), fingerprint);
+            return;
+        }
+        boolean jobChanged = application.getFingerprint() != null ||
+                !application.getCompany().getId().equals(dto.getCompanyId()) ||
+                !Objects.equals(application.getPosition(), dto.getPosition()) ||
+                !Objects.equals(application.getJobUrl(), dto.getJobUrl());
+        if (jobChanged) {
+            throw new RuntimeException("This job is already saved as application #" + otherId);
+        }
     }
 
+    /**
+     * Status/priority change without loading or rewriting the whole row.
+     */
     @Transactional
-    public void deleteApplication(Long id) {
+    public ApplicationPatchDTO patchApplication(Long id, ApplicationPatchDTO patch, Long expectedVersion) {
         User currentUser = getCurrentUser();
+        ApplicationPatchDTO result = applyPatch(currentUser, id, patch, expectedVersion);
+        dataVersionService.bump(currentUser.getEmail());
+        return result;
+    }
 
-        JobApplication application = applicationRepository.findByIdAndUserId(id, currentUser.getId())
+    /**
+     * Several Kanban moves in one request and one transaction; all or nothing.
+     */
+    @Transactional
+    public List<ApplicationPatchDTO> patchApplications(List<ApplicationPatchDTO> patches) {
+        User currentUser = getCurrentUser();
+        List<ApplicationPatchDTO> results = new ArrayList<>(patches.size());
+        for (ApplicationPatchDTO patch : patches) {
+            if (patch.getId() == null) {
+                throw new RuntimeException("Every move needs an application id");
+            }
+            results.add(applyPatch(currentUser, patch.getId(), patch, patch.getVersion()));
+        }
+        dataVersionService.bump(currentUser.getEmail());
+        return results;
+    }
+
+    private ApplicationPatchDTO applyPatch(User currentUser, Long id, ApplicationPatchDTO patch, Long expectedVersion) {
+        if (patch.getStatus() == null && patch.getPriority() == null) {
+            throw new RuntimeException("Nothing to update: give a status or a priority");
+        }
+        JobApplicationRepository.StatusAndVersion state =
+                applicationRepository.findStatusAndVersionByIdAndUserId(id, currentUser.getId())
+                        .orElseThrow(() -> new RuntimeException("Application not found or access denied"));
+        if (expectedVersion != null && !expectedVersion.equals(state.getVersion())) {
+            throw conflict(currentUser, id);
+        }
+
+        ApplicationStatus oldStatus = state.getStatus();
+        ApplicationStatus newStatus = patch.getStatus() != null ? patch.getStatus() : oldStatus;
+
+        boolean markApplied = newStatus == ApplicationStatus.APPLIED && oldStatus != ApplicationStatus.APPLIED;
+        LocalDateTime now = LocalDateTime.now();
+
+        int updated = applicationRepository.patchStatusAndPriority(id, currentUser.getId(), state.getVersion(),
+                newStatus, patch.getPriority(), markApplied, LocalDate.now(), now);
+        if (updated == 0) {
+            throw conflict(currentUser, id);
+        }
+        reminderService.onStatusChanged(id, oldStatus, newStatus);
+        statusTransitionLog.record(id, currentUser.getId(), oldStatus, newStatus);
+        log.info("✅ Patched application #{}: {} → {}", id, oldStatus, newStatus);
+
+        ApplicationPatchDTO result = new ApplicationPatchDTO(id, newStatus, patch.getPriority(), now,
+                state.getVersion() + 1);
+        eventBroadcaster.publish(currentUser.getId(),
+                new ApplicationChangeEventDTO(ApplicationChangeEventDTO.PATCHED, id, null, result));
+        return result;
+    }
+
+    private VersionConflictException conflict(User currentUser, Long id) {
+        JobApplication current = applicationRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Application not found or access denied"));
+        return new VersionConflictException("Application was modified by someone else",
+                convertToDTO(current), current.getVersion());
+    }
 
-        applicationRepository.delete(application);
+    @Transactional
+    public void deleteApplication(Long id) {
+        User currentUser = getCurrentUser();
+
+        CascadingDeleter.Deletion deletion = cascadingDeleter.deleteApplications(currentUser.getId(), List.of(id));
+        if (deletion.applicationIds().isEmpty()) {
+            throw new RuntimeException("Application not found or access denied");
+        }
+        dataVersionService.bump(currentUser.getEmail());
         log.info("🗑️ Deleted application #{} for user {}", id, currentUser.getEmail());
     }
 
+    /**
+     * The user's applications whose job description is nearly the same text as
+     * this one's, most similar first; see {@link SimilarityIndex}.
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarApplicationDTO> getSimilarApplications(Long id, double threshold, int limit) {
+        User currentUser = getCurrentUser();
+        if (applicationRepository.findStatusAndVersionByIdAndUserId(id, currentUser.getId()).isEmpty()) {
+            throw new RuntimeException("Application not found");
+        }
+        return similarityIndex.findSimilar(currentUser.getId(), id, threshold, limit);
+    }
+
+    /**
+     * Status history of an application, oldest first. Transitions reach the log
+     * asynchronously, so the last change may show up a moment after the write.
+     */
+    @Transactional(readOnly = true)
+    public List<ApplicationEventDTO> getApplicationHistory(Long id) {
+        User currentUser = getCurrentUser();
+        return applicationEventRepository.findByApplicationIdAndUserIdOrderByOccurredAtAsc(id, currentUser.getId())
+                .stream()
+                .map(event -> {
+                    ApplicationEventDTO dto = new ApplicationEventDTO();
+                    dto.setId(event.getId());
+                    dto.setApplicationId(event.getApplicationId());
+                    dto.setFromStatus(event.getFromStatus());
+                    dto.setToStatus(event.getToStatus());
+                    dto.setUnusual(event.isUnusual());
+                    dto.setOccurredAt(event.getOccurredAt());
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    // Events carry the card fields only; the job description is fetched with the detail view
+    private void publishChange(Long userId, String type, JobApplicationDTO dto) {
+        JobApplicationDTO summary = new JobApplicationDTO();
+        BeanUtils.copyProperties(dto, summary, "jobDescription");
+        eventBroadcaster.publish(userId, new ApplicationChangeEventDTO(type, dto.getId(), summary, null));
+    }
+
+    @Transactional(readOnly = true)
     public List<JobApplicationDTO> getApplicationsByStatus(ApplicationStatus status) {
         User currentUser = getCurrentUser();
         return applicationRepository.findByUserIdAndStatus(currentUser.getId(), status).stream()
@@ -158,26 +461,13 @@ public class JobApplicationService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<JobApplicationDTO> getApplicationsByCompany(Long companyId) {
         return applicationRepository.findByCompanyId(companyId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
-    private boolean isUnusualTransition(ApplicationStatus from, ApplicationStatus to) {
-        if (from == to) {
-            return false;
-        }
-
-        // Transitions that are unusual but might happen:
-        return (from == ApplicationStatus.ACCEPTED && to != ApplicationStatus.ACCEPTED) ||  // Un-accepting
-                (from == ApplicationStatus.REJECTED && to == ApplicationStatus.OFFER) ||      // Rejected to Offer
-                (from == ApplicationStatus.WITHDRAWN && to == ApplicationStatus.INTERVIEW) || // Withdrawn to Interview
-                (from == ApplicationStatus.OFFER && to == ApplicationStatus.SAVED);           // Offer back to Saved
-
-        // All other transitions are considered normal
-    }
-
     private JobApplicationDTO convertToDTO(JobApplication application) {
         JobApplicationDTO dto = new JobApplicationDTO();
         dto.setId(application.getId());
@@ -187,6 +477,9 @@ public class JobApplicationService {
         dto.setJobUrl(application.getJobUrl());
         dto.setLocation(application.getLocation());
         dto.setSalaryRange(application.getSalaryRange());
+        dto.setSalaryMin(application.getSalaryMin());
+        dto.setSalaryMax(application.getSalaryMax());
+        dto.setSalaryCurrency(application.getSalaryCurrency());
         dto.setStatus(application.getStatus());
         dto.setAppliedDate(application.getAppliedDate());
         dto.setFollowUpDate(application.getFollowUpDate());
@@ -199,43 +492,149 @@ public class JobApplicationService {
         dto.setInterviewTime(application.getInterviewTime());
         dto.setInterviewType(application.getInterviewType());
         dto.setInterviewLocation(application.getInterviewLocation());
+        dto.setVersion(application.getVersion());
 
         return dto;
     }
 
     public ApplicationStatsDTO getApplicationStats() {
-        List<JobApplication> allApps = applicationRepository.findAll();
+        return getApplicationStats(currentUserVersion());
+    }
+
+    /** For callers that already looked the user up, e.g. the dashboard. */
+    public ApplicationStatsDTO getApplicationStats(DataVersionService.UserVersion user) {
+        return readCoalescer.read("stats", emailAndVersion(user), () -> loadApplicationStats(user.userId()));
+    }
 
-        long total = allApps.size();
+    private ApplicationStatsDTO loadApplicationStats(Long userId) {
+        // Count by status in the database instead of loading every application
+        Map<String, Long> statusCounts = new HashMap<>();
+        for (Object[] row : applicationRepository.countByStatusForUser(userId)) {
+            statusCounts.put(row[0].toString(), (Long) row[1]);
+        }
 
-        // Count by status
-        Map<String, Long> statusCounts = allApps.stream()
-                .collect(Collectors.groupingBy(
-                        app -> app.getStatus().toString(),
-                        Collectors.counting()
-                ));
+        long total = statusCounts.values().stream().mapToLong(Long::longValue).sum();
 
         // Count active (not rejected or withdrawn)
-        long active = allApps.stream()
-                .filter(app -> app.getStatus() != ApplicationStatus.REJECTED &&
-                        app.getStatus() != ApplicationStatus.WITHDRAWN)
-                .count();
+        long active = total
+                - statusCounts.getOrDefault(ApplicationStatus.REJECTED.toString(), 0L)
+                - statusCounts.getOrDefault(ApplicationStatus.WITHDRAWN.toString(), 0L);
 
         // Calculate response rate (got interview, offer, or rejection)
-        long responded = allApps.stream()
-                .filter(app -> app.getStatus() == ApplicationStatus.SCREENING||
-                        app.getStatus() == ApplicationStatus.INTERVIEW ||
-                        app.getStatus() == ApplicationStatus.OFFER ||
-                        app.getStatus() == ApplicationStatus.REJECTED)
-                .count();
+        long responded = statusCounts.getOrDefault(ApplicationStatus.SCREENING.toString(), 0L) +
+                statusCounts.getOrDefault(ApplicationStatus.INTERVIEW.toString(), 0L) +
+                statusCounts.getOrDefault(ApplicationStatus.OFFER.toString(), 0L) +
+                statusCounts.getOrDefault(ApplicationStatus.REJECTED.toString(), 0L);
 
         double responseRate = total > 0 ? (responded * 100.0 / total) : 0.0;
 
         return new ApplicationStatsDTO(total, statusCounts, active, responseRate);
     }
 
+    public FunnelStatsDTO getFunnelStats() {
+        User currentUser = getCurrentUser();
+        return funnelAnalytics.getFunnel(currentUser.getId(), dataVersionService.getVersion(currentUser.getEmail()));
+    }
+
     public Page<JobApplicationDTO> getAllApplicationsPaginated(Pageable pageable) {
-        Page<JobApplication> page = applicationRepository.findAll(pageable);
-        return page.map(this::convertToDTO);
+        return getAllApplicationsPaginated(pageable, null);
+    }
+
+    public Page<JobApplicationDTO> getAllApplicationsPaginated(Pageable pageable, SalaryFilter salary) {
+        return getAllApplicationsPaginated(currentUserVersion(), pageable, salary);
+    }
+
+    /** For callers that already looked the user up, e.g. the dashboard. */
+    public Page<JobApplicationDTO> getAllApplicationsPaginated(DataVersionService.UserVersion user, Pageable pageable) {
+        return getAllApplicationsPaginated(user, pageable, null);
+    }
+
+    private Page<JobApplicationDTO> getAllApplicationsPaginated(DataVersionService.UserVersion user, Pageable pageable,
+                                                                SalaryFilter salary) {
+        return readCoalescer.read("applications", pageKey(user, pageable, salary), () -> {
+            Page<JobApplication> page = salary == null || salary.isEmpty()
+                    ? applicationRepository.findByUserId(user.userId(), pageable)
+                    : applicationRepository.findByUserIdAndSalary(user.userId(), salary, pageable);
+            return page.map(this::convertToDTO);
+        });
+    }
+
+    /**
+     * A page of applications with only the selected fields, read as just those
+     * columns rather than whole entities.
+     */
+    public Page<Map<String, Object>> getApplicationsPaginated(Pageable pageable, SalaryFilter salary,
+                                                              FieldSelection selection) {
+        DataVersionService.UserVersion user = currentUserVersion();
+        return readCoalescer.read("applications", pageKey(user, pageable, salary) + '|' + selection, () ->
+                applicationRepository
+                        .findAttributesByUserId(user.userId(), attributesFor(selection), salary, pageable)
+                        .map(selection::zip));
+    }
+
+    @Transactional(readOnly = true)
+    public SparseApplication getApplicationById(Long id, FieldSelection selection) {
+        User currentUser = getCurrentUser();
+        // The version comes along for the ETag even when it isn't selected
+        List<String> attributes = new ArrayList<>(attributesFor(selection));
+        attributes.add("version");
+        Object[] row = applicationRepository.findAttributesByIdAndUserId(id, currentUser.getId(), attributes)
+                .orElseThrow(() -> new RuntimeException("Application not found"));
+        return new SparseApplication(selection.zip(row), (Long) row[row.length - 1]);
+    }
+
+    public record SparseApplication(Map<String, Object> fields, Long version) {
+    }
+
+    private static List<String> attributesFor(FieldSelection selection) {
+        return selection.fields().stream()
+                .map(field -> DTO_ATTRIBUTE_PATHS.getOrDefault(field, field))
+                .toList();
+    }
+
+    private String pageKey(DataVersionService.UserVersion user, Pageable pageable, SalaryFilter salary) {
+        return emailAndVersion(user) + '|' + pageable.getPageNumber() + '|' + pageable.getPageSize() +
+                '|' + pageable.getSort() + '|' + salary;
+    }
+
+    /**
+     * Salary distribution per currency, bucketed by the midpoint of each
+     * application's annual range. Counted by the database.
+     */
+    @Transactional(readOnly = true)
+    public SalaryHistogramDTO getSalaryHistogram(long bucketSize) {
+        if (bucketSize <= 0) {
+            throw new IllegalArgumentException("bucketSize must be positive");
+        }
+        User currentUser = getCurrentUser();
+        Map<String, List<SalaryHistogramDTO.Bucket>> currencies = new LinkedHashMap<>();
+        for (Object[] row : applicationRepository.salaryHistogram(currentUser.getId(), bucketSize)) {
+            long from = ((Number) row[1]).longValue();
+            currencies.computeIfAbsent((String) row[0], currency -> new ArrayList<>())
+                    .add(new SalaryHistogramDTO.Bucket(from, from + bucketSize, ((Number) row[2]).longValue()));
+        }
+        return new SalaryHistogramDTO(bucketSize, currencies);
+    }
+
+    private static void applySalary(JobApplication application, String salaryRange) {
+        application.setSalaryRange(salaryRange);
+        SalaryParser.Salary salary = SalaryParser.parse(salaryRange);
+        application.setSalaryMin(salary != null ? salary.min() : null);
+        application.setSalaryMax(salary != null ? salary.max() : null);
+        application.setSalaryCurrency(salary != null ? salary.currency() : null);
+    }
+
+    // Identical reads share one query only while the user's data version is unchanged
+    private DataVersionService.UserVersion currentUserVersion() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        DataVersionService.UserVersion user = dataVersionService.lookup(email);
+        if (user.userId() == 0) {
+            throw new RuntimeException("User not found");
+        }
+        return user;
+    }
+
+    private static String emailAndVersion(DataVersionService.UserVersion user) {
+        return user.email() + '|' + user.version();
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.ReminderDTO;
+import com.jobtracker.model.Reminder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for a real mail/push notifier: logs each reminder and keeps
+ * the most recent ones per user in an in-memory mailbox.
+ */
+@Component
+@Slf4j
+public class LoggingReminderNotifier implements ReminderNotifier {
+
+    private static final int MAILBOX_SIZE = 50;
+
+    private final Map<Long, Deque<ReminderDTO>> mailboxes = new ConcurrentHashMap<>();
+
+    @Override
+    public void send(Reminder reminder) {
+        log.info("🔔 Reminder for {}: {} (due {})",
+                reminder.getUser().getEmail(), reminder.getMessage(), reminder.getDueAt());
+
+        ReminderDTO delivered = new ReminderDTO();
+        delivered.setId(reminder.getId());
+        delivered.setType(reminder.getType());
+        delivered.setSourceId(reminder.getSourceId());
+        delivered.setDueAt(reminder.getDueAt());
+        delivered.setMessage(reminder.getMessage());
+        delivered.setSentAt(LocalDateTime.now());
+
+        Deque<ReminderDTO> mailbox = mailboxes.computeIfAbsent(reminder.getUser().getId(), id -> new ArrayDeque<>());
+        synchronized (mailbox) {
+            mailbox.addFirst(delivered);
+            if (mailbox.size() > MAILBOX_SIZE) {
+                mailbox.removeLast();
+            }
+        }
+    }
+
+    public List<ReminderDTO> getMailbox(Long userId) {
+        Deque<ReminderDTO> mailbox = mailboxes.get(userId);
+        if (mailbox == null) {
+            return List.of();
+        }
+        synchronized (mailbox) {
+            return new ArrayList<>(mailbox);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.jobtracker.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for identical concurrent reads: the first caller for a key runs
+ * the query in a read-only transaction, and callers that arrive while it is in
+ * flight wait for and share its result instead of running their own.
+ *
+ * Nothing is kept once the query finishes, so this is not a cache. Callers put
+ * the user's data version in the key; a write bumps it on commit, so a read that
+ * starts after the write never joins a query that started before it.
+ *
+ * Metrics: {@code reads.coalesced{query, role=leader|follower}}; the follower
+ * share is the coalescing ratio.
+ */
+@Service
+public class ReadCoalescer {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public ReadCoalescer(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T read(String query, String key, Supplier<T> loader) {
+        String flightKey = query + '|' + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+
+        if (existing != null) {
+            meterRegistry.counter("reads.coalesced", "query", query, "role", "follower").increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                // Followers see the leader's failure as their own
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+
+        meterRegistry.counter("reads.coalesced", "query", query, "role", "leader").increment();
+        try {
+            T result = readOnlyTransaction.execute(status -> loader.get());
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+}
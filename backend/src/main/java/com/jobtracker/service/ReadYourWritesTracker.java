@@ -0,0 +1,39 @@
+package com.jobtracker.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently, so their reads can stay on the primary
+ * until the replica has had time to catch up with their own changes.
+ */
+@Service
+public class ReadYourWritesTracker {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowMs;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Value("${app.datasource.replica.sticky-ms:5000}") long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /** Called after a user's write commits. */
+    public void markWrite(String email) {
+        long now = System.currentTimeMillis();
+        lastWrites.put(email, now);
+        if (lastWrites.size() > PRUNE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowMs);
+        }
+    }
+
+    public boolean isSticky(String email) {
+        Long writtenAt = lastWrites.get(email);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt <= windowMs;
+    }
+}
@@ -0,0 +1,13 @@
+package com.jobtracker.service;
+
+import com.jobtracker.model.Reminder;
+
+/**
+ * Delivery channel for due reminders. Called after the reminder has been
+ * claimed (marked sent) and outside any transaction, with its user loaded, so
+ * a slow channel holds no connection or row lock. Throwing hands the reminder
+ * back for a retry with backoff; a crash between claim and send loses it.
+ */
+public interface ReminderNotifier {
+    void send(Reminder reminder);
+}
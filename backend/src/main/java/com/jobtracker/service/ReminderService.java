@@ -0,0 +1,380 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.ReminderDTO;
+import com.jobtracker.model.ApplicationStatus;
+import com.jobtracker.model.Interview;
+import com.jobtracker.model.JobApplication;
+import com.jobtracker.model.Reminder;
+import com.jobtracker.model.ReminderType;
+import com.jobtracker.model.User;
+import com.jobtracker.repository.JobApplicationRepository;
+import com.jobtracker.repository.ReminderRepository;
+import com.jobtracker.repository.UserRepository;
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Follow-up and interview reminders.
+ *
+ * Reminders are persisted in the {@code reminders} table, so pending ones survive
+ * a restart. Only the ones due within the next {@code reminders.horizon-minutes}
+ * are held in memory, in a priority queue ordered by due time; the window is
+ * reloaded periodically from the (sent_at, due_at) index, and writes that fall
+ * inside it are pushed straight onto the queue after commit. The dispatcher only
+ * peeks at the head of the queue, so an idle tick never touches the database.
+ *
+ * A due reminder is claimed in its own short transaction and handed to the
+ * notifier after commit. If the notifier fails, the claim is released with the
+ * reminder due again after {@code reminders.retry-backoff-ms}, doubling per
+ * attempt, up to {@code reminders.max-attempts}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReminderService {
+
+    private static final LocalTime DEFAULT_INTERVIEW_TIME = LocalTime.of(9, 0);
+
+    private final ReminderRepository reminderRepository;
+    private final JobApplicationRepository applicationRepository;
+    private final UserRepository userRepository;
+    private final ReminderNotifier notifier;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+
+    @Value("${reminders.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${reminders.horizon-minutes:60}")
+    private long horizonMinutes;
+
+    @Value("${reminders.interview-lead-hours:24}")
+    private long interviewLeadHours;
+
+    @Value("${reminders.follow-up-hour:9}")
+    private int followUpHour;
+
+    @Value("${reminders.retry-backoff-ms:30000}")
+    private long retryBackoffMs;
+
+    @Value("${reminders.max-attempts:5}")
+    private int maxAttempts;
+
+    private static final long MAX_RETRY_BACKOFF_MS = TimeUnit.HOURS.toMillis(1);
+
+    private record Due(int shard, Long userId, Long reminderId, LocalDateTime dueAt) implements Comparable<Due> {
+        @Override
+        public int compareTo(Due other) {
+            return dueAt.compareTo(other.dueAt);
+        }
+    }
+
+    private final Object lock = new Object();
+    private final PriorityQueue<Due> queue = new PriorityQueue<>();
+    private final Set<Due> queued = new HashSet<>();
+    // Failed deliveries per reminder id, kept apart from Due so a refresh can't queue it
+    // again with a fresh count; in memory only, so it starts over after a restart
+    private final Map<Long, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    // Nothing is loaded until the first refresh; reminders due before this are held in memory
+    private volatile LocalDateTime horizon = LocalDateTime.MIN;
+
+    private ScheduledExecutorService scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long refreshMinutes = Math.max(1, horizonMinutes / 2);
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshMinutes, TimeUnit.MINUTES);
+        scheduler.scheduleWithFixedDelay(this::dispatchDue, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("🔔 Reminder scheduler started (horizon {} min)", horizonMinutes);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Write hooks, called from inside the caller's transaction
+    // ---------------------------------------------------------------------
+
+    public void syncApplication(JobApplication application) {
+        String title = application.getPosition() + " at " + application.getCompany().getName();
+
+        if (isActive(application.getStatus()) && application.getFollowUpDate() != null) {
+            schedule(ReminderType.FOLLOW_UP, application.getId(), application.getUser(),
+                    application.getFollowUpDate().plusDays(1).atStartOfDay(),
+                    application.getFollowUpDate().atTime(followUpHour, 0),
+                    "Follow up on " + title);
+        } else {
+            cancel(ReminderType.FOLLOW_UP, application.getId());
+        }
+
+        if (application.getInterviewDate() != null) {
+            LocalDateTime interviewAt = application.getInterviewDate()
+                    .atTime(parseTime(application.getInterviewTime()));
+            schedule(ReminderType.APPLICATION_INTERVIEW, application.getId(), application.getUser(),
+                    interviewAt, interviewAt.minusHours(interviewLeadHours),
+                    "Interview for " + title + " on " + interviewAt);
+        } else {
+            cancel(ReminderType.APPLICATION_INTERVIEW, application.getId());
+        }
+    }
+
+    /**
+     * For status-only updates that don't load the application: follow-ups only
+     * depend on the status through {@link #isActive}, so the row is loaded just
+     * when that flips.
+     */
+    public void onStatusChanged(Long applicationId, ApplicationStatus oldStatus, ApplicationStatus newStatus) {
+        if (isActive(oldStatus) != isActive(newStatus)) {
+            applicationRepository.findById(applicationId).ifPresent(this::syncApplication);
+        }
+    }
+
+    public void cancelApplication(Long applicationId) {
+        cancel(ReminderType.FOLLOW_UP, applicationId);
+        cancel(ReminderType.APPLICATION_INTERVIEW, applicationId);
+    }
+
+    public void syncInterview(Interview interview) {
+        JobApplication application = interview.getApplication();
+        LocalDateTime interviewAt = interview.getInterviewDate();
+        schedule(ReminderType.INTERVIEW, interview.getId(), application.getUser(),
+                interviewAt, interviewAt.minusHours(interviewLeadHours),
+                interview.getInterviewType() + " interview for " + application.getPosition() +
+                        " at " + application.getCompany().getName() + " on " + interviewAt);
+    }
+
+    public void cancelInterview(Long interviewId) {
+        cancel(ReminderType.INTERVIEW, interviewId);
+    }
+
+    private void schedule(ReminderType type, Long sourceId, User user,
+                          LocalDateTime eventAt, LocalDateTime dueAt, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        if (eventAt.isBefore(now)) {
+            cancel(type, sourceId);
+            return;
+        }
+        LocalDateTime effectiveDueAt = dueAt.isBefore(now) ? now : dueAt;
+
+        Reminder reminder = reminderRepository.findByTypeAndSourceId(type, sourceId)
+                .orElseGet(Reminder::new);
+
+        // Already delivered for this event: don't remind twice
+        if (reminder.getSentAt() != null && reminder.getEventAt().equals(eventAt)) {
+            return;
+        }
+
+        reminder.setUser(user);
+        reminder.setType(type);
+        reminder.setSourceId(sourceId);
+        reminder.setEventAt(eventAt);
+        reminder.setDueAt(effectiveDueAt);
+        reminder.setMessage(message.length() > 500 ? message.substring(0, 500) : message);
+        reminder.setSentAt(null);
+
+        Reminder saved = reminderRepository.save(reminder);
+        Due due = new Due(ShardContext.current(), user.getId(), saved.getId(), effectiveDueAt);
+        TransactionCallbacks.afterCommit(() -> enqueue(due));
+    }
+
+    // Stale queue entries are skipped at dispatch time, so only the row is removed
+    private void cancel(ReminderType type, Long sourceId) {
+        reminderRepository.deleteBySource(type, sourceId);
+    }
+
+    private void enqueue(Due due) {
+        if (!due.dueAt().isBefore(horizon)) {
+            return; // picked up by a later refresh
+        }
+        synchronized (lock) {
+            if (queued.add(due)) {
+                queue.add(due);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Scheduler
+    // ---------------------------------------------------------------------
+
+    private void refresh() {
+        try {
+            LocalDateTime newHorizon = LocalDateTime.now().plusMinutes(horizonMinutes);
+            // Move the horizon first so writes committed during the query are enqueued directly
+            horizon = newHorizon;
+            int pending = 0;
+            for (int shard : shardDirectory.shardIds()) {
+                List<Reminder> upcoming = ShardContext.callOn(shard,
+                        () -> reminderRepository.findBySentAtIsNullAndDueAtBeforeOrderByDueAtAsc(newHorizon));
+                for (Reminder reminder : upcoming) {
+                    enqueue(new Due(shard, reminder.getUser().getId(), reminder.getId(), reminder.getDueAt()));
+                }
+                pending += upcoming.size();
+            }
+            log.debug("🔔 Reminder window refreshed: {} pending until {}", pending, newHorizon);
+        } catch (Exception e) {
+            log.error("Failed to refresh reminder window: {}", e.getMessage());
+        }
+    }
+
+    private void dispatchDue() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Due due;
+            while ((due = pollDue(now)) != null) {
+                deliver(due);
+            }
+        } catch (Exception e) {
+            // Undelivered reminders stay pending in the table and are re-queued on the next refresh
+            log.error("Failed to dispatch reminders: {}", e.getMessage());
+        }
+    }
+
+    private Due pollDue(LocalDateTime now) {
+        synchronized (lock) {
+            Due head = queue.peek();
+            if (head == null || head.dueAt().isAfter(now)) {
+                return null;
+            }
+            queue.poll();
+            queued.remove(head);
+            return head;
+        }
+    }
+
+    private void deliver(Due due) {
+        if (shardDirectory.isMoving(due.userId())) {
+            // Still pending in the table; queued from the user's new shard by a later refresh
+            log.debug("🔔 Reminder #{} held back while its user moves shards", due.reminderId());
+            return;
+        }
+        LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Reminder reminder = ShardContext.callOn(due.shard(), () -> transactionTemplate.execute(status -> {
+            if (reminderRepository.markSent(due.reminderId(), due.dueAt(), claimedAt) == 0) {
+                return null; // cancelled, rescheduled or already sent
+            }
+            return reminderRepository.findWithUserById(due.reminderId()).orElse(null);
+        }));
+        if (reminder == null) {
+            failedAttempts.remove(due.reminderId());
+            return;
+        }
+
+        try {
+            notifier.send(reminder);
+            failedAttempts.remove(due.reminderId());
+        } catch (RuntimeException e) {
+            retry(due, claimedAt, e);
+        }
+    }
+
+    private void retry(Due due, LocalDateTime claimedAt, RuntimeException failure) {
+        int attempt = failedAttempts.merge(due.reminderId(), 1, Integer::sum);
+        if (attempt >= maxAttempts) {
+            failedAttempts.remove(due.reminderId());
+            log.error("Reminder #{} not delivered after {} attempts, giving up: {}",
+                    due.reminderId(), attempt, failure.getMessage());
+            return;
+        }
+        long backoffMs = Math.min(retryBackoffMs << Math.min(attempt - 1, 30), MAX_RETRY_BACKOFF_MS);
+        LocalDateTime retryAt = LocalDateTime.now().plus(backoffMs, ChronoUnit.MILLIS).truncatedTo(ChronoUnit.MILLIS);
+        Integer released = ShardContext.callOn(due.shard(), () -> transactionTemplate.execute(status ->
+                reminderRepository.releaseClaim(due.reminderId(), claimedAt, retryAt)));
+        if (released != null && released > 0) {
+            log.warn("🔔 Reminder #{} delivery failed (attempt {}), retrying at {}: {}",
+                    due.reminderId(), attempt, retryAt, failure.getMessage());
+            enqueue(new Due(due.shard(), due.userId(), due.reminderId(), retryAt));
+        } else {
+            failedAttempts.remove(due.reminderId());
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Queries
+    // ---------------------------------------------------------------------
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReminderDTO> getPendingReminders() {
+        User currentUser = getCurrentUser();
+        return reminderRepository.findByUserIdAndSentAtIsNullOrderByDueAtAsc(currentUser.getId()).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    public List<ReminderDTO> getDeliveredReminders() {
+        User currentUser = getCurrentUser();
+        if (notifier instanceof LoggingReminderNotifier mailbox) {
+            return mailbox.getMailbox(currentUser.getId());
+        }
+        return List.of();
+    }
+
+    private boolean isActive(ApplicationStatus status) {
+        return status != ApplicationStatus.REJECTED && status != ApplicationStatus.WITHDRAWN;
+    }
+
+    private LocalTime parseTime(String time) {
+        if (time == null || time.isBlank()) {
+            return DEFAULT_INTERVIEW_TIME;
+        }
+        try {
+            return LocalTime.parse(time.trim());
+        } catch (DateTimeParseException e) {
+            return DEFAULT_INTERVIEW_TIME;
+        }
+    }
+
+    private ReminderDTO convertToDTO(Reminder reminder) {
+        ReminderDTO dto = new ReminderDTO();
+        dto.setId(reminder.getId());
+        dto.setType(reminder.getType());
+        dto.setSourceId(reminder.getSourceId());
+        dto.setDueAt(reminder.getDueAt());
+        dto.setMessage(reminder.getMessage());
+        dto.setSentAt(reminder.getSentAt());
+        return dto;
+    }
+}
@@ -0,0 +1,150 @@
+package com.jobtracker.service;
+
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fills salary_min / salary_max / salary_currency for applications saved before
+ * those columns existed (or by a parser that understood less).
+ *
+ * Runs once per start on a background thread, walking each shard by id in
+ * batches with a pause in between, so it never holds long locks or a
+ * connection for long. The update only applies if the salary text is still the
+ * one that was parsed, so a concurrent edit always wins. Rows the parser can't
+ * read, and rows of users being moved to another shard, are left empty and
+ * looked at again on the next start.
+ */
+@Service
+@Slf4j
+public class SalaryBackfill {
+
+    private static final String SELECT_BATCH =
+            "SELECT a.id, a.salary_range, u.id, u.email FROM job_applications a JOIN users u ON u.id = a.user_id " +
+            "WHERE a.id > ? AND a.salary_range IS NOT NULL AND a.salary_min IS NULL ORDER BY a.id LIMIT ?";
+    private static final String UPDATE_SALARY =
+            "UPDATE job_applications SET salary_min = ?, salary_max = ?, salary_currency = ? " +
+            "WHERE id = ? AND salary_min IS NULL AND salary_range = ?";
+
+    private record Row(long id, String salaryRange, long userId, String email) {
+    }
+
+    private record Parsed(Row row, SalaryParser.Salary salary) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+    private final DataVersionService dataVersionService;
+    private final int batchSize;
+    private final long pauseMs;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "salary-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SalaryBackfill(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          ShardDirectory shardDirectory,
+                          DataVersionService dataVersionService,
+                          @Value("${salary.backfill.batch-size:500}") int batchSize,
+                          @Value("${salary.backfill.pause-ms:50}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardDirectory = shardDirectory;
+        this.dataVersionService = dataVersionService;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.submit(() -> {
+            for (int shard : shardDirectory.shardIds()) {
+                try {
+                    ShardContext.runOn(shard, () -> backfill(shard));
+                } catch (RuntimeException e) {
+                    log.error("Salary backfill on shard {} stopped: {}", shard, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    private void backfill(int shard) {
+        long afterId = 0;
+        int scanned = 0;
+        int filled = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Row> rows = jdbcTemplate.query(SELECT_BATCH,
+                    (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4)),
+                    afterId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).id();
+            scanned += rows.size();
+            filled += update(rows);
+
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (scanned > 0) {
+            log.info("💰 Salary backfill on shard {}: parsed {} of {} salary ranges", shard, filled, scanned);
+        }
+    }
+
+    private int update(List<Row> rows) {
+        List<Parsed> parsed = new ArrayList<>();
+        for (Row row : rows) {
+            if (shardDirectory.isMoving(row.userId())) {
+                continue;
+            }
+            SalaryParser.Salary salary = SalaryParser.parse(row.salaryRange());
+            if (salary != null) {
+                parsed.add(new Parsed(row, salary));
+            }
+        }
+        if (parsed.isEmpty()) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_SALARY, parsed, parsed.size(), (ps, item) -> {
+                ps.setLong(1, item.salary().min());
+                ps.setLong(2, item.salary().max());
+                ps.setString(3, item.salary().currency());
+                ps.setLong(4, item.row().id());
+                ps.setString(5, item.row().salaryRange());
+            });
+            // Cached lists and ETags predate the new columns
+            Set<String> emails = new HashSet<>();
+            parsed.forEach(item -> emails.add(item.row().email()));
+            emails.forEach(dataVersionService::bump);
+        });
+        return parsed.size();
+    }
+}
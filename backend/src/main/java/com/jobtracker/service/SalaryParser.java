@@ -0,0 +1,162 @@
+package com.jobtracker.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the free-form salary text users type ("$120k - $150k", "€60.000",
+ * "45-55 USD/hr", "£40,000 per annum") into an annual range and a currency.
+ *
+ * Hourly, daily, weekly and monthly figures are annualized (2080 hours, 260
+ * days, 52 weeks, 12 months). A bare "120-150" with no suffix and no period
+ * is read as thousands, which is what people mean in a salary field. A single
+ * figure, including "100k+" and "up to 90k", becomes a range of one value.
+ */
+public final class SalaryParser {
+
+    public record Salary(long min, long max, String currency) {
+    }
+
+    // Longest prefixes first, so "CA$" wins over "$"
+    private static final Map<String, String> SYMBOLS = new LinkedHashMap<>();
+
+    static {
+        SYMBOLS.put("CA$", "CAD");
+        SYMBOLS.put("AU$", "AUD");
+        SYMBOLS.put("NZ$", "NZD");
+        SYMBOLS.put("US$", "USD");
+        SYMBOLS.put("C$", "CAD");
+        SYMBOLS.put("A$", "AUD");
+        SYMBOLS.put("S$", "SGD");
+        SYMBOLS.put("$", "USD");
+        SYMBOLS.put("€", "EUR");
+        SYMBOLS.put("£", "GBP");
+        SYMBOLS.put("¥", "JPY");
+        SYMBOLS.put("₹", "INR");
+    }
+
+    private static final Pattern CURRENCY_CODE = Pattern.compile(
+            "\\b(USD|EUR|GBP|CAD|AUD|NZD|CHF|JPY|INR|SEK|NOK|DKK|PLN|SGD)\\b", Pattern.CASE_INSENSITIVE);
+
+    // 120,000 / 60.000 / 60 000 / 1.5 / 1,234.56 followed by an optional k or m
+    private static final Pattern NUMBER = Pattern.compile(
+            "(\\d+(?:[.,\\u00A0\\u202F ]\\d{3})+(?!\\d)(?:[.,]\\d+)?|\\d+(?:[.,]\\d+)?)\\s*([km])?(?![a-z])");
+    private static final Pattern THOUSANDS_GROUPED = Pattern.compile("\\d{1,3}(?:[.,\\u00A0\\u202F ]\\d{3})+");
+
+    private static final Pattern HOURLY = Pattern.compile("/\\s*h(ou)?r?\\b|\\bper hour\\b|\\bhourly\\b|\\ban hour\\b|\\bp/?h\\b");
+    private static final Pattern DAILY = Pattern.compile("/\\s*day\\b|\\bper day\\b|\\bdaily\\b|\\ba day\\b");
+    private static final Pattern WEEKLY = Pattern.compile("/\\s*w(ee)?k\\b|\\bper week\\b|\\bweekly\\b|\\ba week\\b");
+    private static final Pattern MONTHLY = Pattern.compile("/\\s*mo(nth)?\\b|\\bper month\\b|\\bmonthly\\b|\\ba month\\b");
+
+    // A second figure this far from the first is something else (a year, a bonus)
+    private static final int MAX_RANGE_RATIO = 10;
+
+    private SalaryParser() {
+    }
+
+    /**
+     * @return the parsed range, or null if the text holds no usable figure
+     */
+    public static Salary parse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+
+        List<BigDecimal> values = new ArrayList<>();
+        List<Long> multipliers = new ArrayList<>();
+        Matcher matcher = NUMBER.matcher(lower);
+        while (matcher.find() && values.size() < 2) {
+            values.add(number(matcher.group(1)));
+            String suffix = matcher.group(2);
+            multipliers.add(suffix == null ? 1L : suffix.equals("k") ? 1_000L : 1_000_000L);
+        }
+        if (values.isEmpty()) {
+            return null;
+        }
+
+        long periodFactor = periodFactor(lower);
+        long defaultMultiplier = multipliers.stream().filter(m -> m > 1).findFirst().orElse(1L);
+        if (defaultMultiplier == 1 && periodFactor == 1) {
+            // "120-150" in a salary field means thousands
+            defaultMultiplier = values.stream().allMatch(v -> v.compareTo(BigDecimal.valueOf(1000)) < 0) ? 1_000L : 1L;
+        }
+
+        long[] annual = new long[values.size()];
+        for (int i = 0; i < values.size(); i++) {
+            long multiplier = multipliers.get(i);
+            // "120-150k": the suffix on one end applies to a bare small figure on the other
+            if (multiplier == 1 && values.get(i).compareTo(BigDecimal.valueOf(1000)) < 0) {
+                multiplier = defaultMultiplier;
+            }
+            annual[i] = values.get(i)
+                    .multiply(BigDecimal.valueOf(multiplier))
+                    .multiply(BigDecimal.valueOf(periodFactor))
+                    .longValue();
+        }
+
+        long min = annual[0];
+        long max = annual[0];
+        if (annual.length > 1 && annual[1] > 0) {
+            long low = Math.min(annual[0], annual[1]);
+            long high = Math.max(annual[0], annual[1]);
+            if (low > 0 && high / low <= MAX_RANGE_RATIO) {
+                min = low;
+                max = high;
+            }
+        }
+        if (max <= 0) {
+            return null;
+        }
+        return new Salary(min, max, currency(text));
+    }
+
+    private static BigDecimal number(String raw) {
+        if (THOUSANDS_GROUPED.matcher(raw).matches()) {
+            return new BigDecimal(raw.replaceAll("[^\\d]", ""));
+        }
+        int lastSeparator = Math.max(raw.lastIndexOf('.'), raw.lastIndexOf(','));
+        if (lastSeparator < 0) {
+            return new BigDecimal(raw);
+        }
+        String whole = raw.substring(0, lastSeparator).replaceAll("[^\\d]", "");
+        String fraction = raw.substring(lastSeparator + 1);
+        return new BigDecimal((whole.isEmpty() ? "0" : whole) + "." + fraction);
+    }
+
+    private static long periodFactor(String lower) {
+        if (HOURLY.matcher(lower).find()) {
+            return 2080;
+        }
+        if (DAILY.matcher(lower).find()) {
+            return 260;
+        }
+        if (WEEKLY.matcher(lower).find()) {
+            return 52;
+        }
+        if (MONTHLY.matcher(lower).find()) {
+            return 12;
+        }
+        return 1;
+    }
+
+    private static String currency(String text) {
+        Matcher code = CURRENCY_CODE.matcher(text);
+        if (code.find()) {
+            return code.group(1).toUpperCase(Locale.ROOT);
+        }
+        String upper = text.toUpperCase(Locale.ROOT);
+        for (Map.Entry<String, String> symbol : SYMBOLS.entrySet()) {
+            if (upper.contains(symbol.getKey())) {
+                return symbol.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.jobtracker.service;
+
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Computes description signatures and LSH buckets ({@link SimilarityIndex})
+ * for applications saved before they existed. Same shape as
+ * {@link SalaryBackfill}; a description edited in the meantime is left to the
+ * edit, which indexes it itself, and users being moved to another shard wait
+ * for the next start.
+ */
+@Service
+@Slf4j
+public class SignatureBackfill {
+
+    private static final String SELECT_BATCH =
+            "SELECT id, user_id, job_description FROM job_applications " +
+            "WHERE id > ? AND job_description IS NOT NULL AND description_signature IS NULL ORDER BY id LIMIT ?";
+
+    private record Row(long id, long userId, String description) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+    private final SimilarityIndex similarityIndex;
+    private final int batchSize;
+    private final long pauseMs;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "signature-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SignatureBackfill(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ShardDirectory shardDirectory,
+                             SimilarityIndex similarityIndex,
+                             @Value("${signature.backfill.batch-size:200}") int batchSize,
+                             @Value("${signature.backfill.pause-ms:50}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardDirectory = shardDirectory;
+        this.similarityIndex = similarityIndex;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.submit(() -> {
+            for (int shard : shardDirectory.shardIds()) {
+                try {
+                    ShardContext.runOn(shard, () -> backfill(shard));
+                } catch (RuntimeException e) {
+                    log.error("Signature backfill on shard {} stopped: {}", shard, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    private void backfill(int shard) {
+        long afterId = 0;
+        int indexed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Row> rows = jdbcTemplate.query(SELECT_BATCH,
+                    (rs, rowNum) -> new Row(rs.getLong(1), rs.getLong(2), rs.getString(3)),
+                    afterId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).id();
+            List<Row> settled = rows.stream().filter(row -> !shardDirectory.isMoving(row.userId())).toList();
+            transactionTemplate.executeWithoutResult(status ->
+                    settled.forEach(row -> similarityIndex.index(row.id(), row.userId(), row.description())));
+            indexed += settled.size();
+
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (indexed > 0) {
+            log.info("🧬 Signature backfill on shard {}: indexed {} job descriptions", shard, indexed);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.SimilarApplicationDTO;
+import com.jobtracker.model.ApplicationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds applications whose job descriptions are nearly the same text, e.g. one
+ * posting forwarded by several recruiters, without comparing every pair.
+ *
+ * Each description is reduced to a MinHash signature over its word 3-grams:
+ * the fraction of positions two signatures agree on estimates the Jaccard
+ * similarity of their 3-gram sets. The signature is cut into {@link #BANDS}
+ * bands whose hashes are stored as LSH buckets, so near-duplicates are found
+ * with an index lookup of the buckets an application is in. With 16 bands of
+ * 8 rows, pairs above ~0.7 similarity almost always share a bucket and pairs
+ * below ~0.4 rarely do.
+ */
+@Service
+@RequiredArgsConstructor
+public class SimilarityIndex {
+
+    private static final int HASHES = 128;
+    private static final int BANDS = 16;
+    private static final int ROWS = HASHES / BANDS;
+    private static final int SHINGLE_WORDS = 3;
+
+    // Fixed so stored signatures stay comparable across restarts
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long state = 0x6A09E667F3BCC908L;
+        for (int i = 0; i < HASHES; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(state);
+        }
+    }
+
+    private static final String UPDATE_SIGNATURE =
+            "UPDATE job_applications SET description_signature = ? " +
+            "WHERE id = ? AND job_description IS NOT DISTINCT FROM ?";
+    private static final String DELETE_BUCKETS = "DELETE FROM application_similarity_buckets WHERE application_id = ?";
+    private static final String INSERT_BUCKET =
+            "INSERT INTO application_similarity_buckets (application_id, user_id, band, bucket) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_SIGNATURE =
+            "SELECT description_signature FROM job_applications WHERE id = ? AND user_id = ?";
+    private static final String SELECT_CANDIDATES =
+            "SELECT a.id, a.company_id, c.name, a.position, a.status, a.description_signature " +
+            "FROM job_applications a JOIN companies c ON c.id = a.company_id " +
+            "WHERE a.user_id = ? AND a.id IN (" +
+            "SELECT DISTINCT other.application_id FROM application_similarity_buckets own " +
+            "JOIN application_similarity_buckets other " +
+            "ON other.user_id = own.user_id AND other.band = own.band AND other.bucket = own.bucket " +
+            "WHERE own.application_id = ? AND other.application_id <> own.application_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stores the signature and buckets of an application's description, in the
+     * caller's transaction. Does nothing if the stored description is no longer
+     * {@code description}, so a stale caller can't overwrite a newer one.
+     */
+    public void index(long applicationId, long userId, String description) {
+        int[] signature = signature(description);
+        int updated = jdbcTemplate.update(UPDATE_SIGNATURE,
+                signature == null ? null : toBytes(signature), applicationId, description);
+        if (updated == 0) {
+            return;
+        }
+        jdbcTemplate.update(DELETE_BUCKETS, applicationId);
+        if (signature == null) {
+            return;
+        }
+        long[] buckets = buckets(signature);
+        List<Object[]> rows = new ArrayList<>(BANDS);
+        for (int band = 0; band < BANDS; band++) {
+            rows.add(new Object[]{applicationId, userId, band, buckets[band]});
+        }
+        jdbcTemplate.batchUpdate(INSERT_BUCKET, rows);
+    }
+
+    /**
+     * The user's other applications sharing an LSH bucket with this one whose
+     * estimated similarity is at least {@code threshold}, most similar first.
+     * Empty if the application has no description, or isn't the user's.
+     */
+    public List<SimilarApplicationDTO> findSimilar(long userId, long applicationId, double threshold, int limit) {
+        List<byte[]> own = jdbcTemplate.query(SELECT_SIGNATURE, (rs, rowNum) -> rs.getBytes(1),
+                applicationId, userId);
+        if (own.isEmpty() || own.get(0) == null) {
+            return List.of();
+        }
+        int[] signature = fromBytes(own.get(0));
+
+        List<SimilarApplicationDTO> similar = new ArrayList<>();
+        jdbcTemplate.query(SELECT_CANDIDATES, rs -> {
+            byte[] other = rs.getBytes(6);
+            if (other == null) {
+                return;
+            }
+            double similarity = similarity(signature, fromBytes(other));
+            if (similarity >= threshold) {
+                similar.add(new SimilarApplicationDTO(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                        rs.getString(4), ApplicationStatus.valueOf(rs.getString(5)), similarity));
+            }
+        }, userId, applicationId);
+
+        similar.sort(Comparator.comparingDouble(SimilarApplicationDTO::getSimilarity).reversed()
+                .thenComparing(SimilarApplicationDTO::getId));
+        return similar.size() > limit ? similar.subList(0, limit) : similar;
+    }
+
+    /** MinHash signature of the description's word 3-grams, or null if it has no words. */
+    static int[] signature(String description) {
+        Set<Long> shingles = shingles(description);
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < HASHES; i++) {
+                int hash = (int) mix(shingle ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static Set<Long> shingles(String description) {
+        String normalized = CompanyNames.normalize(description);
+        if (normalized.isEmpty()) {
+            return Set.of();
+        }
+        String[] words = normalized.split(" ");
+        long[] wordHashes = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            wordHashes[i] = fnv1a(words[i]);
+        }
+        // Shorter texts are one shingle of all their words
+        int size = Math.min(SHINGLE_WORDS, words.length);
+        Set<Long> shingles = new HashSet<>();
+        for (int start = 0; start + size <= words.length; start++) {
+            long hash = 0;
+            for (int i = start; i < start + size; i++) {
+                hash = mix(hash * 31 + wordHashes[i]);
+            }
+            shingles.add(hash);
+        }
+        return shingles;
+    }
+
+    private static long[] buckets(int[] signature) {
+        long[] buckets = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long hash = band;
+            for (int row = 0; row < ROWS; row++) {
+                hash = mix(hash * 31 + signature[band * ROWS + row]);
+            }
+            buckets[band] = hash;
+        }
+        return buckets;
+    }
+
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(HASHES * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    private static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private static long fnv1a(String text) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,220 @@
+package com.jobtracker.service;
+
+import com.jobtracker.model.ApplicationEventOutbox;
+import com.jobtracker.model.ApplicationStatus;
+import com.jobtracker.repository.ApplicationEventOutboxRepository;
+import com.jobtracker.sharding.ShardContext;
+import com.jobtracker.sharding.ShardDirectory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only log of application status transitions.
+ *
+ * The request path writes one small outbox row inside its own transaction and,
+ * after commit, hands the event to a bounded in-memory queue. A background writer
+ * drains the queue and moves events into {@code application_events} with JDBC
+ * batches, deleting the matching outbox rows in the same transaction. If the queue
+ * is full, or the process dies before a flush, the outbox row is still there and
+ * the periodic sweep replays it; the unique outbox id makes replays idempotent.
+ * Events of a user being moved to another shard are left in the outbox, which
+ * moves with the user, for the sweep on the new shard. Committed transitions are also fed to {@link FunnelAnalyticsService}.
+ */
+@Service
+@Slf4j
+public class StatusTransitionLog {
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO application_events " +
+            "(outbox_id, application_id, user_id, from_status, to_status, unusual, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (outbox_id) DO NOTHING";
+    private static final String DELETE_OUTBOX = "DELETE FROM application_event_outbox WHERE id = ?";
+
+    // Outbox rows younger than this are probably still sitting in the queue
+    private static final long SWEEP_GRACE_SECONDS = 30;
+
+    private final ApplicationEventOutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FunnelAnalyticsService funnelAnalytics;
+    private final ShardDirectory shardDirectory;
+
+    @Value("${status-log.batch-size:200}")
+    private int batchSize;
+
+    @Value("${status-log.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${status-log.sweep-interval-seconds:60}")
+    private long sweepIntervalSeconds;
+
+    private record Pending(int shard, ApplicationEventOutbox event) {
+    }
+
+    private final BlockingQueue<Pending> queue;
+
+    private ScheduledExecutorService writer;
+
+    public StatusTransitionLog(ApplicationEventOutboxRepository outboxRepository,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               FunnelAnalyticsService funnelAnalytics,
+                               ShardDirectory shardDirectory,
+                               @Value("${status-log.queue-capacity:10000}") int queueCapacity) {
+        this.outboxRepository = outboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.funnelAnalytics = funnelAnalytics;
+        this.shardDirectory = shardDirectory;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "status-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flushQueue, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        // First sweep picks up whatever a previous run left behind
+        writer.scheduleWithFixedDelay(this::sweepOutbox, 0, sweepIntervalSeconds, TimeUnit.SECONDS);
+        log.info("📜 Status transition log started (batch size {})", batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything not flushed here stays in the outbox for the next start
+        flushQueue();
+    }
+
+    /**
+     * Records a transition from inside the caller's transaction. {@code from} is
+     * null for the initial status of a new application.
+     */
+    public void record(Long applicationId, Long userId, ApplicationStatus from, ApplicationStatus to) {
+        if (from == to) {
+            return;
+        }
+        boolean unusual = from != null && isUnusualTransition(from, to);
+        if (unusual) {
+            log.warn("⚠️ Unusual status transition for application #{}: {} → {}", applicationId, from, to);
+        }
+
+        ApplicationEventOutbox event = outboxRepository.save(new ApplicationEventOutbox(
+                null, applicationId, userId, from, to, unusual, LocalDateTime.now()));
+
+        Pending pending = new Pending(ShardContext.current(), event);
+        TransactionCallbacks.afterCommit(() -> {
+            funnelAnalytics.onTransition(event);
+            if (!queue.offer(pending)) {
+                log.debug("Status log queue full, event {} left to the outbox sweep", event.getId());
+            }
+        });
+    }
+
+    static boolean isUnusualTransition(ApplicationStatus from, ApplicationStatus to) {
+        if (from == to) {
+            return false;
+        }
+
+        // Transitions that are unusual but might happen:
+        return (from == ApplicationStatus.ACCEPTED && to != ApplicationStatus.ACCEPTED) ||  // Un-accepting
+                (from == ApplicationStatus.REJECTED && to == ApplicationStatus.OFFER) ||      // Rejected to Offer
+                (from == ApplicationStatus.WITHDRAWN && to == ApplicationStatus.INTERVIEW) || // Withdrawn to Interview
+                (from == ApplicationStatus.OFFER && to == ApplicationStatus.SAVED);           // Offer back to Saved
+
+        // All other transitions are considered normal
+    }
+
+    private void flushQueue() {
+        try {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                batch.stream()
+                        .collect(Collectors.groupingBy(Pending::shard,
+                                Collectors.mapping(Pending::event, Collectors.toList())))
+                        .forEach((shard, events) -> ShardContext.runOn(shard, () -> write(events)));
+                batch.clear();
+            }
+        } catch (Exception e) {
+            // Unwritten events are still in the outbox; the sweep will retry them
+            log.error("Failed to flush status transitions: {}", e.getMessage());
+        }
+    }
+
+    void sweepOutbox() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusSeconds(SWEEP_GRACE_SECONDS);
+            for (int shard : shardDirectory.shardIds()) {
+                ShardContext.runOn(shard, () -> {
+                    long afterId = 0;
+                    List<ApplicationEventOutbox> batch;
+                    do {
+                        batch = outboxRepository.findTop500ByIdGreaterThanAndOccurredAtBeforeOrderByIdAsc(
+                                afterId, cutoff);
+                        if (!batch.isEmpty()) {
+                            afterId = batch.get(batch.size() - 1).getId();
+                            int written = write(batch);
+                            if (written > 0) {
+                                log.info("📜 Replayed {} status transitions from the outbox", written);
+                            }
+                        }
+                    } while (batch.size() == 500);
+                });
+            }
+        } catch (Exception e) {
+            log.error("Status log outbox sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /** @return how many events were written; those of users moving shards are skipped */
+    private int write(List<ApplicationEventOutbox> events) {
+        List<ApplicationEventOutbox> batch = events.stream()
+                .filter(event -> !shardDirectory.isMoving(event.getUserId()))
+                .toList();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_EVENT, batch, batch.size(), (ps, event) -> {
+                ps.setLong(1, event.getId());
+                ps.setLong(2, event.getApplicationId());
+                ps.setLong(3, event.getUserId());
+                ps.setString(4, event.getFromStatus() != null ? event.getFromStatus().name() : null);
+                ps.setString(5, event.getToStatus().name());
+                ps.setBoolean(6, event.isUnusual());
+                ps.setTimestamp(7, Timestamp.valueOf(event.getOccurredAt()));
+            });
+            jdbcTemplate.batchUpdate(DELETE_OUTBOX, batch, batch.size(),
+                    (ps, event) -> ps.setLong(1, event.getId()));
+        });
+        return batch.size();
+    }
+}
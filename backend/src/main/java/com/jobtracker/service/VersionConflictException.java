@@ -0,0 +1,20 @@
+package com.jobtracker.service;
+
+import lombok.Getter;
+
+/**
+ * A conditional update named a version that is no longer current.
+ * Carries the current state so the client can merge and retry.
+ */
+@Getter
+public class VersionConflictException extends RuntimeException {
+
+    private final Object current;
+    private final Long currentVersion;
+
+    public VersionConflictException(String message, Object current, Long currentVersion) {
+        super(message);
+        this.current = current;
+        this.currentVersion = currentVersion;
+    }
+}
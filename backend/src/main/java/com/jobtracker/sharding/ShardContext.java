@@ -0,0 +1,53 @@
+package com.jobtracker.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread's database work goes to. Set per request by the
+ * JWT filter from the shard directory; background jobs set it explicitly for
+ * each shard they visit. Unset means the default shard, which is also where
+ * everything lives when sharding is disabled.
+ */
+public final class ShardContext {
+
+    public static final int DEFAULT_SHARD = 0;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : DEFAULT_SHARD;
+    }
+
+    public static void set(int shard) {
+        CURRENT.set(shard);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void runOn(int shard, Runnable task) {
+        callOn(shard, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> task) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.jobtracker.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Which shard holds each user's data.
+ *
+ * New users are placed by a hash of their email; the placement is then recorded
+ * in the {@code shard_directory} table on the default shard, so a user keeps
+ * their shard when the shard count changes and can be moved individually.
+ * Users registered before sharding have no entry and live on the default shard.
+ *
+ * Lookups are cached for {@code app.sharding.directory-cache-seconds}; a move
+ * waits at least that long after flagging the user, so every node has seen the
+ * flag before any data is copied. Background jobs, which work by user id rather
+ * than email, ask {@link #isMoving} instead; it answers from the set of users
+ * being moved, reloaded just as often.
+ */
+@Service
+@Slf4j
+public class ShardDirectory {
+
+    public record Placement(int shard, boolean moving) {
+    }
+
+    private record Cached(Placement placement, long loadedAt) {
+    }
+
+    private record MovingUsers(Set<Long> userIds, long loadedAt) {
+    }
+
+    private static final Placement DEFAULT_PLACEMENT = new Placement(ShardContext.DEFAULT_SHARD, false);
+
+    private final ShardRoutingDataSource routing;
+    private final JdbcTemplate directory;
+    private final long cacheTtlMs;
+
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+    private volatile MovingUsers movingUsers;
+
+    public ShardDirectory(ObjectProvider<ShardRoutingDataSource> routing,
+                          @Value("${app.sharding.directory-cache-seconds:30}") long cacheTtlSeconds) {
+        this.routing = routing.getIfAvailable();
+        this.directory = this.routing != null
+                ? new JdbcTemplate(this.routing.shard(ShardContext.DEFAULT_SHARD))
+                : null;
+        this.cacheTtlMs = cacheTtlSeconds * 1000;
+    }
+
+    public boolean isEnabled() {
+        return routing != null;
+    }
+
+    public List<Integer> shardIds() {
+        return isEnabled()
+                ? IntStream.range(0, routing.shardCount()).boxed().toList()
+                : List.of(ShardContext.DEFAULT_SHARD);
+    }
+
+    long cacheTtlMs() {
+        return cacheTtlMs;
+    }
+
+    public Placement locate(String email) {
+        if (!isEnabled()) {
+            return DEFAULT_PLACEMENT;
+        }
+        String key = key(email);
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(key);
+        if (cached != null && now - cached.loadedAt() < cacheTtlMs) {
+            return cached.placement();
+        }
+        List<Placement> rows = directory.query(
+                "SELECT shard_id, moving FROM shard_directory WHERE email = ?",
+                (rs, rowNum) -> new Placement(rs.getInt("shard_id"), rs.getBoolean("moving")),
+                key);
+        Placement placement = rows.isEmpty() ? DEFAULT_PLACEMENT : rows.get(0);
+        cache.put(key, new Cached(placement, now));
+        return placement;
+    }
+
+    /**
+     * Whether the user's rows are being copied to another shard or deleted from
+     * the old one; background jobs must not write them until it is over. Stays
+     * true a little longer than the user's {@link Placement#moving} flag.
+     */
+    public boolean isMoving(Long userId) {
+        if (!isEnabled()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        MovingUsers moving = movingUsers;
+        if (moving == null || now - moving.loadedAt() >= cacheTtlMs) {
+            moving = new MovingUsers(Set.copyOf(directory.queryForList(
+                    "SELECT moving_user_id FROM shard_directory WHERE moving_user_id IS NOT NULL", Long.class)), now);
+            movingUsers = moving;
+        }
+        return moving.userIds().contains(userId);
+    }
+
+    /**
+     * Places a new user by email hash, or returns the existing placement if the
+     * email already has one (e.g. a registration that failed halfway).
+     */
+    public int assign(String email) {
+        if (!isEnabled()) {
+            return ShardContext.DEFAULT_SHARD;
+        }
+        String key = key(email);
+        int shard = Math.floorMod(key.hashCode(), routing.shardCount());
+        directory.update("INSERT INTO shard_directory (email, shard_id) VALUES (?, ?) " +
+                "ON CONFLICT (email) DO NOTHING", key, shard);
+        cache.remove(key);
+        return locate(key).shard();
+    }
+
+    void markMoving(String email, Long userId, int shard) {
+        String key = key(email);
+        directory.update("INSERT INTO shard_directory (email, shard_id, moving, moving_user_id, updated_at) " +
+                "VALUES (?, ?, true, ?, now()) " +
+                "ON CONFLICT (email) DO UPDATE SET moving = true, moving_user_id = EXCLUDED.moving_user_id, " +
+                "updated_at = now()", key, shard, userId);
+        cache.remove(key);
+        movingUsers = null;
+    }
+
+    /** Points the user at the target; background jobs stay fenced until {@link #finishMove}. */
+    void completeMove(String email, int targetShard) {
+        String key = key(email);
+        directory.update("UPDATE shard_directory SET shard_id = ?, moving = false, updated_at = now() WHERE email = ?",
+                targetShard, key);
+        cache.remove(key);
+        log.info("🧭 {} now lives on shard {}", key, targetShard);
+    }
+
+    /** The old shard's rows are gone (or the move was abandoned). */
+    void finishMove(String email) {
+        directory.update("UPDATE shard_directory SET moving_user_id = NULL, updated_at = now() WHERE email = ?",
+                key(email));
+        movingUsers = null;
+    }
+
+    void abortMove(String email) {
+        String key = key(email);
+        directory.update("UPDATE shard_directory SET moving = false, moving_user_id = NULL, updated_at = now() " +
+                "WHERE email = ?", key);
+        cache.remove(key);
+        movingUsers = null;
+    }
+
+    Map<Integer, Long> countByShard() {
+        Map<Integer, Long> counts = new ConcurrentHashMap<>();
+        directory.query("SELECT shard_id, count(*) AS users FROM shard_directory GROUP BY shard_id",
+                rs -> {
+                    counts.put(rs.getInt("shard_id"), rs.getLong("users"));
+                });
+        return counts;
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,54 @@
+package com.jobtracker.sharding;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the shard's pool from {@link ShardContext} when a transaction (or a
+ * non-transactional statement) asks for a connection.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(ShardContext.DEFAULT_SHARD));
+        // An unknown shard id is a bug, not something to paper over with the default
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public DataSource shard(int id) {
+        return shards.get(id);
+    }
+
+    // The extra shard pools aren't beans of their own; closing a pool twice is harmless.
+    // The pools sit behind QueryInspector's wrapper, hence unwrap.
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard.isWrapperFor(AutoCloseable.class)) {
+                shard.unwrap(AutoCloseable.class).close();
+            }
+        }
+    }
+}
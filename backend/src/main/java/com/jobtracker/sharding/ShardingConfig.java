@@ -0,0 +1,94 @@
+package com.jobtracker.sharding;
+
+import com.jobtracker.inspection.QueryInspector;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User-keyed sharding, active when {@code app.sharding.enabled=true}.
+ *
+ * Shard 0 is the database configured through {@code spring.datasource.*}; it
+ * also holds the shard directory. {@code app.sharding.urls} lists the other
+ * shards in order, sharing the same credentials. Every shard carries the full
+ * schema: shard 0 is migrated by Spring Boot's Flyway, the others here, with
+ * the shard number as a placeholder so each shard hands out ids from its own
+ * range and rows keep their ids when a user moves.
+ *
+ * For a local setup, the extra shards can simply be more databases on the same
+ * Postgres server (createdb jobtracker_shard1, ...).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@Slf4j
+public class ShardingConfig {
+
+    // Ids above 2^53 would lose precision in the browser, which caps shard numbers
+    private static final int MAX_SHARDS = 32;
+
+    @Value("${app.sharding.urls}")
+    private List<String> shardUrls;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${app.sharding.pool-size:10}")
+    private int poolSize;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource defaultShardDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(HikariDataSource defaultShardDataSource, QueryInspector queryInspector) {
+        if (shardUrls.size() + 1 > MAX_SHARDS) {
+            throw new IllegalStateException("At most " + MAX_SHARDS + " shards are supported");
+        }
+
+        List<DataSource> shards = new ArrayList<>();
+        // Each pool is inspected rather than the router, which the shard mover bypasses
+        shards.add(queryInspector.inspect(defaultShardDataSource));
+        for (int i = 0; i < shardUrls.size(); i++) {
+            int shard = i + 1;
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shard);
+            dataSource.setJdbcUrl(shardUrls.get(i).trim());
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(poolSize);
+            migrate(dataSource, shard);
+            shards.add(queryInspector.inspect(dataSource));
+        }
+        log.info("🧭 Sharding enabled across {} databases", shards.size());
+        return new ShardRoutingDataSource(shards);
+    }
+
+    private void migrate(DataSource dataSource, int shard) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .placeholders(Map.of("shard_id", Integer.toString(shard)))
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,49 @@
+package com.jobtracker.sharding;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Operator endpoint for sharding: {@code GET /actuator/shards} shows the
+ * directory, {@code POST /actuator/shards} with {@code {"email": ..., "target": n}}
+ * queues a move of a user and returns its {@code jobId}, and
+ * {@code GET /actuator/shards/{jobId}} reports how the move went. Only reachable from localhost (see SecurityConfig), and only
+ * when listed in {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "shards")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardsEndpoint {
+
+    private final ShardDirectory directory;
+    private final UserShardMover mover;
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("shards", directory.shardIds());
+        result.put("usersByShard", directory.countByShard());
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> move(String email, int target) {
+        return mover.submit(email, target).describe();
+    }
+
+    /** Null, so a 404, for an unknown or long-forgotten job. */
+    @ReadOperation
+    public Map<String, Object> job(@Selector String jobId) {
+        UserShardMover.MoveJob job = mover.job(jobId);
+        return job != null ? job.describe() : null;
+    }
+}
@@ -0,0 +1,273 @@
+package com.jobtracker.sharding;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves one user's rows to another shard while the application keeps serving.
+ *
+ * 1. The user is flagged as moving: reads continue on the old shard, writes
+ *    are refused with 503 by the JWT filter, and background jobs skip the user
+ *    (see {@link ShardDirectory#isMoving}).
+ * 2. After every node's directory cache has expired and in-flight requests
+ *    have drained, the rows are copied to the target shard in one transaction,
+ *    keeping their ids. They are read in one REPEATABLE READ transaction on the
+ *    old shard, so the copy is a single snapshot even across tables.
+ * 3. The directory is pointed at the target and the flag cleared.
+ * 4. The rows are deleted from the old shard; only then are background jobs
+ *    let back in.
+ *
+ * A failure before step 3 deletes the partial copy and clears the flag, leaving
+ * the user where they were.
+ *
+ * Moves take at least the directory cache lifetime, so {@link #submit} queues
+ * them on a background thread, one at a time, and returns a {@link MoveJob} to
+ * poll; the last {@link #MAX_JOBS} jobs are kept.
+ */
+@Service
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@Slf4j
+public class UserShardMover {
+
+    // Parent tables first; deletes run in reverse
+    private static final List<String> TABLES = List.of(
+            "users", "companies", "job_applications", "interviews", "documents",
+            "application_similarity_buckets", "reminders", "application_events", "application_event_outbox");
+
+    private static final int MAX_JOBS = 100;
+
+    private final ShardDirectory directory;
+    private final ShardRoutingDataSource routing;
+    private final long drainMs;
+
+    private final Map<String, MoveJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MoveJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    });
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shard-mover");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserShardMover(ShardDirectory directory, ShardRoutingDataSource routing,
+                          @Value("${app.sharding.move-drain-ms:2000}") long drainMs) {
+        this.directory = directory;
+        this.routing = routing;
+        this.drainMs = drainMs;
+    }
+
+    @PreDestroy
+    public void stop() {
+        // An interrupted move rolls itself back
+        worker.shutdownNow();
+    }
+
+    /** A queued or finished move. */
+    public static final class MoveJob {
+        private final String id = UUID.randomUUID().toString();
+        private final String email;
+        private final int target;
+        private final Instant submittedAt = Instant.now();
+        private volatile boolean started;
+        private CompletableFuture<Map<String, Object>> result;
+
+        private MoveJob(String email, int target) {
+            this.email = email;
+            this.target = target;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public CompletableFuture<Map<String, Object>> result() {
+            return result;
+        }
+
+        public Map<String, Object> describe() {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("jobId", id);
+            description.put("email", email);
+            description.put("target", target);
+            description.put("submittedAt", submittedAt.toString());
+            if (!result.isDone()) {
+                description.put("status", started ? "RUNNING" : "QUEUED");
+            } else if (result.isCompletedExceptionally()) {
+                description.put("status", "FAILED");
+                try {
+                    result.join();
+                } catch (CompletionException e) {
+                    description.put("error", e.getCause().getMessage());
+                }
+            } else {
+                description.put("status", "DONE");
+                description.put("result", result.join());
+            }
+            return description;
+        }
+    }
+
+    public MoveJob submit(String email, int targetShard) {
+        if (targetShard < 0 || targetShard >= routing.shardCount()) {
+            throw new IllegalArgumentException("No shard " + targetShard);
+        }
+        MoveJob job = new MoveJob(email, targetShard);
+        job.result = CompletableFuture.supplyAsync(() -> {
+            job.started = true;
+            return move(email, targetShard);
+        }, worker);
+        jobs.put(job.getId(), job);
+        log.info("🧭 Queued move {} of {} to shard {}", job.getId(), email, targetShard);
+        return job;
+    }
+
+    public MoveJob job(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    private Map<String, Object> move(String email, int targetShard) {
+        int sourceShard = directory.locate(email).shard();
+        if (sourceShard == targetShard) {
+            return Map.of("email", email, "shard", targetShard, "moved", false);
+        }
+
+        DataSource source = routing.shard(sourceShard);
+        DataSource target = routing.shard(targetShard);
+        Long userId = new JdbcTemplate(source).query("SELECT id FROM users WHERE email = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, email);
+        if (userId == null) {
+            throw new IllegalArgumentException("User " + email + " not found on shard " + sourceShard);
+        }
+
+        long started = System.currentTimeMillis();
+        log.info("🧭 Moving {} (#{}) from shard {} to shard {}", email, userId, sourceShard, targetShard);
+        directory.markMoving(email, userId, sourceShard);
+
+        Map<String, Integer> copied;
+        try {
+            Thread.sleep(directory.cacheTtlMs() + drainMs);
+            copied = copy(userId, source, target);
+        } catch (Exception e) {
+            log.error("Move of {} failed, staying on shard {}: {}", email, sourceShard, e.getMessage());
+            try {
+                delete(userId, target);
+            } finally {
+                directory.abortMove(email);
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Move failed: " + e.getMessage(), e);
+        }
+
+        directory.completeMove(email, targetShard);
+        Map<String, Integer> deleted;
+        try {
+            deleted = delete(userId, source);
+        } finally {
+            directory.finishMove(email);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("email", email);
+        result.put("userId", userId);
+        result.put("from", sourceShard);
+        result.put("to", targetShard);
+        result.put("moved", true);
+        result.put("rows", copied);
+        result.put("deletedFromSource", deleted);
+        result.put("elapsedMs", System.currentTimeMillis() - started);
+        return result;
+    }
+
+    private Map<String, Integer> copy(Long userId, DataSource source, DataSource target) {
+        JdbcTemplate from = new JdbcTemplate(source);
+        JdbcTemplate to = new JdbcTemplate(target);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        TransactionTemplate snapshot = transaction(source);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshot.setReadOnly(true);
+        snapshot.executeWithoutResult(read -> transaction(target).executeWithoutResult(write -> {
+            for (String table : TABLES) {
+                List<String> columns = new ArrayList<>();
+                List<Object[]> rows = new ArrayList<>();
+                from.query("SELECT * FROM " + table + " WHERE " + ownedBy(table), rs -> {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    if (columns.isEmpty()) {
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            columns.add(meta.getColumnName(i));
+                        }
+                    }
+                    Object[] row = new Object[columns.size()];
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = rs.getObject(i + 1);
+                    }
+                    rows.add(row);
+                }, ownerParameters(table, userId));
+                if (!rows.isEmpty()) {
+                    String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" +
+                            String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+                    to.batchUpdate(sql, rows);
+                }
+                counts.put(table, rows.size());
+            }
+        }));
+        return counts;
+    }
+
+    private Map<String, Integer> delete(Long userId, DataSource dataSource) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        transaction(dataSource).executeWithoutResult(status -> {
+            for (int i = TABLES.size() - 1; i >= 0; i--) {
+                String table = TABLES.get(i);
+                counts.put(table, jdbc.update("DELETE FROM " + table + " WHERE " + ownedBy(table),
+                        ownerParameters(table, userId)));
+            }
+        });
+        return counts;
+    }
+
+    private static String ownedBy(String table) {
+        return switch (table) {
+            case "users" -> "id = ?";
+            // Documents only reference their application; old interviews may lack user_id
+            case "documents" -> "application_id IN (SELECT id FROM job_applications WHERE user_id = ?)";
+            case "interviews" -> "user_id = ? OR application_id IN (SELECT id FROM job_applications WHERE user_id = ?)";
+            default -> "user_id = ?";
+        };
+    }
+
+    private static Object[] ownerParameters(String table, Long userId) {
+        return table.equals("interviews") ? new Object[]{userId, userId} : new Object[]{userId};
+    }
+
+    private static TransactionTemplate transaction(DataSource dataSource) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+}
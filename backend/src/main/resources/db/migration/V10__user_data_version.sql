@@ -0,0 +1,3 @@
+-- Per-user data version (DataVersionService), bumped in the same transaction as
+-- every write the user can see. ETags derive from it, so all nodes agree on them.
+ALTER TABLE users ADD COLUMN data_version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- Calendar subscription tokens (CalendarTokenService). Feed requests carry only
+-- the token, so like shard_directory this lives on shard 0 and maps to the email.
+-- Only a SHA-256 of each token is stored; one token per user.
+CREATE TABLE IF NOT EXISTS calendar_feed_tokens (
+    token_hash varchar(64)  PRIMARY KEY,
+    email      varchar(255) NOT NULL,
+    created_at timestamp(6) NOT NULL DEFAULT now(),
+    CONSTRAINT uk_calendar_feed_tokens_email UNIQUE (email)
+);
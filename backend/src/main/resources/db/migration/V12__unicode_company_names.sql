@@ -0,0 +1,11 @@
+-- CompanyNames.normalize used to drop every non-ASCII letter, so values derived
+-- from names or text with any are recomputed by the background jobs:
+-- normalized_name by CompanyMergeJob, fingerprint by FingerprintBackfill and the
+-- description signature (with its buckets) by SignatureBackfill.
+UPDATE companies SET normalized_name = NULL WHERE name ~ '[^\x01-\x7F]';
+
+UPDATE job_applications SET fingerprint = NULL WHERE position ~ '[^\x01-\x7F]';
+
+DELETE FROM application_similarity_buckets WHERE application_id IN (
+    SELECT id FROM job_applications WHERE job_description ~ '[^\x01-\x7F]');
+UPDATE job_applications SET description_signature = NULL WHERE job_description ~ '[^\x01-\x7F]';
@@ -0,0 +1,4 @@
+-- Set while a user's rows are being copied to another shard or deleted from the
+-- old one, so background jobs, which only know user ids, can leave them alone
+-- (ShardDirectory.isMoving). Outlives the moving flag until the old rows are gone.
+ALTER TABLE shard_directory ADD COLUMN IF NOT EXISTS moving_user_id bigint;
@@ -0,0 +1,72 @@
+-- Schema as generated by hibernate.ddl-auto=update before migrations existed.
+-- Databases created that way are baselined at this version and skip it; V2 brings
+-- them (and fresh databases) up to the schema the entities had when Flyway took over.
+
+CREATE TABLE users (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      varchar(255) NOT NULL,
+    password   varchar(255) NOT NULL,
+    first_name varchar(255),
+    last_name  varchar(255),
+    created_at timestamp(6),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE companies (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    bigint       NOT NULL,
+    name       varchar(255) NOT NULL,
+    website    varchar(255),
+    industry   varchar(255),
+    location   varchar(255),
+    notes      varchar(1000),
+    created_at timestamp(6),
+    CONSTRAINT fk_companies_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE job_applications (
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id            bigint       NOT NULL,
+    company_id         bigint       NOT NULL,
+    position           varchar(255) NOT NULL,
+    job_url            varchar(255),
+    location           varchar(255),
+    salary_range       varchar(255),
+    status             varchar(255) NOT NULL,
+    applied_date       date,
+    follow_up_date     date,
+    notes              varchar(2000),
+    job_description    varchar(5000),
+    priority           integer,
+    created_at         timestamp(6),
+    updated_at         timestamp(6),
+    interview_date     date,
+    interview_time     varchar(255),
+    interview_type     varchar(50),
+    interview_location varchar(500),
+    CONSTRAINT fk_job_applications_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_job_applications_company FOREIGN KEY (company_id) REFERENCES companies (id)
+);
+
+CREATE TABLE interviews (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    application_id   bigint       NOT NULL,
+    interview_date   timestamp(6) NOT NULL,
+    interview_type   varchar(255) NOT NULL,
+    location         varchar(255),
+    interviewer_name varchar(255),
+    notes            varchar(255),
+    created_at       timestamp(6),
+    CONSTRAINT fk_interviews_application FOREIGN KEY (application_id) REFERENCES job_applications (id)
+);
+
+CREATE TABLE documents (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    application_id bigint       NOT NULL,
+    file_name      varchar(255) NOT NULL,
+    file_type      varchar(255) NOT NULL,
+    file_path      varchar(255) NOT NULL,
+    file_size      bigint,
+    uploaded_at    timestamp(6),
+    CONSTRAINT fk_documents_application FOREIGN KEY (application_id) REFERENCES job_applications (id)
+);
@@ -0,0 +1,70 @@
+-- Tables and columns the entities gained after the V1 schema but before Flyway took
+-- over. A database baselined at V1 may have been updated by hibernate.ddl-auto=update
+-- anywhere in between, so everything here is IF NOT EXISTS and fills in what it lacks.
+
+-- Optimistic locking; ddl-auto added these as nullable columns without a default
+ALTER TABLE companies ADD COLUMN IF NOT EXISTS version bigint;
+UPDATE companies SET version = 0 WHERE version IS NULL;
+ALTER TABLE companies ALTER COLUMN version SET DEFAULT 0, ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE job_applications ADD COLUMN IF NOT EXISTS version bigint;
+UPDATE job_applications SET version = 0 WHERE version IS NULL;
+ALTER TABLE job_applications ALTER COLUMN version SET DEFAULT 0, ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE interviews ADD COLUMN IF NOT EXISTS version bigint;
+UPDATE interviews SET version = 0 WHERE version IS NULL;
+ALTER TABLE interviews ALTER COLUMN version SET DEFAULT 0, ALTER COLUMN version SET NOT NULL;
+
+-- Interview owner, denormalized from the application for per-user calendar queries
+ALTER TABLE interviews ADD COLUMN IF NOT EXISTS user_id bigint;
+UPDATE interviews i SET user_id = a.user_id FROM job_applications a
+WHERE i.application_id = a.id AND i.user_id IS NULL;
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_interviews_user') THEN
+        ALTER TABLE interviews ADD CONSTRAINT fk_interviews_user FOREIGN KEY (user_id) REFERENCES users (id);
+    END IF;
+END $$;
+CREATE INDEX IF NOT EXISTS idx_interviews_user_date ON interviews (user_id, interview_date);
+
+CREATE TABLE IF NOT EXISTS reminders (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    bigint       NOT NULL,
+    type       varchar(30)  NOT NULL,
+    source_id  bigint       NOT NULL,
+    event_at   timestamp(6) NOT NULL,
+    due_at     timestamp(6) NOT NULL,
+    message    varchar(500) NOT NULL,
+    sent_at    timestamp(6),
+    created_at timestamp(6),
+    CONSTRAINT uk_reminders_source UNIQUE (type, source_id),
+    CONSTRAINT fk_reminders_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reminders_pending ON reminders (sent_at, due_at);
+CREATE INDEX IF NOT EXISTS idx_reminders_user_pending ON reminders (user_id, sent_at, due_at);
+
+CREATE TABLE IF NOT EXISTS application_event_outbox (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    application_id bigint       NOT NULL,
+    user_id        bigint       NOT NULL,
+    from_status    varchar(255),
+    to_status      varchar(255) NOT NULL,
+    unusual        boolean      NOT NULL,
+    occurred_at    timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS application_events (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    outbox_id      bigint       NOT NULL,
+    application_id bigint       NOT NULL,
+    user_id        bigint       NOT NULL,
+    from_status    varchar(255),
+    to_status      varchar(255) NOT NULL,
+    unusual        boolean      NOT NULL,
+    occurred_at    timestamp(6) NOT NULL,
+    CONSTRAINT uk_application_events_outbox UNIQUE (outbox_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_application_events_application ON application_events (application_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_application_events_user ON application_events (user_id, occurred_at);
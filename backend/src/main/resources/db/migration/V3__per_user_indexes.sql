@@ -0,0 +1,27 @@
+-- Indexes for the per-user repository queries; hibernate.ddl-auto never created these.
+-- IF NOT EXISTS because baselined databases may have some from earlier @Index annotations.
+
+-- findByUserId, findByUserIdAndStatus, countByStatusForUser
+CREATE INDEX IF NOT EXISTS idx_job_applications_user_status ON job_applications (user_id, status);
+-- findByUserId(Pageable) with the default createdAt sort
+CREATE INDEX IF NOT EXISTS idx_job_applications_user_created ON job_applications (user_id, created_at);
+-- findByUserIdAndCompanyId
+CREATE INDEX IF NOT EXISTS idx_job_applications_user_company ON job_applications (user_id, company_id);
+-- findByCompanyId and the company foreign key
+CREATE INDEX IF NOT EXISTS idx_job_applications_company ON job_applications (company_id);
+
+-- findByUserId, findByIdAndUserId
+CREATE INDEX IF NOT EXISTS idx_companies_user_name ON companies (user_id, name);
+
+-- findByApplicationId, findByApplicationIdAndUserId and the application foreign key
+CREATE INDEX IF NOT EXISTS idx_interviews_application ON interviews (application_id);
+
+-- findByApplicationId and the application foreign key
+CREATE INDEX IF NOT EXISTS idx_documents_application ON documents (application_id);
+
+-- Funnel replay reads a user's events in outbox order
+CREATE INDEX IF NOT EXISTS idx_application_events_user_outbox ON application_events (user_id, outbox_id);
+
+-- Outbox sweep and funnel replay
+CREATE INDEX IF NOT EXISTS idx_application_event_outbox_occurred ON application_event_outbox (occurred_at);
+CREATE INDEX IF NOT EXISTS idx_application_event_outbox_user ON application_event_outbox (user_id, id);
@@ -0,0 +1,21 @@
+-- Shard directory; only used on shard 0, harmless elsewhere
+CREATE TABLE IF NOT EXISTS shard_directory (
+    email      varchar(255) PRIMARY KEY,
+    shard_id   integer      NOT NULL,
+    moving     boolean      NOT NULL DEFAULT false,
+    updated_at timestamp(6) NOT NULL DEFAULT now()
+);
+
+-- Each shard hands out ids from its own range (shard << 48), so ids stay unique
+-- across shards and rows keep them when a user moves. Shard 0 keeps its sequences.
+DO $$
+DECLARE
+    t text;
+BEGIN
+    IF ${shard_id} > 0 THEN
+        FOREACH t IN ARRAY ARRAY['users', 'companies', 'job_applications', 'interviews', 'documents',
+                                 'reminders', 'application_event_outbox', 'application_events'] LOOP
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id RESTART WITH %s', t, (${shard_id}::bigint << 48) + 1);
+        END LOOP;
+    END IF;
+END $$;
@@ -0,0 +1,9 @@
+-- Salary parsed out of the free-form salary_range (SalaryParser), as annual amounts in
+-- whole units of salary_currency. Open-ended ranges ("100k+", "up to 90k") store the
+-- bound they give in both columns. Existing rows are filled in by SalaryBackfill.
+ALTER TABLE job_applications ADD COLUMN salary_min bigint;
+ALTER TABLE job_applications ADD COLUMN salary_max bigint;
+ALTER TABLE job_applications ADD COLUMN salary_currency varchar(3);
+
+-- Salary range filters on the list and the salary histogram
+CREATE INDEX IF NOT EXISTS idx_job_applications_user_salary ON job_applications (user_id, salary_min, salary_max);
@@ -0,0 +1,9 @@
+-- 64-bit fingerprint of the company id, normalized position and normalized job URL
+-- (DuplicateDetector.fingerprint), so the same job can only be saved once per user.
+-- Computed in Java because URL normalization doesn't fit an index expression;
+-- existing rows are filled in by FingerprintBackfill, which leaves the later
+-- copies of jobs already saved twice without one.
+ALTER TABLE job_applications ADD COLUMN fingerprint bigint;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_job_applications_user_fingerprint
+    ON job_applications (user_id, fingerprint) WHERE fingerprint IS NOT NULL;
@@ -0,0 +1,18 @@
+-- MinHash signature of job_description (SimilarityIndex): 128 x 4-byte minimums.
+-- Existing rows are filled in by SignatureBackfill.
+ALTER TABLE job_applications ADD COLUMN description_signature bytea;
+
+-- Locality-sensitive hashing: one row per band of the signature. Applications
+-- sharing any (band, bucket) are candidate near-duplicates.
+CREATE TABLE IF NOT EXISTS application_similarity_buckets (
+    application_id bigint   NOT NULL,
+    user_id        bigint   NOT NULL,
+    band           smallint NOT NULL,
+    bucket         bigint   NOT NULL,
+    CONSTRAINT pk_application_similarity_buckets PRIMARY KEY (application_id, band),
+    CONSTRAINT fk_application_similarity_buckets_application
+        FOREIGN KEY (application_id) REFERENCES job_applications (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_application_similarity_buckets_lookup
+    ON application_similarity_buckets (user_id, band, bucket, application_id);
@@ -0,0 +1,7 @@
+-- Canonical company name (CompanyNames.canonical: case, accents, punctuation and
+-- legal suffixes like Inc/Ltd removed), unique per user. Rows from before this
+-- version stay NULL until CompanyMergeJob has folded their duplicates together.
+ALTER TABLE companies ADD COLUMN normalized_name varchar(255);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_companies_user_normalized_name
+    ON companies (user_id, normalized_name) WHERE normalized_name IS NOT NULL;
@@ -0,0 +1,3 @@
+-- Length of an interview, for overlap checks and free slots (InterviewScheduleIndex).
+-- NULL means interviews.default-duration-minutes.
+ALTER TABLE interviews ADD COLUMN duration_minutes integer;
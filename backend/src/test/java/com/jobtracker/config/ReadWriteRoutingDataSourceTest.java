@@ -0,0 +1,200 @@
+package com.jobtracker.config;
+
+import com.jobtracker.service.DataVersionService;
+import com.jobtracker.service.ReadYourWritesTracker;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The primary and the replica as two databases on one Postgres server, wired the
+ * way {@link ReadReplicaConfig} does it, so each read shows where it went. There
+ * is no replication between them, so the lag probe always reads 0.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadWriteRoutingDataSourceTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14");
+
+    private static final String EMAIL = "reader@example.com";
+    private static final long STICKY_MS = 300;
+    private static final long LAG_CHECK_MS = 50;
+
+    private static DataSource primary;
+    private static SwitchableDataSource replica;
+
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private DataVersionService dataVersionService;
+
+    @BeforeAll
+    static void createDatabases() {
+        primary = dataSource(postgres.getJdbcUrl());
+        new JdbcTemplate(primary).execute("CREATE DATABASE replica");
+        replica = new SwitchableDataSource(
+                dataSource(postgres.getJdbcUrl().replace("/" + postgres.getDatabaseName(), "/replica")));
+        for (DataSource dataSource : List.of(primary, replica)) {
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration")
+                    .placeholders(Map.of("shard_id", "0"))
+                    .load()
+                    .migrate();
+        }
+        new JdbcTemplate(primary).update("INSERT INTO users (email, password) VALUES (?, 'x')", EMAIL);
+    }
+
+    private static DataSource dataSource(String url) {
+        return new DriverManagerDataSource(url, postgres.getUsername(), postgres.getPassword());
+    }
+
+    @BeforeEach
+    void setUp() {
+        wire(2000);
+        signIn(EMAIL);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        routing.destroy();
+        replica.down = false;
+        SecurityContextHolder.clearContext();
+    }
+
+    private void wire(long maxLagMs) {
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(STICKY_MS);
+        routing = new ReadWriteRoutingDataSource(primary, replica, readYourWrites, maxLagMs, LAG_CHECK_MS);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        dataVersionService = new DataVersionService(jdbcTemplate, readYourWrites);
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private String readOnlyDatabase() {
+        return readOnly.execute(status -> database());
+    }
+
+    // Until the next lag probe, a read can still be routed to a replica that is down
+    private void awaitReadsOn(String database) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                if (readOnlyDatabase().equals(database)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // replica unreachable
+            }
+            Thread.sleep(LAG_CHECK_MS);
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndEverythingElseToThePrimary() {
+        assertThat(readOnlyDatabase()).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> database())).isEqualTo(postgres.getDatabaseName());
+        assertThat(database()).isEqualTo(postgres.getDatabaseName());
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterTheUsersOwnWrite() throws InterruptedException {
+        readWrite.executeWithoutResult(status -> dataVersionService.bump(EMAIL));
+
+        assertThat(readOnlyDatabase()).isEqualTo(postgres.getDatabaseName());
+        // The version read on the primary is the one just written
+        assertThat(readOnly.execute(status -> dataVersionService.getVersion(EMAIL))).isPositive();
+
+        signIn("someone-else@example.com");
+        assertThat(readOnlyDatabase()).isEqualTo("replica");
+
+        signIn(EMAIL);
+        Thread.sleep(STICKY_MS + 50);
+        assertThat(readOnlyDatabase()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWritesDoNotMakeReadsSticky() {
+        readWrite.executeWithoutResult(status -> {
+            dataVersionService.bump(EMAIL);
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyDatabase()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaIsUnreachable() throws InterruptedException {
+        replica.down = true;
+        awaitReadsOn(postgres.getDatabaseName());
+        assertThat(readOnlyDatabase()).isEqualTo(postgres.getDatabaseName());
+
+        replica.down = false;
+        awaitReadsOn("replica");
+        assertThat(readOnlyDatabase()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaLagsTooFarBehind() throws InterruptedException {
+        // Any measured lag is over a negative limit
+        routing.destroy();
+        wire(-1);
+
+        awaitReadsOn(postgres.getDatabaseName());
+        assertThat(readOnlyDatabase()).isEqualTo(postgres.getDatabaseName());
+    }
+
+    /** The replica, with a switch that makes every new connection fail. */
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
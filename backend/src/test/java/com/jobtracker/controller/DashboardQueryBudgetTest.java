@@ -0,0 +1,124 @@
+package com.jobtracker.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jobtracker.inspection.QueryBudgetExceededError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins {@code GET /api/dashboard} to a query budget in test mode
+ * ({@code sql.inspection.fail-over-budget=true}), against a user with more
+ * applications than fit on the dashboard, so an N+1 in any section shows up as
+ * a failed request. Runs on a cold second-level cache, the worst case. Needs Docker.
+ */
+@SpringBootTest(properties = {
+        "sql.inspection.fail-over-budget=true",
+        "sql.inspection.budgets=GET /api/dashboard=20",
+        "rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class DashboardQueryBudgetTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14");
+
+    private static final int COMPANIES = 3;
+    private static final int APPLICATIONS_PER_COMPANY = 10;
+    private static final int INTERVIEWS = 8;
+
+    private static String token;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void registerAndSeed() throws Exception {
+        if (token != null) {
+            return;
+        }
+        String body = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"budget@example.com\",\"password\":\"budget-password\"," +
+                                "\"firstName\":\"Budget\",\"lastName\":\"Test\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        token = JsonPath.read(body, "$.token");
+
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'budget@example.com'", Long.class);
+        int interviews = 0;
+        for (int c = 0; c < COMPANIES; c++) {
+            long companyId = jdbcTemplate.queryForObject(
+                    "INSERT INTO companies (user_id, name, created_at) VALUES (?, ?, now()) RETURNING id",
+                    Long.class, userId, "Company " + c);
+            for (int a = 0; a < APPLICATIONS_PER_COMPANY; a++) {
+                long applicationId = jdbcTemplate.queryForObject(
+                        "INSERT INTO job_applications (user_id, company_id, position, status, created_at) " +
+                        "VALUES (?, ?, ?, 'APPLIED', now()) RETURNING id",
+                        Long.class, userId, companyId, "Engineer " + a);
+                if (interviews++ < INTERVIEWS) {
+                    jdbcTemplate.update("INSERT INTO interviews (application_id, user_id, interview_date, " +
+                            "interview_type, created_at) VALUES (?, ?, ?, 'PHONE', now())",
+                            applicationId, userId, LocalDateTime.now().plusDays(interviews));
+                }
+            }
+        }
+    }
+
+    private ResultActions dashboard() throws Exception {
+        return mockMvc.perform(get("/api/dashboard").header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    @Test
+    void dashboardStaysWithinItsBudget() throws Exception {
+        dashboard()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errors").isEmpty())
+                .andExpect(jsonPath("$.applications.totalItems").value(COMPANIES * APPLICATIONS_PER_COMPANY))
+                .andExpect(jsonPath("$.applications.applications.length()").value(21))
+                .andExpect(jsonPath("$.interviews.totalItems").value(INTERVIEWS))
+                .andExpect(jsonPath("$.companies.length()").value(COMPANIES));
+    }
+
+    @Nested
+    @TestPropertySource(properties = "sql.inspection.budgets=GET /api/dashboard=3")
+    class OverBudget {
+
+        @Test
+        void requestFailsOnceTheBudgetIsExceeded() {
+            Throwable thrown = catchThrowable(() -> dashboard());
+
+            // Thrown by the statement over budget, or by the filter if a dashboard section swallowed it
+            assertThat(thrown).satisfiesAnyOf(
+                    error -> assertThat(error).isInstanceOf(QueryBudgetExceededError.class),
+                    error -> assertThat(error).hasCauseInstanceOf(QueryBudgetExceededError.class));
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.dto.SalaryFilter;
+import com.jobtracker.model.ApplicationStatus;
+import com.jobtracker.model.ReminderType;
+import com.jobtracker.service.ApplicationEventBroadcaster;
+import com.jobtracker.service.CalendarFeedService;
+import com.jobtracker.service.CascadingDeleter;
+import com.jobtracker.service.DocumentFileCleaner;
+import com.jobtracker.service.FunnelAnalyticsService;
+import com.jobtracker.service.InterviewScheduleIndex;
+import com.jobtracker.service.SimilarityIndex;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression check for the repository queries on hot paths.
+ *
+ * Seeds a couple of thousand users' worth of data into a throwaway PostgreSQL,
+ * runs each repository method, and EXPLAINs the SQL it actually sent (binds
+ * inlined, as captured from the JDBC driver calls). A sequential scan on one of
+ * the application tables fails the query. Needs Docker.
+ */
+@DataJpaTest(properties = {
+        // Every call has to reach the database
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SimilarityIndex.class, CascadingDeleter.class})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int USERS = 2000;
+    private static final int COMPANIES_PER_USER = 5;
+    private static final int APPLICATIONS_PER_COMPANY = 4;
+
+    // Tables whose plans must never fall back to a sequential scan
+    private static final Pattern SEQ_SCAN = Pattern.compile(
+            "Seq Scan on (users|companies|job_applications|interviews|documents|reminders"
+                    + "|application_events|application_similarity_buckets)\\b");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14");
+
+    private static final CapturingListener captured = new CapturingListener();
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        static BeanPostProcessor captureStatements() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource).listener(captured).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    // CascadingDeleter's after-commit collaborators; the test transaction never commits
+    @MockBean
+    private DocumentFileCleaner documentFileCleaner;
+    @MockBean
+    private FunnelAnalyticsService funnelAnalyticsService;
+    @MockBean
+    private CalendarFeedService calendarFeedService;
+    @MockBean
+    private ApplicationEventBroadcaster applicationEventBroadcaster;
+    @MockBean
+    private InterviewScheduleIndex interviewScheduleIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JobApplicationRepository jobApplicationRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private InterviewRepository interviewRepository;
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private ReminderRepository reminderRepository;
+    @Autowired
+    private ApplicationEventRepository applicationEventRepository;
+    @Autowired
+    private SimilarityIndex similarityIndex;
+    @Autowired
+    private CascadingDeleter cascadingDeleter;
+
+    private long userId;
+    private long companyId;
+    private long applicationId;
+    private long reminderId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password, first_name, last_name, created_at)
+                SELECT 'plan-' || g || '@jobtracker.local', 'x', 'Plan', 'User ' || g, now()
+                FROM generate_series(1, ?) g""", USERS);
+        jdbcTemplate.update("""
+                INSERT INTO companies (user_id, name, version, created_at)
+                SELECT u.id, 'Plan Company ' || c, 0, now()
+                FROM users u CROSS JOIN generate_series(1, ?) c""", COMPANIES_PER_USER);
+        jdbcTemplate.update("""
+                INSERT INTO job_applications (user_id, company_id, position, status, priority, version,
+                                              created_at, updated_at, salary_min, salary_max, salary_currency,
+                                              fingerprint, description_signature)
+                SELECT c.user_id, c.id, 'Engineer ' || g,
+                       (ARRAY['SAVED','APPLIED','SCREENING','INTERVIEW','OFFER','REJECTED','ACCEPTED','WITHDRAWN'])
+                           [1 + (c.id + g) % 8],
+                       g % 3, 0, now() - g * interval '1 hour', now(),
+                       50000 + (c.id + g) % 20 * 5000, 60000 + (c.id + g) % 20 * 5000, 'USD', c.id * 100000 + g,
+                       decode(repeat('00', 512), 'hex')
+                FROM companies c CROSS JOIN generate_series(1, ?) g""", APPLICATIONS_PER_COMPANY);
+        jdbcTemplate.update("""
+                INSERT INTO application_similarity_buckets (application_id, user_id, band, bucket)
+                SELECT id, user_id, band, id % 7
+                FROM job_applications CROSS JOIN generate_series(0, 15) band""");
+        jdbcTemplate.update("""
+                INSERT INTO interviews (application_id, user_id, interview_date, interview_type, version, created_at)
+                SELECT id, user_id, now() + (id % 60) * interval '1 day', 'Phone', 0, now()
+                FROM job_applications WHERE id % 4 = 0""");
+        jdbcTemplate.update("""
+                INSERT INTO documents (application_id, file_name, file_type, file_path, file_size, uploaded_at)
+                SELECT id, 'cv.pdf', 'application/pdf', '/tmp/plan/' || id, 1024, now()
+                FROM job_applications WHERE id % 4 = 1""");
+        jdbcTemplate.update("""
+                INSERT INTO reminders (user_id, type, source_id, event_at, due_at, message, sent_at, created_at)
+                SELECT user_id, 'FOLLOW_UP', id, now() + (id % 100) * interval '1 hour',
+                       now() + (id % 100) * interval '1 hour', 'Follow up',
+                       CASE WHEN id % 2 = 0 THEN now() END, now()
+                FROM job_applications""");
+        jdbcTemplate.update("""
+                INSERT INTO application_events (outbox_id, application_id, user_id, from_status, to_status,
+                                                unusual, occurred_at)
+                SELECT id * 2 + k, id, user_id,
+                       CASE WHEN k = 1 THEN 'SAVED' END, CASE WHEN k = 0 THEN 'SAVED' ELSE 'APPLIED' END,
+                       false, now() - (2 - k) * interval '1 day'
+                FROM job_applications CROSS JOIN generate_series(0, 1) k""");
+        jdbcTemplate.execute("ANALYZE");
+
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'plan-1@jobtracker.local'", Long.class);
+        companyId = jdbcTemplate.queryForObject("SELECT min(id) FROM companies WHERE user_id = ?", Long.class, userId);
+        applicationId = jdbcTemplate.queryForObject("SELECT min(id) FROM job_applications WHERE user_id = ?",
+                Long.class, userId);
+        reminderId = jdbcTemplate.queryForObject("SELECT min(id) FROM reminders WHERE user_id = ? AND sent_at IS NULL",
+                Long.class, userId);
+    }
+
+    Stream<Named<Runnable>> hotQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        return Stream.of(
+                Named.of("UserRepository.findByEmail",
+                        () -> userRepository.findByEmail("plan-1@jobtracker.local")),
+
+                Named.of("JobApplicationRepository.findByUserId",
+                        () -> jobApplicationRepository.findByUserId(userId)),
+                Named.of("JobApplicationRepository.findByUserId(Pageable)",
+                        () -> jobApplicationRepository.findByUserId(userId,
+                                PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "createdAt")))),
+                Named.of("JobApplicationRepository.findByUserIdAndStatus",
+                        () -> jobApplicationRepository.findByUserIdAndStatus(userId, ApplicationStatus.APPLIED)),
+                Named.of("JobApplicationRepository.findByUserIdAndCompanyId",
+                        () -> jobApplicationRepository.findByUserIdAndCompanyId(userId, companyId)),
+                Named.of("JobApplicationRepository.findByCompanyId",
+                        () -> jobApplicationRepository.findByCompanyId(companyId)),
+                Named.of("JobApplicationRepository.findByIdAndUserId",
+                        () -> jobApplicationRepository.findByIdAndUserId(applicationId, userId)),
+                Named.of("JobApplicationRepository.findStatusAndVersionByIdAndUserId",
+                        () -> jobApplicationRepository.findStatusAndVersionByIdAndUserId(applicationId, userId)),
+                Named.of("JobApplicationRepository.countByStatusForUser",
+                        () -> jobApplicationRepository.countByStatusForUser(userId)),
+                Named.of("JobApplicationRepository.findByUserIdAndSalary",
+                        () -> jobApplicationRepository.findByUserIdAndSalary(userId,
+                                new SalaryFilter(80000L, 100000L, "USD"),
+                                PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "createdAt")))),
+                Named.of("JobApplicationRepository.salaryHistogram",
+                        () -> jobApplicationRepository.salaryHistogram(userId, 10000)),
+                Named.of("JobApplicationRepository.findFingerprintsByUserId",
+                        () -> jobApplicationRepository.findFingerprintsByUserId(userId)),
+                Named.of("JobApplicationRepository.findByUserIdAndFingerprintIn",
+                        () -> jobApplicationRepository.findByUserIdAndFingerprintIn(userId, List.of(1L, 2L, 3L))),
+                Named.of("JobApplicationRepository.patchStatusAndPriority",
+                        () -> jobApplicationRepository.patchStatusAndPriority(applicationId, userId, 0L,
+                                ApplicationStatus.OFFER, null, true, LocalDate.now(), now)),
+                Named.of("SimilarityIndex.findSimilar",
+                        () -> similarityIndex.findSimilar(userId, applicationId, 0.5, 10)),
+                Named.of("CascadingDeleter.deleteCompany",
+                        () -> cascadingDeleter.deleteCompany(userId, companyId)),
+
+                Named.of("CompanyRepository.findByUserId",
+                        () -> companyRepository.findByUserId(userId)),
+                Named.of("CompanyRepository.findByIdAndUserId",
+                        () -> companyRepository.findByIdAndUserId(companyId, userId)),
+
+                Named.of("InterviewRepository.findByUserId(Pageable)",
+                        () -> interviewRepository.findByUserId(userId,
+                                PageRequest.of(0, 10, Sort.by("interviewDate")))),
+                Named.of("InterviewRepository.findByUserIdAndInterviewDateBetweenOrderByInterviewDateAsc",
+                        () -> interviewRepository.findByUserIdAndInterviewDateBetweenOrderByInterviewDateAsc(
+                                userId, now, now.plusDays(7))),
+                Named.of("InterviewRepository.findByApplicationIdAndUserId",
+                        () -> interviewRepository.findByApplicationIdAndUserId(applicationId, userId)),
+                Named.of("InterviewRepository.findByApplicationId",
+                        () -> interviewRepository.findByApplicationId(applicationId)),
+                Named.of("InterviewRepository.findSlotsByUserId",
+                        () -> interviewRepository.findSlotsByUserId(userId)),
+
+                Named.of("DocumentRepository.findByApplicationId",
+                        () -> documentRepository.findByApplicationId(applicationId)),
+
+                Named.of("ReminderRepository.findBySentAtIsNullAndDueAtBeforeOrderByDueAtAsc",
+                        () -> reminderRepository.findBySentAtIsNullAndDueAtBeforeOrderByDueAtAsc(now.plusHours(1))),
+                Named.of("ReminderRepository.findByUserIdAndSentAtIsNullOrderByDueAtAsc",
+                        () -> reminderRepository.findByUserIdAndSentAtIsNullOrderByDueAtAsc(userId)),
+                Named.of("ReminderRepository.findByTypeAndSourceId",
+                        () -> reminderRepository.findByTypeAndSourceId(ReminderType.FOLLOW_UP, applicationId)),
+                Named.of("ReminderRepository.markSent",
+                        () -> reminderRepository.markSent(reminderId, now, now)),
+
+                Named.of("ApplicationEventRepository.findByApplicationIdAndUserIdOrderByOccurredAtAsc",
+                        () -> applicationEventRepository.findByApplicationIdAndUserIdOrderByOccurredAtAsc(
+                                applicationId, userId)),
+                Named.of("ApplicationEventRepository.findByUserIdOrderByOutboxIdAsc",
+                        () -> applicationEventRepository.findByUserIdOrderByOutboxIdAsc(userId))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void usesIndexes(Runnable query) {
+        captured.statements.clear();
+        query.run();
+        List<String> statements = List.copyOf(captured.statements);
+        assertThat(statements).as("SQL sent to the database").isNotEmpty();
+
+        for (String sql : statements) {
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+            Matcher seqScan = SEQ_SCAN.matcher(plan);
+            assertThat(seqScan.find())
+                    .as("sequential scan in the plan of%n  %s%n%s", sql, plan)
+                    .isFalse();
+        }
+    }
+
+    /** The statements sent through the data source, with the binds of the first batch row inlined. */
+    static final class CapturingListener implements QueryExecutionListener {
+        final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo query : queryInfoList) {
+                List<List<ParameterSetOperation>> parameters = query.getParametersList();
+                statements.add(parameters.isEmpty() ? query.getQuery() : inline(query.getQuery(), parameters.get(0)));
+            }
+        }
+
+        private static String inline(String sql, List<ParameterSetOperation> operations) {
+            Map<Integer, Object> binds = new TreeMap<>();
+            for (ParameterSetOperation operation : operations) {
+                Object[] args = operation.getArgs();
+                if (args.length >= 2 && args[0] instanceof Integer index) {
+                    binds.put(index, operation.getMethod().getName().equals("setNull") ? null : args[1]);
+                }
+            }
+            StringBuilder inlined = new StringBuilder(sql.length());
+            boolean quoted = false;
+            int index = 0;
+            for (char c : sql.toCharArray()) {
+                if (c == '\'') {
+                    quoted = !quoted;
+                }
+                if (c == '?' && !quoted) {
+                    inlined.append(literal(binds.get(++index)));
+                } else {
+                    inlined.append(c);
+                }
+            }
+            return inlined.toString();
+        }
+
+        private static String literal(Object value) {
+            if (value == null) {
+                return "NULL";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return "(" + value + ")";
+            }
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jobtracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Cost of taking a token, single-threaded and with every core hammering the
+ * filter, for many clients and for one hot client (all threads on one CAS).
+ * Not picked up by a plain {@code ./mvnw test}; run it on its own:
+ *
+ * <pre>./mvnw test -Dtest=RateLimitFilterBenchmark</pre>
+ */
+class RateLimitFilterBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 5;
+    private static final int OPS_PER_THREAD = 2_000_000;
+    private static final int CLIENTS = 10_000;
+
+    private final RateLimitFilter filter = new RateLimitFilter(new MockEnvironment()
+            .withProperty("rate-limit.read.per-second", "20")
+            .withProperty("rate-limit.read.burst", "60")
+            .withProperty("rate-limit.write.per-second", "5")
+            .withProperty("rate-limit.write.burst", "20")
+            .withProperty("rate-limit.upload.per-second", "0.2")
+            .withProperty("rate-limit.upload.burst", "5")
+            .withProperty("rate-limit.auth.per-second", "1")
+            .withProperty("rate-limit.auth.burst", "10"), new SimpleMeterRegistry(), true, System::nanoTime);
+
+    private final String[] keys = new String[CLIENTS];
+
+    private volatile long sink;
+
+    @Test
+    void tryAcquire() throws Exception {
+        for (int i = 0; i < CLIENTS; i++) {
+            keys[i] = "user" + i + "@example.com";
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        try {
+            run("1 thread, " + CLIENTS + " clients", 1, CLIENTS);
+            run(cores + " threads, " + CLIENTS + " clients", cores, CLIENTS);
+            run("1 thread, 1 client", 1, 1);
+            run(cores + " threads, 1 client", cores, 1);
+        } finally {
+            filter.shutdown();
+        }
+    }
+
+    private void run(String name, int threads, int clients) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                round(pool, threads, clients);
+            }
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < ROUNDS; i++) {
+                best = Math.min(best, round(pool, threads, clients));
+            }
+            double nsPerOp = (double) best / OPS_PER_THREAD;
+            double opsPerSecond = threads * OPS_PER_THREAD / (best / 1e9);
+            System.out.printf("%-32s %8.1f ns/op per thread %,14.0f ops/s%n", name, nsPerOp, opsPerSecond);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Wall time of the round, in nanoseconds
+    private long round(ExecutorService pool, int threads, int clients) throws Exception {
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7919;
+            tasks.add(() -> {
+                long waits = 0;
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    // Mostly reads, like the real mix; most of them are rejected once buckets drain
+                    waits += filter.tryAcquire(keys[(offset + i) % clients], i % 10 == 0 ? 1 : 0);
+                }
+                return waits;
+            });
+        }
+        long started = System.nanoTime();
+        for (Future<Long> result : pool.invokeAll(tasks)) {
+            sink += result.get();
+        }
+        return System.nanoTime() - started;
+    }
+}
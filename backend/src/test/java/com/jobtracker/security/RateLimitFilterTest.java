@@ -0,0 +1,136 @@
+package com.jobtracker.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The GCRA buckets against a clock the test moves by hand. */
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private long now = TimeUnit.HOURS.toNanos(1);
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("rate-limit.read.per-second", "20")
+                .withProperty("rate-limit.read.burst", "60")
+                .withProperty("rate-limit.write.per-second", "5")
+                .withProperty("rate-limit.write.burst", "20")
+                .withProperty("rate-limit.upload.per-second", "0.2")
+                .withProperty("rate-limit.upload.burst", "5")
+                .withProperty("rate-limit.auth.per-second", "1")
+                .withProperty("rate-limit.auth.burst", "10");
+        filter = new RateLimitFilter(environment, meterRegistry, true, () -> now);
+    }
+
+    @AfterEach
+    void shutdown() {
+        filter.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private int allowed(String method, String uri, String address, int attempts) throws Exception {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (send(method, uri, address).getStatus() == 200) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    private void advanceMillis(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    void allowsTheBurstThenRejectsWithRetryAfter() throws Exception {
+        assertThat(allowed("POST", "/api/applications", "10.0.0.1", 20)).isEqualTo(20);
+
+        MockHttpServletResponse rejected = send("POST", "/api/applications", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.counter("http.rate.limit.rejected", "class", "write").count()).isEqualTo(1);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() throws Exception {
+        allowed("POST", "/api/applications", "10.0.0.1", 20);
+
+        advanceMillis(199);
+        assertThat(send("POST", "/api/applications", "10.0.0.1").getStatus()).isEqualTo(429);
+        advanceMillis(1);
+        assertThat(send("POST", "/api/applications", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/applications", "10.0.0.1").getStatus()).isEqualTo(429);
+
+        // A full second gives back five, never more than the burst
+        advanceMillis(1_000);
+        assertThat(allowed("POST", "/api/applications", "10.0.0.1", 10)).isEqualTo(5);
+        advanceMillis(60_000);
+        assertThat(allowed("POST", "/api/applications", "10.0.0.1", 30)).isEqualTo(20);
+    }
+
+    @Test
+    void retryAfterCoversTheWholeWait() throws Exception {
+        assertThat(allowed("POST", "/api/documents/upload/1", "10.0.0.1", 5)).isEqualTo(5);
+
+        assertThat(send("POST", "/api/documents/upload/1", "10.0.0.1").getHeader("Retry-After")).isEqualTo("5");
+        advanceMillis(4_500);
+        assertThat(send("POST", "/api/documents/upload/1", "10.0.0.1").getHeader("Retry-After")).isEqualTo("1");
+        advanceMillis(500);
+        assertThat(send("POST", "/api/documents/upload/1", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void endpointClassesHaveSeparateBuckets() throws Exception {
+        allowed("POST", "/api/applications", "10.0.0.1", 25);
+
+        assertThat(send("GET", "/api/applications", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(allowed("POST", "/api/auth/login", "10.0.0.1", 15)).isEqualTo(10);
+    }
+
+    @Test
+    void anonymousClientsAreLimitedPerAddress() throws Exception {
+        allowed("POST", "/api/auth/login", "10.0.0.1", 15);
+
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(send("POST", "/api/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void signedInUsersAreLimitedPerUserWhateverTheirAddress() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+
+        assertThat(allowed("POST", "/api/applications", "10.0.0.1", 10)
+                + allowed("POST", "/api/applications", "10.0.0.2", 15)).isEqualTo(20);
+    }
+
+    @Test
+    void optionsRequestsAreNotLimited() throws Exception {
+        assertThat(allowed("OPTIONS", "/api/applications", "10.0.0.1", 100)).isEqualTo(100);
+    }
+}
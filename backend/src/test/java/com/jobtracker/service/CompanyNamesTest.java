@@ -0,0 +1,75 @@
+package com.jobtracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompanyNamesTest {
+
+    @Test
+    void normalizeLowerCasesAndCollapsesPunctuation() {
+        assertThat(CompanyNames.normalize("  Acme,  Inc. ")).isEqualTo("acme inc");
+        assertThat(CompanyNames.normalize("AT&T")).isEqualTo("at t");
+        assertThat(CompanyNames.normalize(null)).isEmpty();
+        assertThat(CompanyNames.normalize("...")).isEmpty();
+    }
+
+    @Test
+    void normalizeStripsLatinAccents() {
+        assertThat(CompanyNames.normalize("Société Générale")).isEqualTo("societe generale");
+        assertThat(CompanyNames.normalize("Café Ltd.")).isEqualTo(CompanyNames.normalize("cafe ltd"));
+    }
+
+    @Test
+    void normalizeKeepsLettersOfOtherScripts() {
+        assertThat(CompanyNames.normalize("Яндекс, ООО")).isEqualTo("яндекс ооо");
+        assertThat(CompanyNames.normalize("ΑΕΡΟΠΟΡΙΑ Αιγαίου")).isEqualTo("αεροπορια αιγαιου");
+        assertThat(CompanyNames.normalize("株式会社 トヨタ")).isEqualTo("株式会社 トヨタ");
+        assertThat(CompanyNames.normalize("삼성전자")).isEqualTo("삼성전자");
+        assertThat(CompanyNames.normalize("Ørsted A/S")).isEqualTo("ørsted a s");
+        assertThat(CompanyNames.normalize("Łódź")).isEqualTo("łodz");
+    }
+
+    @Test
+    void normalizeKeepsVowelSignsOutsideTheDiacriticsBlock() {
+        // Devanagari vowel signs are combining marks too, but part of the word
+        assertThat(CompanyNames.normalize("टाटा मोटर्स")).isEqualTo("टाटा मोटर्स");
+    }
+
+    @Test
+    void differentNonLatinNamesStayDifferent() {
+        // Both used to normalize to the empty string
+        assertThat(CompanyNames.normalize("Яндекс")).isNotEqualTo(CompanyNames.normalize("Сбербанк"));
+        assertThat(CompanyNames.normalize("Яндекс")).isNotEmpty();
+    }
+
+    @Test
+    void canonicalDropsLeadingTheAndTrailingLegalForms() {
+        assertThat(CompanyNames.canonical("The Acme Company, Inc.")).isEqualTo("acme");
+        assertThat(CompanyNames.canonical("Acme, Inc.")).isEqualTo(CompanyNames.canonical("ACME"));
+        assertThat(CompanyNames.canonical("Globex GmbH & Co. KG")).isEqualTo("globex");
+    }
+
+    @Test
+    void canonicalKeepsNamesMadeOfLegalWords() {
+        assertThat(CompanyNames.canonical("Limited Co.")).isEqualTo("limited");
+        assertThat(CompanyNames.canonical("The Company")).isEqualTo("the");
+        assertThat(CompanyNames.canonical("Theranos")).isEqualTo("theranos");
+    }
+
+    @Test
+    void canonicalWorksForEveryScript() {
+        assertThat(CompanyNames.canonical("Société Générale SA")).isEqualTo("societe generale");
+        assertThat(CompanyNames.canonical("Ørsted AS")).isEqualTo("ørsted");
+        assertThat(CompanyNames.canonical("Яндекс")).isEqualTo("яндекс");
+        assertThat(CompanyNames.canonical("株式会社 トヨタ")).isEqualTo("株式会社 トヨタ");
+    }
+
+    @Test
+    void differentNonLatinNamesHaveDifferentCanonicalNames() {
+        // An empty canonical name used to make the resolver reject them as blank
+        assertThat(CompanyNames.canonical("Яндекс")).isNotEqualTo(CompanyNames.canonical("Сбербанк"));
+        assertThat(CompanyNames.canonical("삼성전자")).isNotEmpty();
+        assertThat(CompanyNames.canonical("Αιγαίου")).isNotEmpty();
+    }
+}
@@ -0,0 +1,139 @@
+package com.jobtracker.service;
+
+import com.jobtracker.repository.JobApplicationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DuplicateDetectorTest {
+
+    private static final String POSITION = "Senior Software Engineer";
+    private static final String URL = "https://www.example.com/jobs/123?id=5";
+
+    private final JobApplicationRepository repository = mock(JobApplicationRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DuplicateDetector detector = new DuplicateDetector(repository, meterRegistry);
+
+    @AfterEach
+    void shutdown() {
+        detector.shutdown();
+    }
+
+    private static long fingerprint(String position, String url) {
+        return DuplicateDetector.fingerprint(1L, position, url);
+    }
+
+    @Test
+    void fingerprintIgnoresSchemeWwwCaseTrailingSlashFragmentAndTracking() {
+        long expected = fingerprint(POSITION, URL);
+
+        assertThat(fingerprint(POSITION, "http://Example.COM/jobs/123/?utm_source=x&id=5&gclid=1#apply"))
+                .isEqualTo(expected);
+        assertThat(fingerprint(POSITION, "example.com/jobs/123?id=5&ref=linkedin")).isEqualTo(expected);
+        assertThat(fingerprint(POSITION, "example.com/a?b=2&a=1")).isEqualTo(fingerprint(POSITION, "example.com/a?a=1&b=2"));
+    }
+
+    @Test
+    void fingerprintKeepsMeaningfulUrlParts() {
+        long expected = fingerprint(POSITION, URL);
+
+        assertThat(fingerprint(POSITION, "https://example.com/jobs/123?id=6")).isNotEqualTo(expected);
+        assertThat(fingerprint(POSITION, "https://example.com/jobs/124?id=5")).isNotEqualTo(expected);
+        assertThat(DuplicateDetector.fingerprint(2L, POSITION, URL)).isNotEqualTo(expected);
+    }
+
+    @Test
+    void fingerprintTreatsMissingAndUnparseableUrlsConsistently() {
+        assertThat(fingerprint(POSITION, null)).isEqualTo(fingerprint(POSITION, "  "));
+        assertThat(fingerprint(POSITION, "Not A URL")).isEqualTo(fingerprint(POSITION, "not a url"));
+    }
+
+    @Test
+    void fingerprintExpandsPositionAbbreviations() {
+        assertThat(fingerprint("Sr. Software Eng", URL)).isEqualTo(fingerprint(POSITION, URL));
+        assertThat(fingerprint("Backend Dev", "")).isEqualTo(fingerprint("backend developer", ""));
+        assertThat(fingerprint("Backend Dev", "")).isNotEqualTo(fingerprint("Frontend Developer", ""));
+    }
+
+    @Test
+    void onlyQueriesFingerprintsTheFilterCannotRuleOut() {
+        long saved = fingerprint(POSITION, URL);
+        when(repository.findFingerprintsByUserId(1L)).thenReturn(List.of(saved));
+        when(repository.findByUserIdAndFingerprintIn(eq(1L), anyCollection())).thenReturn(List.of(row(7L, saved)));
+
+        List<Long> incoming = new ArrayList<>();
+        incoming.add(saved);
+        for (int i = 0; i < 100; i++) {
+            incoming.add(fingerprint("Engineer " + i, URL));
+        }
+
+        assertThat(detector.findExisting(1L, incoming)).containsExactly(Map.entry(saved, 7L));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> candidates = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).findByUserIdAndFingerprintIn(eq(1L), candidates.capture());
+        assertThat(candidates.getValue()).contains(saved).hasSizeLessThan(10);
+        assertThat(meterRegistry.counter("applications.duplicate.checks", "result", "skipped").count())
+                .isGreaterThan(90);
+    }
+
+    @Test
+    void savedFingerprintsAreSeenWithoutReloadingTheFilter() {
+        when(repository.findFingerprintsByUserId(1L)).thenReturn(List.of());
+        long fresh = fingerprint(POSITION, URL);
+
+        assertThat(detector.findExisting(1L, List.of(fresh))).isEmpty();
+        verify(repository, never()).findByUserIdAndFingerprintIn(eq(1L), anyCollection());
+
+        detector.onSaved(1L, fresh);
+        detector.findExisting(1L, List.of(fresh));
+
+        verify(repository).findByUserIdAndFingerprintIn(eq(1L), anyCollection());
+        verify(repository, times(1)).findFingerprintsByUserId(1L);
+    }
+
+    @Test
+    void invalidatedFilterSeesFingerprintsSavedBehindItsBack() {
+        long elsewhere = fingerprint(POSITION, URL);
+        when(repository.findFingerprintsByUserId(1L)).thenReturn(List.of());
+        assertThat(detector.findExisting(1L, List.of(elsewhere))).isEmpty();
+
+        // Saved on another node: this filter still rules it out until it is rebuilt
+        when(repository.findFingerprintsByUserId(1L)).thenReturn(List.of(elsewhere));
+        when(repository.findByUserIdAndFingerprintIn(eq(1L), anyCollection())).thenReturn(List.of(row(9L, elsewhere)));
+        assertThat(detector.findExisting(1L, List.of(elsewhere))).isEmpty();
+
+        detector.invalidate(1L);
+
+        assertThat(detector.findExisting(1L, List.of(elsewhere))).containsExactly(Map.entry(elsewhere, 9L));
+        verify(repository, times(2)).findFingerprintsByUserId(1L);
+    }
+
+    private static JobApplicationRepository.IdAndFingerprint row(Long id, Long fingerprint) {
+        return new JobApplicationRepository.IdAndFingerprint() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getFingerprint() {
+                return fingerprint;
+            }
+        };
+    }
+}
@@ -0,0 +1,213 @@
+package com.jobtracker.service;
+
+import com.jobtracker.dto.TimeSlotDTO;
+import com.jobtracker.repository.InterviewRepository;
+import com.jobtracker.service.InterviewScheduleIndex.Interval;
+import com.jobtracker.service.InterviewScheduleIndex.Tree;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InterviewScheduleIndexTest {
+
+    private static final long USER = 1L;
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+    private final InterviewRepository interviewRepository = mock(InterviewRepository.class);
+    private InterviewScheduleIndex index;
+
+    @AfterEach
+    void shutdown() {
+        if (index != null) {
+            index.shutdown();
+        }
+    }
+
+    private InterviewScheduleIndex index(long maxStalenessSeconds) {
+        index = new InterviewScheduleIndex(interviewRepository, mock(PlatformTransactionManager.class),
+                60, maxStalenessSeconds);
+        return index;
+    }
+
+    private static InterviewRepository.InterviewSlot slot(long id, LocalDateTime start, Integer minutes) {
+        return new InterviewRepository.InterviewSlot() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getInterviewDate() {
+                return start;
+            }
+
+            @Override
+            public Integer getDurationMinutes() {
+                return minutes;
+            }
+        };
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+
+    private static TimeSlotDTO free(LocalDateTime start, LocalDateTime end) {
+        return new TimeSlotDTO(start, end);
+    }
+
+    private static List<Long> ids(List<Interval> intervals) {
+        return intervals.stream().map(Interval::id).toList();
+    }
+
+    @Test
+    void emptyTreeHasNoOverlaps() {
+        Tree tree = new Tree(List.of());
+
+        assertThat(tree.overlapping(Long.MIN_VALUE, Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        Tree tree = new Tree(List.of(new Interval(1, 10, 20), new Interval(2, 20, 30)));
+
+        assertThat(ids(tree.overlapping(0, 10))).isEmpty();
+        assertThat(ids(tree.overlapping(30, 40))).isEmpty();
+        assertThat(ids(tree.overlapping(20, 25))).containsExactly(2L);
+        assertThat(ids(tree.overlapping(15, 20))).containsExactly(1L);
+        assertThat(ids(tree.overlapping(19, 21))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void windowEdgesAreHalfOpen() {
+        Tree tree = new Tree(List.of(new Interval(1, 10, 20)));
+
+        assertThat(ids(tree.overlapping(10, 11))).containsExactly(1L);
+        assertThat(ids(tree.overlapping(19, 20))).containsExactly(1L);
+        assertThat(ids(tree.overlapping(9, 10))).isEmpty();
+        assertThat(ids(tree.overlapping(20, 21))).isEmpty();
+        assertThat(ids(tree.overlapping(0, 100))).containsExactly(1L);
+    }
+
+    @Test
+    void nestedIntervalsAreFoundThroughTheEnclosingOne() {
+        // The long interval sorts first, so only maxEnd keeps its subtree from being skipped
+        Tree tree = new Tree(List.of(
+                new Interval(1, 0, 100), new Interval(2, 10, 20), new Interval(3, 30, 40), new Interval(4, 50, 60)));
+
+        assertThat(ids(tree.overlapping(35, 36))).containsExactly(1L, 3L);
+        assertThat(ids(tree.overlapping(20, 30))).containsExactly(1L);
+        assertThat(ids(tree.overlapping(95, 200))).containsExactly(1L);
+    }
+
+    @Test
+    void matchesABruteForceScan() {
+        Random random = new Random(42);
+        List<Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long start = random.nextInt(10_000);
+            intervals.add(new Interval(i, start, start + 1 + random.nextInt(random.nextBoolean() ? 30 : 600)));
+        }
+        Tree tree = new Tree(intervals);
+
+        for (int query = 0; query < 1000; query++) {
+            long start = random.nextInt(10_500) - 250;
+            long end = start + random.nextInt(200);
+            List<Long> expected = intervals.stream()
+                    .filter(interval -> interval.start() < end && interval.end() > start)
+                    .sorted(Comparator.comparingLong(Interval::start).thenComparingLong(Interval::id))
+                    .map(Interval::id)
+                    .toList();
+            assertThat(ids(tree.overlapping(start, end))).as("[%d, %d)", start, end).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void wholeWindowIsFreeWithoutInterviews() {
+        when(interviewRepository.findSlotsByUserId(USER)).thenReturn(List.of());
+
+        assertThat(index(60).freeSlots(USER, at(8, 0), at(12, 0), 30))
+                .containsExactly(free(at(8, 0), at(12, 0)));
+    }
+
+    @Test
+    void freeSlotsMergeTouchingAndNestedInterviews() {
+        when(interviewRepository.findSlotsByUserId(USER)).thenReturn(List.of(
+                slot(1, at(9, 0), 60),
+                slot(2, at(10, 0), 60),       // Touches #1
+                slot(3, at(13, 0), 180),
+                slot(4, at(14, 0), 30)));     // Inside #3
+
+        assertThat(index(60).freeSlots(USER, at(8, 0), at(18, 0), 30)).containsExactly(
+                free(at(8, 0), at(9, 0)),
+                free(at(11, 0), at(13, 0)),
+                free(at(16, 0), at(18, 0)));
+    }
+
+    @Test
+    void freeSlotsAreClippedToTheWindow() {
+        when(interviewRepository.findSlotsByUserId(USER)).thenReturn(List.of(
+                slot(1, at(7, 30), 60),       // Starts before the window
+                slot(2, at(11, 45), null)));  // Default length: ends after the window
+
+        assertThat(index(60).freeSlots(USER, at(8, 0), at(12, 0), 30))
+                .containsExactly(free(at(8, 30), at(11, 45)));
+    }
+
+    @Test
+    void freeSlotsSkipGapsShorterThanTheMinimum() {
+        when(interviewRepository.findSlotsByUserId(USER)).thenReturn(List.of(
+                slot(1, at(9, 0), 60),
+                slot(2, at(10, 15), 60)));
+
+        assertThat(index(60).freeSlots(USER, at(9, 0), at(12, 0), 30))
+                .containsExactly(free(at(11, 15), at(12, 0)));
+    }
+
+    @Test
+    void writeCommittedDuringTheLoadIsNotLost() {
+        InterviewScheduleIndex index = index(60);
+        when(interviewRepository.findSlotsByUserId(USER)).thenAnswer(invocation -> {
+            // Commits while the query runs; the query's snapshot doesn't have it
+            index.onInterviewSaved(USER, 2L, at(10, 0), 60);
+            return List.of(slot(1, at(9, 0), 60));
+        });
+
+        assertThat(index.overlapping(USER, at(8, 0), at(12, 0), null)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void writesFromOtherNodesShowUpOnceTheTreeIsStale() {
+        InterviewScheduleIndex index = index(0);
+        when(interviewRepository.findSlotsByUserId(USER))
+                .thenReturn(List.of(slot(1, at(9, 0), 60)))
+                .thenReturn(List.of(slot(1, at(9, 0), 60), slot(2, at(10, 0), 60)));
+
+        assertThat(index.overlapping(USER, at(8, 0), at(12, 0), null)).containsExactly(1L);
+        assertThat(index.overlapping(USER, at(8, 0), at(12, 0), null)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void localWritesAreAppliedWithoutReloading() {
+        InterviewScheduleIndex index = index(60);
+        when(interviewRepository.findSlotsByUserId(USER)).thenReturn(List.of(slot(1, at(9, 0), 60)));
+
+        assertThat(index.overlapping(USER, at(8, 0), at(12, 0), null)).containsExactly(1L);
+        index.onInterviewSaved(USER, 1L, at(11, 30), 60);
+        index.onInterviewSaved(USER, 3L, at(8, 0), 30);
+        index.onInterviewsDeleted(USER, List.of(3L));
+
+        assertThat(index.overlapping(USER, at(8, 0), at(11, 0), null)).isEmpty();
+        assertThat(index.overlapping(USER, at(11, 0), at(12, 0), null)).containsExactly(1L);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jobtracker.service;
+
+import com.jobtracker.service.SalaryParser.Salary;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalaryParserTest {
+
+    @Test
+    void parsesRangesWithEitherEndSuffixed() {
+        assertThat(SalaryParser.parse("$120k - $150k")).isEqualTo(new Salary(120_000, 150_000, "USD"));
+        assertThat(SalaryParser.parse("120-150k")).isEqualTo(new Salary(120_000, 150_000, null));
+        assertThat(SalaryParser.parse("$1.5m")).isEqualTo(new Salary(1_500_000, 1_500_000, "USD"));
+    }
+
+    @Test
+    void readsBareSmallFiguresAsThousands() {
+        assertThat(SalaryParser.parse("120-150")).isEqualTo(new Salary(120_000, 150_000, null));
+    }
+
+    @Test
+    void understandsThousandsSeparatorsOfDifferentLocales() {
+        assertThat(SalaryParser.parse("£40,000 per annum")).isEqualTo(new Salary(40_000, 40_000, "GBP"));
+        assertThat(SalaryParser.parse("€60.000")).isEqualTo(new Salary(60_000, 60_000, "EUR"));
+        assertThat(SalaryParser.parse("60.000 - 70.000 EUR")).isEqualTo(new Salary(60_000, 70_000, "EUR"));
+        assertThat(SalaryParser.parse("60 000 - 70 000 SEK")).isEqualTo(new Salary(60_000, 70_000, "SEK"));
+        assertThat(SalaryParser.parse("1,234.56")).isEqualTo(new Salary(1_234, 1_234, null));
+    }
+
+    @Test
+    void annualizesHourlyDailyAndMonthlyFigures() {
+        assertThat(SalaryParser.parse("45-55 USD/hr")).isEqualTo(new Salary(93_600, 114_400, "USD"));
+        assertThat(SalaryParser.parse("500 a day")).isEqualTo(new Salary(130_000, 130_000, null));
+        assertThat(SalaryParser.parse("5000/month")).isEqualTo(new Salary(60_000, 60_000, null));
+    }
+
+    @Test
+    void prefersCurrencyCodesAndTheLongestSymbol() {
+        assertThat(SalaryParser.parse("CA$90,000").currency()).isEqualTo("CAD");
+        assertThat(SalaryParser.parse("$90,000 CHF").currency()).isEqualTo("CHF");
+        assertThat(SalaryParser.parse("¥5m")).isEqualTo(new Salary(5_000_000, 5_000_000, "JPY"));
+    }
+
+    @Test
+    void singleFiguresBecomeARangeOfOne() {
+        assertThat(SalaryParser.parse("100k+")).isEqualTo(new Salary(100_000, 100_000, null));
+        assertThat(SalaryParser.parse("up to 90k")).isEqualTo(new Salary(90_000, 90_000, null));
+    }
+
+    @Test
+    void ignoresASecondFigureTooFarFromTheFirst() {
+        assertThat(SalaryParser.parse("80k - 2020")).isEqualTo(new Salary(80_000, 80_000, null));
+    }
+
+    @Test
+    void returnsNullWithoutAFigure() {
+        assertThat(SalaryParser.parse(null)).isNull();
+        assertThat(SalaryParser.parse("  ")).isNull();
+        assertThat(SalaryParser.parse("competitive")).isNull();
+    }
+}
@@ -0,0 +1,71 @@
+package com.jobtracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimilarityIndexTest {
+
+    private static final String POSTING = "We are looking for a senior backend engineer to build and operate our " +
+            "payments platform. You will design APIs, work with PostgreSQL and Kafka, mentor other engineers and " +
+            "take part in the on-call rotation. Experience with Java or Kotlin is required.";
+
+    private static double similarity(String a, String b) {
+        int[] first = SimilarityIndex.signature(a);
+        int[] second = SimilarityIndex.signature(b);
+        int equal = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / first.length;
+    }
+
+    @Test
+    void signatureIsStableAndIgnoresCaseAndPunctuation() {
+        assertThat(SimilarityIndex.signature(POSTING)).hasSize(128).isEqualTo(SimilarityIndex.signature(POSTING));
+        assertThat(similarity(POSTING, POSTING.toUpperCase().replace(".", " !"))).isEqualTo(1.0);
+    }
+
+    @Test
+    void nearDuplicatesScoreAboveTheDefaultThreshold() {
+        String forwarded = POSTING.replace("mentor other engineers", "mentor junior engineers") +
+                " Apply via our careers page.";
+
+        assertThat(similarity(POSTING, forwarded)).isGreaterThanOrEqualTo(0.7).isLessThan(1.0);
+    }
+
+    @Test
+    void unrelatedDescriptionsScoreNearZero() {
+        String other = "Join our design team as a product designer shaping the mobile experience for millions of " +
+                "shoppers. You will run user research, prototype in Figma and partner closely with product " +
+                "managers and engineers.";
+
+        assertThat(similarity(POSTING, other)).isLessThan(0.1);
+    }
+
+    @Test
+    void shinglesAreWordTrigramsSoOrderMatters() {
+        List<String> words = new ArrayList<>(List.of(POSTING.split(" ")));
+        Collections.reverse(words);
+
+        assertThat(similarity(POSTING, String.join(" ", words))).isLessThan(0.1);
+    }
+
+    @Test
+    void textsShorterThanAShingleAreOneShingle() {
+        assertThat(similarity("Java developer", "java   DEVELOPER")).isEqualTo(1.0);
+        assertThat(similarity("Java developer", "developer java")).isLessThan(0.1);
+    }
+
+    @Test
+    void textsWithoutWordsHaveNoSignature() {
+        assertThat(SimilarityIndex.signature(null)).isNull();
+        assertThat(SimilarityIndex.signature("  ...")).isNull();
+    }
+}
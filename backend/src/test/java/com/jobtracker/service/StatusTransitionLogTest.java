@@ -0,0 +1,91 @@
+package com.jobtracker.service;
+
+import com.jobtracker.model.ApplicationEventOutbox;
+import com.jobtracker.model.ApplicationStatus;
+import com.jobtracker.repository.ApplicationEventOutboxRepository;
+import com.jobtracker.sharding.ShardDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatusTransitionLogTest {
+
+    private static final long MOVING_USER = 1L;
+
+    private final ApplicationEventOutboxRepository outboxRepository = mock(ApplicationEventOutboxRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final ShardDirectory shardDirectory = mock(ShardDirectory.class);
+    private StatusTransitionLog statusLog;
+
+    @BeforeEach
+    void createLog() {
+        when(shardDirectory.shardIds()).thenReturn(List.of(0));
+        when(shardDirectory.isMoving(MOVING_USER)).thenReturn(true);
+        statusLog = new StatusTransitionLog(outboxRepository, mock(JdbcTemplate.class), transactionTemplate,
+                mock(FunnelAnalyticsService.class), shardDirectory, 100);
+    }
+
+    private static List<ApplicationEventOutbox> outbox(long fromId, int count, long userId) {
+        List<ApplicationEventOutbox> rows = new ArrayList<>();
+        for (long id = fromId; id < fromId + count; id++) {
+            rows.add(new ApplicationEventOutbox(id, 10L, userId, ApplicationStatus.SAVED, ApplicationStatus.APPLIED,
+                    false, LocalDateTime.now().minusHours(1)));
+        }
+        return rows;
+    }
+
+    @Test
+    void sweepPagesPastRowsOfUsersMovingShards() {
+        // 700 old rows, all of a user being moved: the writer leaves every one of them in the outbox
+        when(outboxRepository.findTop500ByIdGreaterThanAndOccurredAtBeforeOrderByIdAsc(eq(0L), any()))
+                .thenReturn(outbox(1, 500, MOVING_USER));
+        when(outboxRepository.findTop500ByIdGreaterThanAndOccurredAtBeforeOrderByIdAsc(eq(500L), any()))
+                .thenReturn(outbox(501, 200, MOVING_USER));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), statusLog::sweepOutbox);
+
+        verify(outboxRepository).findTop500ByIdGreaterThanAndOccurredAtBeforeOrderByIdAsc(eq(500L), any());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void sweepWritesOtherUsersRowsBehindSkippedOnes() {
+        List<ApplicationEventOutbox> firstPage = outbox(1, 500, MOVING_USER);
+        List<ApplicationEventOutbox> secondPage = outbox(501, 3, 2L);
+        when(outboxRepository.findTop500ByIdGreaterThanAndOccurredAtBeforeOrderByIdAsc(eq(0L), any()))
+                .thenReturn(firstPage);
+        when(outboxRepository.findTop500ByIdGreaterThanAndOccurredAtBeforeOrderByIdAsc(eq(500L), any()))
+                .thenReturn(secondPage);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), statusLog::sweepOutbox);
+
+        verify(transactionTemplate).executeWithoutResult(any());
+        verify(outboxRepository, never()).findTop500ByIdGreaterThanAndOccurredAtBeforeOrderByIdAsc(eq(503L), any());
+    }
+
+    @Test
+    void sweepStopsAfterAShortPage() {
+        when(outboxRepository.findTop500ByIdGreaterThanAndOccurredAtBeforeOrderByIdAsc(anyLong(), any()))
+                .thenReturn(List.of());
+
+        statusLog.sweepOutbox();
+
+        verify(outboxRepository).findTop500ByIdGreaterThanAndOccurredAtBeforeOrderByIdAsc(eq(0L), any());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+}
@@ -0,0 +1,175 @@
+package com.jobtracker.sharding;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Two shards as two databases on one Postgres server, as in a local setup. */
+@Testcontainers(disabledWithoutDocker = true)
+class UserShardMoverTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14");
+
+    private static final String EMAIL = "mover@example.com";
+
+    private static ShardRoutingDataSource routing;
+    private static JdbcTemplate shard0;
+    private static JdbcTemplate shard1;
+
+    private ShardDirectory directory;
+    private UserShardMover mover;
+    private long userId;
+    private long companyId;
+
+    @BeforeAll
+    static void createShards() {
+        DataSource first = dataSource(postgres.getJdbcUrl());
+        new JdbcTemplate(first).execute("CREATE DATABASE shard1");
+        DataSource second = dataSource(postgres.getJdbcUrl().replace("/" + postgres.getDatabaseName(), "/shard1"));
+        migrate(first, 0);
+        migrate(second, 1);
+        routing = new ShardRoutingDataSource(List.of(first, second));
+        routing.afterPropertiesSet();
+        shard0 = new JdbcTemplate(first);
+        shard1 = new JdbcTemplate(second);
+    }
+
+    private static DataSource dataSource(String url) {
+        return new DriverManagerDataSource(url, postgres.getUsername(), postgres.getPassword());
+    }
+
+    private static void migrate(DataSource dataSource, int shard) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .placeholders(Map.of("shard_id", Integer.toString(shard)))
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void seed() {
+        // No directory caching, so the test sees every flag change at once
+        directory = new ShardDirectory(
+                new StaticListableBeanFactory(Map.of("dataSource", routing)).getBeanProvider(ShardRoutingDataSource.class),
+                0);
+        mover = new UserShardMover(directory, routing, 500);
+
+        userId = shard0.queryForObject(
+                "INSERT INTO users (email, password) VALUES (?, 'x') RETURNING id", Long.class, EMAIL);
+        companyId = shard0.queryForObject(
+                "INSERT INTO companies (user_id, name) VALUES (?, 'Acme') RETURNING id", Long.class, userId);
+        for (int i = 0; i < 3; i++) {
+            long applicationId = shard0.queryForObject("INSERT INTO job_applications (user_id, company_id, position, " +
+                    "status) VALUES (?, ?, ?, 'APPLIED') RETURNING id", Long.class, userId, companyId, "Engineer " + i);
+            shard0.update("INSERT INTO interviews (application_id, user_id, interview_date, interview_type) " +
+                    "VALUES (?, ?, now(), 'PHONE')", applicationId, userId);
+        }
+        // No directory entry yet: registered before sharding, so on shard 0
+    }
+
+    @AfterEach
+    void cleanUp() {
+        mover.stop();
+        for (JdbcTemplate shard : List.of(shard0, shard1)) {
+            shard.update("DELETE FROM interviews");
+            shard.update("DELETE FROM job_applications");
+            shard.update("DELETE FROM companies");
+            shard.update("DELETE FROM users");
+        }
+        shard0.update("DELETE FROM shard_directory");
+    }
+
+    private static long count(JdbcTemplate shard, String table, long userId) {
+        String owner = table.equals("users") ? "id" : "user_id";
+        return shard.queryForObject("SELECT count(*) FROM " + table + " WHERE " + owner + " = ?", Long.class, userId);
+    }
+
+    @Test
+    void movesEveryRowKeepingItsIdAndEmptiesTheSource() throws Exception {
+        List<Long> applicationIds = shard0.queryForList(
+                "SELECT id FROM job_applications WHERE user_id = ? ORDER BY id", Long.class, userId);
+
+        UserShardMover.MoveJob job = mover.submit(EMAIL, 1);
+        job.result().get(30, TimeUnit.SECONDS);
+
+        assertThat(job.describe()).containsEntry("status", "DONE");
+        assertThat(shard1.queryForList("SELECT id FROM job_applications WHERE user_id = ? ORDER BY id",
+                Long.class, userId)).isEqualTo(applicationIds);
+        assertThat(count(shard1, "companies", userId)).isEqualTo(1);
+        assertThat(count(shard1, "interviews", userId)).isEqualTo(3);
+        assertThat(count(shard0, "job_applications", userId)).isZero();
+        assertThat(count(shard0, "users", userId) + count(shard0, "companies", userId)).isZero();
+        assertThat(directory.locate(EMAIL)).isEqualTo(new ShardDirectory.Placement(1, false));
+        assertThat(directory.isMoving(userId)).isFalse();
+    }
+
+    @Test
+    void fencesTheUserForBackgroundJobsWhileMoving() throws Exception {
+        assertThat(directory.isMoving(userId)).isFalse();
+
+        UserShardMover.MoveJob job = mover.submit(EMAIL, 1);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!directory.isMoving(userId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // Still draining, nothing copied yet
+        assertThat(directory.isMoving(userId)).isTrue();
+        assertThat(directory.locate(EMAIL)).isEqualTo(new ShardDirectory.Placement(0, true));
+        assertThat(job.describe()).containsEntry("status", "RUNNING");
+
+        job.result().get(30, TimeUnit.SECONDS);
+        assertThat(directory.isMoving(userId)).isFalse();
+    }
+
+    @Test
+    void failedCopyLeavesTheUserWhereTheyWere() throws Exception {
+        // Another user on the target already has the company's id
+        long otherUserId = shard1.queryForObject(
+                "INSERT INTO users (email, password) VALUES ('other@example.com', 'x') RETURNING id", Long.class);
+        shard1.update("INSERT INTO companies (id, user_id, name) VALUES (?, ?, 'Taken')", companyId, otherUserId);
+
+        UserShardMover.MoveJob job = mover.submit(EMAIL, 1);
+        assertThat(job.result()).failsWithin(30, TimeUnit.SECONDS);
+
+        assertThat(job.describe()).containsEntry("status", "FAILED").containsKey("error");
+        assertThat(count(shard0, "job_applications", userId)).isEqualTo(3);
+        assertThat(count(shard1, "users", userId) + count(shard1, "companies", userId)).isZero();
+        assertThat(shard1.queryForObject("SELECT name FROM companies WHERE id = ?", String.class, companyId))
+                .isEqualTo("Taken");
+        assertThat(directory.locate(EMAIL)).isEqualTo(new ShardDirectory.Placement(0, false));
+        assertThat(directory.isMoving(userId)).isFalse();
+    }
+
+    @Test
+    void moveToTheCurrentShardIsANoOp() throws Exception {
+        UserShardMover.MoveJob job = mover.submit(EMAIL, 0);
+
+        assertThat(job.result().get(30, TimeUnit.SECONDS)).containsEntry("moved", false);
+        assertThat(count(shard0, "job_applications", userId)).isEqualTo(3);
+    }
+
+    @Test
+    void unknownShardsAndJobsAreRejected() {
+        assertThatThrownBy(() -> mover.submit(EMAIL, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(mover.job("no-such-job")).isNull();
+    }
+}
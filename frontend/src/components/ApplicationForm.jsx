@@ -57,6 +57,7 @@ const ApplicationForm = ({ application, onSuccess, onCancel }) => {
         interviewTime: application.interviewTime || "",
         interviewType: application.interviewType || "PHONE",
         interviewLocation: application.interviewLocation || "",
+        version: application.version,
       });
       setSearchQuery(application.companyName);
     }
@@ -67,7 +68,7 @@ const ApplicationForm = ({ application, onSuccess, onCancel }) => {
       if (searchQuery.length > 0) {
         try {
           const response = await api.get(
-            `/companies/search?query=${searchQuery}`
+            `/companies/suggest?prefix=${encodeURIComponent(searchQuery)}`
           );
           setCompanies(response.data);
         } catch (err) {
@@ -135,7 +136,10 @@ const ApplicationForm = ({ application, onSuccess, onCancel }) => {
           name: formData.companyName,
         });
         companyId = companyResponse.data.id;
-        toast.success(`Created company: ${formData.companyName}`);
+        // 200 means the name matched a company the user already has
+        if (companyResponse.status === 201) {
+          toast.success(`Created company: ${companyResponse.data.name}`);
+        }
       }
 
       const applicationData = {
@@ -151,7 +155,10 @@ const ApplicationForm = ({ application, onSuccess, onCancel }) => {
 
       onSuccess();
     } catch (err) {
-      const errorMsg = err.response?.data || "Failed to save application";
+      const errorMsg =
+        err.response?.status === 409
+          ? "This application was changed elsewhere. Close the form and try again."
+          : err.response?.data || "Failed to save application";
       setError(errorMsg);
       toast.error(errorMsg);
     } finally {
@@ -113,12 +113,11 @@ const KanbanBoard = ({ applications, onUpdate, onEdit, onDelete }) => {
     }
 
     try {
-      await api.put(`/applications/${draggedCard.id}`, {
-        ...draggedCard,
+      const response = await api.patch(`/applications/${draggedCard.id}`, {
         status: newStatus,
       });
 
-      onUpdate();
+      onUpdate({ ...draggedCard, ...response.data });
       setDraggedCard(null);
     } catch (error) {
       console.error("Failed to update application status:", error);
@@ -30,10 +30,18 @@ const ApplicationDetails = () => {
 
   const handleSave = async () => {
     try {
-      await api.put(`/applications/${id}`, editData);
-      setApplication(editData);
+      const response = await api.put(`/applications/${id}`, editData);
+      setApplication(response.data);
+      setEditData(response.data);
       setIsEditing(false);
     } catch (err) {
+      if (err.response?.status === 409) {
+        // Someone else saved first: show their version so the edit can be redone
+        setApplication(err.response.data);
+        setEditData(err.response.data);
+        alert("This application was changed elsewhere. Reloaded the latest version.");
+        return;
+      }
       alert("Failed to update application");
     }
   };
@@ -1,4 +1,4 @@
-import { useState, useEffect } from "react";
+import { useState, useEffect, useRef } from "react";
 import { useAuth } from "../context/AuthContext";
 import ApplicationForm from "../components/ApplicationForm";
 import ApplicationCard from "../components/ApplicationCard";
@@ -29,10 +29,95 @@ const Dashboard = () => {
   const [totalPages, setTotalPages] = useState(0);
   const [totalItems, setTotalItems] = useState(0);
 
+  const eventsConnected = useRef(false);
+  const currentPageRef = useRef(0);
+
   useEffect(() => {
     fetchApplications();
   }, []);
 
+  useEffect(() => {
+    currentPageRef.current = currentPage;
+  }, [currentPage]);
+
+  // Live updates: apply server change events locally instead of refetching the page
+  useEffect(() => {
+    if (!localStorage.getItem("token")) return;
+
+    let source = null;
+    let retryTimer = null;
+    let closed = false;
+
+    const handleEvent = (e) => {
+      const event = JSON.parse(e.data);
+      if (event.type === "created") {
+        setTotalItems((n) => n + 1);
+        if (currentPageRef.current !== 0) return;
+      } else if (event.type === "deleted") {
+        setTotalItems((n) => Math.max(0, n - 1));
+      }
+      applyChange(event);
+    };
+
+    // EventSource can't send the JWT as a header, so each connection uses a one-off ticket;
+    // its own reconnect would reuse a spent ticket, so reconnect here with a fresh one
+    const reconnect = () => {
+      if (!closed) retryTimer = setTimeout(connect, 5000);
+    };
+    const connect = async () => {
+      let ticket;
+      try {
+        ticket = (await api.post("/applications/events/ticket")).data.ticket;
+      } catch {
+        reconnect();
+        return;
+      }
+      if (closed) return;
+      source = new EventSource(
+        `${import.meta.env.VITE_API_URL}/applications/events?ticket=${encodeURIComponent(ticket)}`
+      );
+      source.onopen = () => {
+        eventsConnected.current = true;
+      };
+      source.onerror = () => {
+        eventsConnected.current = false;
+        source.close();
+        reconnect();
+      };
+      ["created", "updated", "patched", "deleted"].forEach((type) =>
+        source.addEventListener(type, handleEvent)
+      );
+    };
+    connect();
+
+    return () => {
+      closed = true;
+      clearTimeout(retryTimer);
+      if (source) source.close();
+    };
+  }, []);
+
+  const applyChange = ({ type, applicationId, application, patch }) => {
+    setApplications((prev) => {
+      if (type === "deleted") {
+        return prev.filter((app) => app.id !== applicationId);
+      }
+      if (type === "patched") {
+        return prev.map((app) =>
+          app.id === applicationId ? { ...app, ...patch } : app
+        );
+      }
+      // Change events leave out the job description, so keep the one we have
+      const { jobDescription, ...fields } = application;
+      if (prev.some((app) => app.id === applicationId)) {
+        return prev.map((app) =>
+          app.id === applicationId ? { ...app, ...fields } : app
+        );
+      }
+      return type === "created" ? [fields, ...prev] : prev;
+    });
+  };
+
   useEffect(() => {
     filterApplications();
   }, [applications, filterStatus, searchQuery, advancedFilters]);
@@ -177,7 +262,9 @@ const Dashboard = () => {
     toast.success(
       editingApplication ? "Application updated!" : "Application created!"
     );
-    fetchApplications();
+    if (!eventsConnected.current) {
+      fetchApplications(currentPage);
+    }
   };
 
   const handleEdit = (application) => {
@@ -190,7 +277,7 @@ const Dashboard = () => {
       try {
         await api.delete(`/applications/${id}`);
         toast.success("Application deleted");
-        fetchApplications();
+        applyChange({ type: "deleted", applicationId: id });
       } catch (err) {
         toast.error("Failed to delete application");
       }
@@ -459,7 +546,13 @@ const Dashboard = () => {
           ) : viewMode === "kanban" ? (
             <KanbanBoard
               applications={filteredApplications}
-              onUpdate={fetchApplications}
+              onUpdate={(updated) =>
+                applyChange({
+                  type: "updated",
+                  applicationId: updated.id,
+                  application: updated,
+                })
+              }
               onEdit={handleEdit}
               onDelete={handleDelete}
             />